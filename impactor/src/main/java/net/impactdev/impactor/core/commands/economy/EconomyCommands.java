@@ -38,10 +38,12 @@ import net.impactdev.impactor.api.economy.transactions.details.EconomyTransactio
 import net.impactdev.impactor.api.platform.sources.PlatformSource;
 import net.impactdev.impactor.api.services.permissions.PermissionsService;
 import net.impactdev.impactor.api.utility.Context;
+import net.impactdev.impactor.api.utility.ExceptionPrinter;
 import net.impactdev.impactor.core.economy.EconomyConfig;
 import net.impactdev.impactor.core.economy.ImpactorEconomyService;
 import net.impactdev.impactor.core.economy.context.TransactionContext;
 import net.impactdev.impactor.core.economy.context.TransferTransactionContext;
+import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.impactdev.impactor.core.translations.internal.ImpactorTranslations;
 import net.kyori.adventure.util.TriState;
 import org.incendo.cloud.annotations.Argument;
@@ -56,6 +58,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
 import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @SuppressWarnings({"DuplicatedCode", "unused"})
@@ -279,7 +284,12 @@ public final class EconomyCommands {
     @Command("economy|eco baltop")
     @ProxiedBy("baltop")
     @Permission("impactor.commands.economy.baltop")
-    public void baltop(final CommandSource source, @Nullable @Flag("currency") Currency currency, @Flag("extended") boolean nonPlayers) {
+    public void baltop(
+            final CommandSource source,
+            @Nullable @Flag("currency") Currency currency,
+            @Flag("extended") boolean nonPlayers,
+            @Nullable @Flag("page") Integer page
+    ) {
         EconomyService service = EconomyService.instance();
         Currency target = currency != null ? currency : service.currencies().primary();
 
@@ -289,24 +299,70 @@ public final class EconomyCommands {
             max.set(config.get(EconomyConfig.MAX_BALTOP_ENTRIES));
         }
 
-        ImpactorTranslations.ECONOMY_BALTOP_CALCULATING.send(source, Context.empty());
-        service.accounts(target).thenAccept(accounts -> {
-            Context context = Context.empty().append(Currency.class, target);
-            ImpactorTranslations.ECONOMY_BALTOP_HEADER.send(source, context);
+        // Pages past the last ranking simply list nothing, so offsets beyond what an int may hold are clamped
+        int offset = (int) Math.min(Integer.MAX_VALUE, (long) (Math.max(1, page != null ? page : 1) - 1) * max.get());
+        boolean ranked = !source.uuid().equals(PlatformSource.SERVER_UUID);
 
-            AtomicInteger ranking = new AtomicInteger(1);
-            accounts.stream()
-                    .sorted(Comparator.<Account, BigDecimal>comparing(Account::balance).reversed())
+        CompletableFuture<List<Account>> top;
+        CompletableFuture<OptionalInt> self;
+        if(service instanceof ImpactorEconomyService impactor) {
+            top = impactor.storage().top(target, offset, max.get(), nonPlayers);
+            self = ranked ? impactor.storage().rank(target, source.uuid(), nonPlayers) : CompletableFuture.completedFuture(OptionalInt.empty());
+        } else {
+            ImpactorTranslations.ECONOMY_BALTOP_CALCULATING.send(source, Context.empty());
+            top = service.accounts(target).thenApply(accounts -> accounts.stream()
                     .filter(account -> !account.virtual() || nonPlayers)
+                    .sorted(Comparator.<Account, BigDecimal>comparing(Account::balance).reversed())
+                    .skip(offset)
                     .limit(max.get())
-                    .forEach(account -> {
-                        Context relative = Context.empty().with(context)
-                                .append(Account.class, account)
-                                .append(Integer.class, ranking.getAndIncrement());
-                        ImpactorTranslations.ECONOMY_BALTOP_ENTRY.send(source, relative);
-                    });
+                    .toList()
+            );
+            self = CompletableFuture.completedFuture(OptionalInt.empty());
+        }
 
+        top.thenAcceptBoth(self, (accounts, rank) -> {
+            Context context = Context.empty().append(Currency.class, target);
+            ImpactorTranslations.ECONOMY_BALTOP_HEADER.send(source, context);
+
+            AtomicInteger ranking = new AtomicInteger(offset + 1);
+            accounts.forEach(account -> {
+                Context relative = Context.empty().with(context)
+                        .append(Account.class, account)
+                        .append(Integer.class, ranking.getAndIncrement());
+                ImpactorTranslations.ECONOMY_BALTOP_ENTRY.send(source, relative);
+            });
+
+            rank.ifPresent(value -> ImpactorTranslations.ECONOMY_BALTOP_SELF.send(
+                    source,
+                    Context.empty().with(context).append(Integer.class, value)
+            ));
             ImpactorTranslations.ECONOMY_BALTOP_FOOTER.send(source, context);
+        }).whenComplete((ignore, error) -> {
+            if(error != null) {
+                ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), error);
+                ImpactorTranslations.ECONOMY_BALTOP_FAILED.send(source, Context.empty());
+            }
+        });
+    }
+
+    @Command("economy|eco journal compact")
+    @Permission("impactor.commands.economy.journal")
+    @CommandDescription("Snapshots all account balances and compacts the transaction journal")
+    public void compact(final CommandSource source) {
+        EconomyService service = EconomyService.instance();
+        if(!(service instanceof ImpactorEconomyService impactor) || !impactor.config().get(EconomyConfig.JOURNAL)) {
+            ImpactorTranslations.ECONOMY_JOURNAL_DISABLED.send(source, Context.empty());
+            return;
+        }
+
+        ImpactorTranslations.ECONOMY_JOURNAL_COMPACTING.send(source, Context.empty());
+        impactor.storage().compact().whenComplete((ignore, error) -> {
+            if(error != null) {
+                ImpactorTranslations.ECONOMY_JOURNAL_COMPACT_FAILED.send(source, Context.empty());
+                return;
+            }
+
+            ImpactorTranslations.ECONOMY_JOURNAL_COMPACTED.send(source, Context.empty());
         });
     }
 }
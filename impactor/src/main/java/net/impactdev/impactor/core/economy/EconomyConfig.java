@@ -67,6 +67,12 @@ public final class EconomyConfig {
         return new StorageCredentials(address, database, username, password, maxPoolSize, minIdle, maxLifetime, keepAliveTime, connectionTimeout, props);
     }));
     public static final ConfigKey<String> SQL_TABLE_PREFIX = notReloadable(stringKey("storage.table-prefix", "economy_"));
+    public static final ConfigKey<Boolean> SHARED_STORAGE = notReloadable(booleanKey("storage.shared", false));
+    public static final ConfigKey<Boolean> WRITE_BEHIND = notReloadable(booleanKey("storage.write-behind.enabled", false));
+    public static final ConfigKey<Integer> WRITE_BEHIND_INTERVAL = notReloadable(intKey("storage.write-behind.flush-interval", 5));
+    public static final ConfigKey<Integer> WRITE_BEHIND_THRESHOLD = notReloadable(intKey("storage.write-behind.max-pending", 500));
+    public static final ConfigKey<Boolean> JOURNAL = notReloadable(booleanKey("storage.journal.enabled", false));
+    public static final ConfigKey<Integer> JOURNAL_RETENTION = notReloadable(intKey("storage.journal.retention-days", 30));
 
     public static final ConfigKey<Boolean> APPLY_RESTRICTIONS = booleanKey("restrictions.enabled", true);
     public static final ConfigKey<BigDecimal> MIN_BALANCE = key(adapter -> {
@@ -25,6 +25,8 @@
 
 package net.impactdev.impactor.core.economy.accounts;
 
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import net.impactdev.impactor.api.Impactor;
 import net.impactdev.impactor.api.configuration.Config;
@@ -53,44 +55,69 @@ import net.impactdev.impactor.core.economy.transactions.composers.BaseTransactio
 import net.impactdev.impactor.core.economy.transactions.composers.TransferTransactionComposer;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.impactdev.impactor.core.utility.future.Futures;
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.kyori.event.PostResult;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.function.Supplier;
 
 public final class ImpactorAccount implements Account {
 
-    private final EconomyService service = Impactor.instance()
-            .services()
-            .provide(EconomyService.class);
+    /**
+     * Guards balance mutations across all accounts. Locks are keyed by the currency and owner of an
+     * account rather than the account instance, as the same account may be represented by multiple
+     * instances if it was evicted from the storage cache and later reloaded.
+     */
+    private static final Striped<Lock> LOCKS = Striped.lock(256);
 
     private final UUID owner;
     private final Currency currency;
     private final boolean virtual;
-    private BigDecimal balance;
+    private final Stripe stripe;
+    private volatile BigDecimal balance;
+
+    // Bookkeeping for storage providers which version accounts, guarded by the lock of the account.
+    // The version is that of the stored account this instance last synchronized with, while the
+    // remaining fields describe how the balance has changed since then.
+    private long version;
+    private BigDecimal unsaved = BigDecimal.ZERO;
+    private boolean overwritten;
 
     private ImpactorAccount(ImpactorAccountBuilder builder) {
-        this(builder.currency, builder.owner, builder.virtual, Optional.ofNullable(builder.balance).orElse(builder.currency.defaultAccountBalance()));
+        this(builder.currency, builder.owner, builder.virtual, Optional.ofNullable(builder.balance).orElse(builder.currency.defaultAccountBalance()), Changes.UNVERSIONED);
     }
 
-    private ImpactorAccount(Currency currency, UUID owner, boolean virtual, BigDecimal balance) {
+    private ImpactorAccount(Currency currency, UUID owner, boolean virtual, BigDecimal balance, long version) {
         this.owner = owner;
         this.currency = currency;
         this.balance = balance;
         this.virtual = virtual;
+        this.version = version;
+        this.stripe = new Stripe(currency.key(), owner);
     }
 
     public static ImpactorAccount load(Currency currency, UUID uuid, boolean virtual, BigDecimal balance) {
-        return new ImpactorAccount(currency, uuid, virtual, balance);
+        return new ImpactorAccount(currency, uuid, virtual, balance, Changes.UNVERSIONED);
+    }
+
+    /**
+     * Loads an account as it exists in storage at the given version. Storage providers which version
+     * accounts are then able to write only how the balance has changed since, rather than overwriting
+     * the stored balance outright.
+     */
+    public static ImpactorAccount load(Currency currency, UUID uuid, boolean virtual, BigDecimal balance, long version) {
+        return new ImpactorAccount(currency, uuid, virtual, balance, version);
     }
 
     @Override
@@ -142,7 +169,11 @@ public final class ImpactorAccount implements Account {
                     } else if(restrict && this.restriction(EconomyConfig.MAX_BALANCE).map(value -> amount.compareTo(value) > 0).orElse(false)) {
                         return this.createAndFirePost(this.complete(builder, EconomyResultType.INVALID, composer.messages()));
                     } else {
-                        this.balance = amount;
+                        this.locked(() -> {
+                            this.update(amount, true);
+                            this.journal(amount, EconomyTransactionType.SET);
+                            return null;
+                        });
                         this.save();
                         return this.createAndFirePost(this.complete(builder, EconomyResultType.SUCCESS, composer.messages()));
                     }
@@ -179,21 +210,29 @@ public final class ImpactorAccount implements Account {
                         return this.complete(builder, EconomyResultType.CANCELLED, composer.messages());
                     }
 
-                    BigDecimal result = this.balance.subtract(amount);
-                    if(this.restriction(EconomyConfig.APPLY_RESTRICTIONS).orElse(false)) {
-                        Optional<BigDecimal> minimum = this.restriction(EconomyConfig.MIN_BALANCE);
+                    Optional<BigDecimal> minimum = this.restriction(EconomyConfig.APPLY_RESTRICTIONS).orElse(false)
+                            ? this.restriction(EconomyConfig.MIN_BALANCE)
+                            : Optional.empty();
+
+                    EconomyResultType outcome = this.locked(() -> {
+                        BigDecimal result = this.balance.subtract(amount);
                         if(minimum.isPresent() && minimum.get().compareTo(result) > 0) {
-                            return this.createAndFirePost(this.complete(builder, EconomyResultType.NOT_ENOUGH_FUNDS, composer.messages()));
+                            return EconomyResultType.NOT_ENOUGH_FUNDS;
                         }
-                    }
 
-                    if(result.signum() < 0) {
-                        return this.createAndFirePost(this.complete(builder, EconomyResultType.NOT_ENOUGH_FUNDS, composer.messages()));
-                    }
+                        if(result.signum() < 0) {
+                            return EconomyResultType.NOT_ENOUGH_FUNDS;
+                        }
 
-                    this.balance = result;
-                    this.save();
-                    return this.createAndFirePost(this.complete(builder, EconomyResultType.SUCCESS, composer.messages()));
+                        this.update(result, false);
+                        this.journal(amount, EconomyTransactionType.WITHDRAW);
+                        return EconomyResultType.SUCCESS;
+                    });
+
+                    if(outcome == EconomyResultType.SUCCESS) {
+                        this.save();
+                    }
+                    return this.createAndFirePost(this.complete(builder, outcome, composer.messages()));
                 }, () -> ImpactorEconomyTransaction.builder()
                         .currency(this.currency)
                         .account(this)
@@ -227,17 +266,25 @@ public final class ImpactorAccount implements Account {
                         return this.complete(builder, EconomyResultType.CANCELLED, composer.messages());
                     }
 
-                    BigDecimal result = this.balance.add(amount);
-                    if(this.restriction(EconomyConfig.APPLY_RESTRICTIONS).orElse(false)) {
-                        Optional<BigDecimal> maximum = this.restriction(EconomyConfig.MAX_BALANCE);
+                    Optional<BigDecimal> maximum = this.restriction(EconomyConfig.APPLY_RESTRICTIONS).orElse(false)
+                            ? this.restriction(EconomyConfig.MAX_BALANCE)
+                            : Optional.empty();
+
+                    EconomyResultType outcome = this.locked(() -> {
+                        BigDecimal result = this.balance.add(amount);
                         if(maximum.isPresent() && maximum.get().compareTo(result) < 0) {
-                            return this.createAndFirePost(this.complete(builder, EconomyResultType.NO_REMAINING_SPACE, composer.messages()));
+                            return EconomyResultType.NO_REMAINING_SPACE;
                         }
-                    }
 
-                    this.balance = result;
-                    this.save();
-                    return this.createAndFirePost(this.complete(builder, EconomyResultType.SUCCESS, composer.messages()));
+                        this.update(result, false);
+                        this.journal(amount, EconomyTransactionType.DEPOSIT);
+                        return EconomyResultType.SUCCESS;
+                    });
+
+                    if(outcome == EconomyResultType.SUCCESS) {
+                        this.save();
+                    }
+                    return this.createAndFirePost(this.complete(builder, outcome, composer.messages()));
                 }, () -> ImpactorEconomyTransaction.builder()
                         .currency(this.currency)
                         .account(this)
@@ -290,36 +337,36 @@ public final class ImpactorAccount implements Account {
                     return this.complete(builder, EconomyResultType.CANCELLED, composer.messages());
                 }
 
-                BigDecimal withdraw = this.balance.subtract(amount);
-                BigDecimal deposit = to.balance().add(amount);
-                if(this.restriction(EconomyConfig.APPLY_RESTRICTIONS).orElse(false)) {
-                    Optional<BigDecimal> minimum = this.restriction(EconomyConfig.MIN_BALANCE);
-                    Optional<BigDecimal> maximum = this.restriction(EconomyConfig.MAX_BALANCE);
+                boolean restrict = this.restriction(EconomyConfig.APPLY_RESTRICTIONS).orElse(false);
+                Optional<BigDecimal> minimum = restrict ? this.restriction(EconomyConfig.MIN_BALANCE) : Optional.empty();
+                Optional<BigDecimal> maximum = restrict ? this.restriction(EconomyConfig.MAX_BALANCE) : Optional.empty();
+
+                ImpactorAccount target = (ImpactorAccount) to;
+                EconomyResultType outcome = this.locked(target, () -> {
+                    BigDecimal withdraw = this.balance.subtract(amount);
+                    BigDecimal deposit = target.balance.add(amount);
                     if(maximum.isPresent() && maximum.get().compareTo(deposit) < 0) {
-                        EconomyTransferTransactionEvent.Post post = new ImpactorEconomyTransferTransactionEvent.Post(
-                                this.complete(builder, EconomyResultType.NO_REMAINING_SPACE, composer.messages())
-                        );
-                        this.postAndVerify(post);
-                        return post.transaction();
+                        return EconomyResultType.NO_REMAINING_SPACE;
                     }
 
                     if(minimum.isPresent() && minimum.get().compareTo(withdraw) > 0) {
-                        EconomyTransferTransactionEvent.Post post = new ImpactorEconomyTransferTransactionEvent.Post(
-                                this.complete(builder, EconomyResultType.NOT_ENOUGH_FUNDS, composer.messages())
-                        );
-                        this.postAndVerify(post);
-                        return post.transaction();
+                        return EconomyResultType.NOT_ENOUGH_FUNDS;
                     }
-                }
 
-                this.balance = this.balance.subtract(amount);
-                ((ImpactorAccount) to).quietSet(to.balance().add(amount));
+                    this.update(withdraw, false);
+                    target.update(deposit, false);
+                    this.journal(amount, EconomyTransactionType.TRANSFER);
+                    target.journal(amount, EconomyTransactionType.TRANSFER);
+                    return EconomyResultType.SUCCESS;
+                });
 
-                this.save();
-                ((ImpactorAccount) to).save();
+                if(outcome == EconomyResultType.SUCCESS) {
+                    this.save();
+                    target.save();
+                }
 
                 EconomyTransferTransactionEvent.Post post = new ImpactorEconomyTransferTransactionEvent.Post(
-                        this.complete(builder, EconomyResultType.SUCCESS, composer.messages())
+                        this.complete(builder, outcome, composer.messages())
                 );
                 this.postAndVerify(post);
                 return post.transaction();
@@ -356,7 +403,11 @@ public final class ImpactorAccount implements Account {
                         return builder.result(EconomyResultType.CANCELLED).build();
                     }
 
-                    this.balance = this.currency.defaultAccountBalance();
+                    this.locked(() -> {
+                        this.update(this.currency.defaultAccountBalance(), true);
+                        this.journal(amount, EconomyTransactionType.RESET);
+                        return null;
+                    });
                     this.save();
                     return this.createAndFirePost(builder.result(EconomyResultType.SUCCESS).build());
                 }, () -> ImpactorEconomyTransaction.builder()
@@ -369,12 +420,109 @@ public final class ImpactorAccount implements Account {
         );
     }
 
-    private void quietSet(BigDecimal amount) {
-        this.balance = amount;
+    /**
+     * Applies a new balance to this account, recording how it changed for the next write to storage.
+     * Must be called while holding the lock of this account.
+     *
+     * @param balance The new balance of the account
+     * @param absolute Whether the balance was set outright, rather than adjusted relative to its previous value
+     */
+    private void update(BigDecimal balance, boolean absolute) {
+        this.unsaved = this.unsaved.add(balance.subtract(this.balance));
+        this.overwritten |= absolute;
+        this.balance = balance;
+    }
+
+    /**
+     * Collects every change made to this account since it was last written to storage, and resets
+     * them such that changes made from here on are included in the next write instead. The returned
+     * changes must be handed back through either {@link #written(long, BigDecimal)} or
+     * {@link #unwritten(Changes)} once the write has been attempted.
+     *
+     * @return The changes to write to storage
+     */
+    public Changes changes() {
+        return this.locked(() -> {
+            Changes changes = new Changes(this.version, this.balance, this.unsaved, this.overwritten || this.version == Changes.UNVERSIONED);
+            this.unsaved = BigDecimal.ZERO;
+            this.overwritten = false;
+            return changes;
+        });
+    }
+
+    /**
+     * Marks the last collected changes as written, synchronizing this account with the account as it now
+     * exists in storage. As storage may have since been changed by another server, the stored
+     * balance replaces the balance of this account, with any change made locally since the changes
+     * were collected applied on top.
+     *
+     * @param version The version of the account after the write
+     * @param stored The balance of the account after the write
+     */
+    public void written(long version, BigDecimal stored) {
+        this.locked(() -> {
+            this.version = version;
+            if(!this.overwritten) {
+                this.balance = stored.add(this.unsaved);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Returns changes which failed to be written, such that they are retried by the next write.
+     *
+     * @param changes The changes which failed to be written
+     */
+    public void unwritten(Changes changes) {
+        this.locked(() -> {
+            this.unsaved = changes.delta().add(this.unsaved);
+            this.overwritten |= changes.absolute();
+            return null;
+        });
+    }
+
+    private <T> T locked(Supplier<T> action) {
+        Lock lock = LOCKS.get(this.stripe);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the given action while holding the locks of both this account and the target account.
+     * Locks are always acquired in stripe order, regardless of the direction of the transfer, such
+     * that two opposing transfers between the same accounts cannot deadlock.
+     */
+    private <T> T locked(ImpactorAccount other, Supplier<T> action) {
+        List<Lock> locks = Lists.newArrayList(LOCKS.bulkGet(List.of(this.stripe, other.stripe)));
+        for(Lock lock : locks) {
+            lock.lock();
+        }
+
+        try {
+            return action.get();
+        } finally {
+            for(int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    /**
+     * Resolves the economy service on demand, rather than on construction, as accounts may be
+     * created while the service itself is still being initialized, such as when restoring
+     * balances from the transaction journal.
+     */
+    private EconomyService service() {
+        return Impactor.instance().services().provide(EconomyService.class);
     }
 
     private void save() {
-        this.service.save(this);
+        this.service().save(this);
     }
 
     private void postAndVerify(@NotNull ImpactorEvent event) throws PostResult.CompositeException {
@@ -461,12 +609,57 @@ public final class ImpactorAccount implements Account {
         EconomyTransactionEvent.Post event = new ImpactorEconomyTransactionEvent.Post(transaction);
         this.postAndVerify(event);
 
-        if (this.service instanceof ImpactorEconomyService impactorEconomyService) {
+        // Successful transactions are journaled as the balance is changed, see #journal
+        if (!transaction.successful() && this.service() instanceof ImpactorEconomyService impactorEconomyService) {
             impactorEconomyService.storage().logTransaction(transaction);
         }
         return transaction;
     }
 
+    /**
+     * Records a successful change to this account's balance within the transaction journal. This must be
+     * called while holding the account's lock, such that records for an account are always journaled in
+     * the same order their changes were applied, alongside the balance each change resulted in.
+     */
+    private void journal(BigDecimal amount, EconomyTransactionType type) {
+        if (this.service() instanceof ImpactorEconomyService impactorEconomyService) {
+            impactorEconomyService.storage().logTransaction(ImpactorEconomyTransaction.builder()
+                    .account(this)
+                    .currency(this.currency)
+                    .amount(amount)
+                    .type(type)
+                    .result(EconomyResultType.SUCCESS)
+                    .build()
+            );
+        }
+    }
+
+    private record Stripe(Key currency, UUID owner) {}
+
+    /**
+     * Describes how the balance of an account changed since it was last written to storage.
+     *
+     * @param version The version of the stored account the changes were made against, or {@link #UNVERSIONED}
+     * @param balance The balance of the account at the time the changes were collected
+     * @param delta The sum of every adjustment made to the balance
+     * @param absolute Whether the balance must be written outright, such as after it was set or reset,
+     *                 in which case the delta is meaningless
+     */
+    public record Changes(long version, BigDecimal balance, BigDecimal delta, boolean absolute) {
+
+        /** Marks an account which has never been synchronized with a versioned storage provider */
+        public static final long UNVERSIONED = -1;
+
+        public static Changes overwrite(BigDecimal balance) {
+            return new Changes(UNVERSIONED, balance, BigDecimal.ZERO, true);
+        }
+
+        public boolean empty() {
+            return !this.absolute && this.delta.signum() == 0;
+        }
+
+    }
+
     public static final class ImpactorAccountBuilder implements AccountBuilder {
 
         private Currency currency;
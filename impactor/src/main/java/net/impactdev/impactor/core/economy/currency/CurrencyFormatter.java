@@ -0,0 +1,142 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.economy.currency;
+
+import com.google.common.base.Suppliers;
+import net.impactdev.impactor.api.economy.currency.Currency;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static net.kyori.adventure.text.Component.text;
+
+/**
+ * Formats amounts of a currency from its formatting templates, which are parsed only once.
+ *
+ * <p>Each of the condensed and expanded templates is deserialized up front for both the singular
+ * and plural name of the currency, with the amount left as a marker within the resulting component.
+ * Formatting an amount then only substitutes the formatted number into that component, rather than
+ * parsing the template again.
+ */
+final class CurrencyFormatter {
+
+    /** Stands in for the amount within a compiled template, using characters reserved for private use */
+    private static final String AMOUNT = "\uE000amount\uE001";
+
+    private final String pattern;
+    private final Map<Locale, DecimalFormat> numbers = new ConcurrentHashMap<>();
+    private final Supplier<Component[]> templates;
+
+    CurrencyFormatter(Component symbol, Component singular, Component plural, Currency.CurrencyFormatting formatting, String pattern) {
+        this.pattern = pattern;
+        this.templates = Suppliers.memoize(() -> new Component[] {
+                compile(formatting.expanded(), symbol, singular),
+                compile(formatting.expanded(), symbol, plural),
+                compile(formatting.condensed(), symbol, singular),
+                compile(formatting.condensed(), symbol, plural)
+        });
+    }
+
+    Component format(BigDecimal amount, boolean condensed, Locale locale) {
+        final boolean single = amount.compareTo(BigDecimal.ONE) == 0;
+        final Component template = this.templates.get()[(condensed ? 2 : 0) + (single ? 0 : 1)];
+
+        return substitute(template, this.number(amount, locale));
+    }
+
+    private String number(BigDecimal amount, Locale locale) {
+        // DecimalFormat is not thread safe, so each locale's instance is only used by one thread at a time
+        final DecimalFormat format = this.numbers.computeIfAbsent(locale, l -> new DecimalFormat(this.pattern, new DecimalFormatSymbols(l)));
+        synchronized (format) {
+            return format.format(amount);
+        }
+    }
+
+    private static Component compile(String template, Component symbol, Component name) {
+        return MiniMessage.miniMessage().deserialize(
+                template,
+                Placeholder.component("symbol", symbol),
+                Placeholder.component("amount", text(AMOUNT)),
+                Placeholder.component("name", name)
+        );
+    }
+
+    /**
+     * Replaces the amount marker within the component and its children, including any text shown
+     * on hover. Parts of the component without the marker are reused as is.
+     */
+    private static Component substitute(Component component, String amount) {
+        Component result = component;
+        if(component instanceof TextComponent) {
+            TextComponent text = (TextComponent) component;
+            if(text.content().contains(AMOUNT)) {
+                result = text.content(text.content().replace(AMOUNT, amount));
+            }
+        }
+
+        HoverEvent<?> hover = component.hoverEvent();
+        if(hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+            Component shown = (Component) hover.value();
+            Component replaced = substitute(shown, amount);
+            if(replaced != shown) {
+                result = result.hoverEvent(HoverEvent.showText(replaced));
+            }
+        }
+
+        List<Component> children = component.children();
+        List<Component> replaced = null;
+        for(int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component substituted = substitute(child, amount);
+            if(substituted != child) {
+                if(replaced == null) {
+                    replaced = new ArrayList<>(children);
+                }
+
+                replaced.set(i, substituted);
+            }
+        }
+
+        if(replaced != null) {
+            result = result.children(replaced);
+        }
+
+        return result;
+    }
+
+}
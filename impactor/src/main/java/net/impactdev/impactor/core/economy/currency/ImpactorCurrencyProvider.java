@@ -29,6 +29,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import net.impactdev.impactor.api.economy.currency.Currency;
 import net.impactdev.impactor.api.economy.currency.CurrencyProvider;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
 
@@ -83,6 +84,6 @@ public class ImpactorCurrencyProvider implements CurrencyProvider {
             } finally {
                 this.lock.unlock();
             }
-        });
+        }, ExecutorLanes.instance().cpu());
     }
 }
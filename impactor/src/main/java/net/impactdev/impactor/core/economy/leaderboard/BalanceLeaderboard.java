@@ -0,0 +1,283 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.economy.leaderboard;
+
+import com.google.common.base.Preconditions;
+import net.impactdev.impactor.api.economy.accounts.Account;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A ranked index of all accounts for a single currency, ordered by descending balance. The index is
+ * backed by an order-statistic treap, such that inserting, removing, ranking, and selecting an account
+ * by position are all performed in O(log n). This allows for baltop pages and individual rankings to
+ * be calculated without needing to sort every account on each request.
+ *
+ * <p>Entries are snapshots of an account's balance at the time it was last updated, and must be
+ * refreshed via {@link #update(Account)} whenever the balance of an account changes.
+ */
+public final class BalanceLeaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::balance, Comparator.reverseOrder())
+            .thenComparing(Entry::owner);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    private final RankedTree all = new RankedTree();
+    private final RankedTree players = new RankedTree();
+
+    public void update(Account account) {
+        Entry entry = new Entry(account.owner(), account.balance(), account.virtual(), account);
+
+        this.lock.writeLock().lock();
+        try {
+            Entry previous = this.entries.put(entry.owner(), entry);
+            if(previous != null) {
+                this.detach(previous);
+            }
+
+            this.all.insert(entry);
+            if(!entry.virtual()) {
+                this.players.insert(entry);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID owner) {
+        this.lock.writeLock().lock();
+        try {
+            Entry previous = this.entries.remove(owner);
+            if(previous != null) {
+                this.detach(previous);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Fetches a set of accounts in ranked order, starting from the given zero-based offset.
+     *
+     * @param offset The zero-based position of the first account to return
+     * @param limit The maximum number of accounts to return
+     * @param virtual Whether virtual accounts should be considered
+     * @return The accounts within the requested range, in descending balance order
+     */
+    public List<Account> page(int offset, int limit, boolean virtual) {
+        Preconditions.checkArgument(offset >= 0, "Offset must not be negative");
+        this.lock.readLock().lock();
+        try {
+            RankedTree tree = this.tree(virtual);
+            int count = Math.max(0, Math.min(tree.size() - offset, limit));
+
+            Account[] results = new Account[count];
+            for(int i = 0; i < count; i++) {
+                results[i] = tree.select(offset + i).account();
+            }
+
+            return List.of(results);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calculates the one-based ranking of the account owned by the given UUID.
+     *
+     * @param owner The owner of the account
+     * @param virtual Whether virtual accounts should be considered
+     * @return The ranking of the account, or empty if the account is not present within the ranking
+     */
+    public OptionalInt rank(UUID owner, boolean virtual) {
+        this.lock.readLock().lock();
+        try {
+            Entry entry = this.entries.get(owner);
+            if(entry == null || (entry.virtual() && !virtual)) {
+                return OptionalInt.empty();
+            }
+
+            return OptionalInt.of(this.tree(virtual).rank(entry) + 1);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public int size(boolean virtual) {
+        this.lock.readLock().lock();
+        try {
+            return this.tree(virtual).size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private RankedTree tree(boolean virtual) {
+        return virtual ? this.all : this.players;
+    }
+
+    private void detach(Entry entry) {
+        this.all.remove(entry);
+        if(!entry.virtual()) {
+            this.players.remove(entry);
+        }
+    }
+
+    private record Entry(UUID owner, BigDecimal balance, boolean virtual, Account account) {}
+
+    /**
+     * A treap where each node additionally tracks the size of its subtree, allowing for positional
+     * lookups. Callers are responsible for synchronization.
+     */
+    private static final class RankedTree {
+
+        private @Nullable Node root;
+
+        public int size() {
+            return size(this.root);
+        }
+
+        public void insert(Entry entry) {
+            Node[] split = split(this.root, entry, false);
+            this.root = merge(merge(split[0], new Node(entry)), split[1]);
+        }
+
+        public void remove(Entry entry) {
+            Node[] lower = split(this.root, entry, false);
+            Node[] upper = split(lower[1], entry, true);
+            this.root = merge(lower[0], upper[1]);
+        }
+
+        public int rank(Entry entry) {
+            int rank = 0;
+            Node node = this.root;
+            while(node != null) {
+                if(ORDER.compare(entry, node.value) <= 0) {
+                    node = node.left;
+                } else {
+                    rank += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+
+            return rank;
+        }
+
+        public Entry select(int index) {
+            Node node = this.root;
+            while(node != null) {
+                int left = size(node.left);
+                if(index < left) {
+                    node = node.left;
+                } else if(index == left) {
+                    return node.value;
+                } else {
+                    index -= left + 1;
+                    node = node.right;
+                }
+            }
+
+            throw new IndexOutOfBoundsException();
+        }
+
+        /**
+         * Splits the tree into nodes ordered before the given entry, and the remaining nodes. If inclusive,
+         * nodes equal to the entry are placed within the left-hand side of the split.
+         */
+        private static Node[] split(@Nullable Node node, Entry entry, boolean inclusive) {
+            if(node == null) {
+                return new Node[2];
+            }
+
+            int comparison = ORDER.compare(node.value, entry);
+            if(comparison < 0 || (inclusive && comparison == 0)) {
+                Node[] result = split(node.right, entry, inclusive);
+                node.right = result[0];
+                node.update();
+                result[0] = node;
+                return result;
+            } else {
+                Node[] result = split(node.left, entry, inclusive);
+                node.left = result[1];
+                node.update();
+                result[1] = node;
+                return result;
+            }
+        }
+
+        private static @Nullable Node merge(@Nullable Node left, @Nullable Node right) {
+            if(left == null) {
+                return right;
+            }
+            if(right == null) {
+                return left;
+            }
+
+            if(left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                left.update();
+                return left;
+            } else {
+                right.left = merge(left, right.left);
+                right.update();
+                return right;
+            }
+        }
+
+        private static int size(@Nullable Node node) {
+            return node == null ? 0 : node.size;
+        }
+
+        private static final class Node {
+            private final Entry value;
+            private final int priority = ThreadLocalRandom.current().nextInt();
+            private int size = 1;
+
+            private @Nullable Node left;
+            private @Nullable Node right;
+
+            private Node(Entry value) {
+                this.value = value;
+            }
+
+            private void update() {
+                this.size = 1 + RankedTree.size(this.left) + RankedTree.size(this.right);
+            }
+        }
+    }
+}
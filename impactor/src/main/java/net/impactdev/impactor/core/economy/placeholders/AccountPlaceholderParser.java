@@ -54,9 +54,11 @@ public class AccountPlaceholderParser implements PlaceholderParser {
 
     private record AccountRequest(UUID uuid, Currency currency) {}
 
+    // The economy service is asked for the account future directly rather than blocking a worker
+    // on it, allowing requests to join any load already in flight within the service's storage
     private final AsyncLoadingCache<AccountRequest, Account> cache = Caffeine.newBuilder()
             .expireAfterWrite(10, TimeUnit.SECONDS)
-            .buildAsync(request -> service.get().account(request.currency, request.uuid).join());
+            .buildAsync((request, executor) -> service.get().account(request.currency, request.uuid));
 
     @Override
     public @NotNull Component parse(@Nullable PlatformSource viewer, @NotNull Context context) {
@@ -25,116 +25,582 @@
 
 package net.impactdev.impactor.core.economy.storage;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import net.impactdev.impactor.api.configuration.Config;
 import net.impactdev.impactor.api.economy.accounts.Account;
 import net.impactdev.impactor.api.economy.currency.Currency;
 import net.impactdev.impactor.api.economy.transactions.EconomyTransaction;
+import net.impactdev.impactor.api.economy.transactions.details.EconomyResultType;
+import net.impactdev.impactor.api.scheduler.SchedulerTask;
 import net.impactdev.impactor.api.scheduler.v2.Scheduler;
 import net.impactdev.impactor.api.scheduler.v2.Schedulers;
 import net.impactdev.impactor.api.storage.Storage;
 import net.impactdev.impactor.api.utility.ExceptionPrinter;
 import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
+import net.impactdev.impactor.core.economy.EconomyConfig;
+import net.impactdev.impactor.core.economy.accounts.ImpactorAccount;
+import net.impactdev.impactor.core.economy.leaderboard.BalanceLeaderboard;
+import net.impactdev.impactor.core.economy.storage.journal.BalanceSnapshot;
+import net.impactdev.impactor.core.economy.storage.journal.JournalRecord;
+import net.impactdev.impactor.core.economy.storage.journal.TransactionJournal;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 import net.impactdev.impactor.core.utility.future.ThrowingRunnable;
 import net.impactdev.impactor.core.utility.future.ThrowingSupplier;
+import net.kyori.adventure.key.Key;
+import org.apache.commons.io.FileUtils;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public final class EconomyStorage implements Storage {
 
+    private static final Path JOURNAL = Paths.get("config").resolve("impactor").resolve("economy").resolve("journal");
+
     private final EconomyStorageImplementation implementation;
-    private final Cache<AccountKey, Account> accounts;
+    private final AsyncCache<AccountKey, Account> accounts;
+
+    private final WriteBehind writeBehind;
+    private final Map<AccountKey, Account> dirty = new ConcurrentHashMap<>();
+    private final ReentrantLock flushing = new ReentrantLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean(false);
+    private SchedulerTask flusher;
+
+    private final Map<Currency, CompletableFuture<BalanceLeaderboard>> leaderboards = new ConcurrentHashMap<>();
+
+    private final boolean journaling;
+    private final boolean shared;
+    private final int retention;
+    private final Map<Key, Currency> currencies = new HashMap<>();
+    private volatile TransactionJournal journal;
+    private volatile BalanceSnapshot balances;
 
-    public EconomyStorage(EconomyStorageImplementation implementation) {
+    public EconomyStorage(EconomyStorageImplementation implementation, Config config) {
         this.implementation = implementation;
         this.accounts = Caffeine.newBuilder()
                 .expireAfterAccess(1, TimeUnit.HOURS)
-                .build();
+                .recordStats()
+                .buildAsync();
+        this.writeBehind = new WriteBehind(
+                config.get(EconomyConfig.WRITE_BEHIND),
+                Math.max(1, config.get(EconomyConfig.WRITE_BEHIND_INTERVAL)),
+                Math.max(1, config.get(EconomyConfig.WRITE_BEHIND_THRESHOLD))
+        );
+        this.journaling = config.get(EconomyConfig.JOURNAL);
+        this.shared = config.get(EconomyConfig.SHARED_STORAGE);
+        this.retention = Math.max(0, config.get(EconomyConfig.JOURNAL_RETENTION));
+        config.get(EconomyConfig.CURRENCIES).forEach(currency -> this.currencies.put(currency.key(), currency));
     }
 
     @Override
     public void init() throws Exception {
         this.implementation.init();
+        if(this.shared && !this.implementation.versionsAccounts()) {
+            BaseImpactorPlugin.instance().logger().warn("Economy: Storage is configured as shared, but " + this.implementation.name() + " cannot reconcile writes from multiple servers");
+        }
+        if(this.journaling) {
+            this.journal = TransactionJournal.open(JOURNAL);
+            this.balances = this.recover();
+        }
+        if(this.writeBehind.enabled()) {
+            // The timer only hands the flush over to the blocking lane, as it writes to storage
+            this.flusher = Schedulers.require(Scheduler.ASYNCHRONOUS).delayedAndRepeating(
+                    () -> ExecutorLanes.instance().blocking().execute(this::flushQuietly),
+                    this.writeBehind.interval(),
+                    this.writeBehind.interval(),
+                    TimeUnit.SECONDS
+            );
+        }
     }
 
     @Override
     public void shutdown() throws Exception {
+        if(this.flusher != null) {
+            this.flusher.cancel();
+        }
+
+        this.flush();
+        if(this.journal != null) {
+            // Snapshot on the way out, such that the next startup has no journal to replay
+            try {
+                this.compact(this.journal, this.journal.checkpoint().join());
+            } catch (Exception e) {
+                ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
+            }
+            this.journal.close();
+        }
         this.implementation.shutdown();
     }
 
+    /**
+     * Restores the balance of every account from the latest snapshot, followed by a replay of the journal
+     * written after it. Accounts changed since the snapshot are written back to the storage provider,
+     * which recovers any change lost by the server stopping before it could be saved, such as those
+     * still pending with write-behind. Storage configured as shared with other servers may have been
+     * changed by them since, so for such storage the snapshot is only restored, and nothing is written back.
+     *
+     * <p>If no snapshot exists yet, the journal is replayed in full. The resulting snapshot only covers
+     * accounts with journaled transactions until it is seeded from the storage provider during the first
+     * compaction.
+     */
+    private BalanceSnapshot recover() throws Exception {
+        long start = System.nanoTime();
+        BalanceSnapshot snapshot = BalanceSnapshot.read(JOURNAL.resolve(BalanceSnapshot.FILE_NAME));
+        TransactionJournal.Checkpoint from = Optional.ofNullable(snapshot.checkpoint()).orElse(TransactionJournal.Checkpoint.START);
+
+        Map<AccountKey, JournalRecord> changed = new LinkedHashMap<>();
+        long replayed = this.journal.replay(from, record -> {
+            snapshot.apply(record);
+
+            Currency currency = this.currencies.get(record.currency());
+            if(currency != null && record.result() == EconomyResultType.SUCCESS) {
+                changed.put(AccountKey.of(currency, record.owner()), record);
+            }
+        });
+
+        List<Account> recovered = new ArrayList<>();
+        if(this.shared) {
+            // Storage shared with other servers may have moved on since these records were journaled, so
+            // writing the replayed balances back as absolute values would discard their changes
+            changed.clear();
+        }
+
+        for(Map.Entry<AccountKey, JournalRecord> entry : changed.entrySet()) {
+            JournalRecord record = entry.getValue();
+            if(record.deleted()) {
+                this.implementation.delete(entry.getKey().currency(), record.owner());
+            } else {
+                recovered.add(ImpactorAccount.load(entry.getKey().currency(), record.owner(), record.virtual(), record.balance()));
+            }
+        }
+        this.implementation.saveAll(recovered);
+
+        BaseImpactorPlugin.instance().logger().info(String.format(
+                "Economy: Restored %d balances from the journal in %dms (%d records replayed, %d accounts recovered)",
+                snapshot.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                replayed,
+                changed.size()
+        ));
+        return snapshot;
+    }
+
+    /**
+     * Provides the balances restored from the transaction journal, if they may be trusted to be at least
+     * as recent as those in storage. That is never the case for storage shared with other servers, as they
+     * may have changed them since.
+     */
+    private @Nullable BalanceSnapshot restored() {
+        return this.shared ? null : this.balances;
+    }
+
+    /**
+     * Writes a snapshot of every account balance to disk, marked at the current end of the journal,
+     * and discards journal segments no longer required for recovery or retained for history.
+     *
+     * @return A future completing once the snapshot has been written
+     */
+    public CompletableFuture<Void> compact() {
+        TransactionJournal journal = this.journal;
+        if(journal == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("The transaction journal is not enabled"));
+        }
+
+        return journal.checkpoint().thenCompose(checkpoint -> run(() -> this.compact(journal, checkpoint)));
+    }
+
+    private void compact(TransactionJournal journal, TransactionJournal.Checkpoint checkpoint) throws Exception {
+        BalanceSnapshot balances = this.balances;
+        if(!balances.complete()) {
+            // Balances already known were journaled, so they are never older than those in storage
+            this.flush();
+            this.implementation.accounts(null, balances::seed);
+            balances.markComplete();
+        }
+
+        balances.write(JOURNAL.resolve(BalanceSnapshot.FILE_NAME), checkpoint);
+
+        LocalDate retained = LocalDate.now().minusDays(this.retention);
+        journal.prune(retained.isBefore(checkpoint.segment()) ? retained : checkpoint.segment());
+    }
+
     @Override
     public CompletableFuture<Void> meta(PrettyPrinter printer) {
-        return run(() -> this.implementation.meta(printer));
+        return run(() -> {
+            this.implementation.meta(printer);
+
+            CacheStats stats = this.stats();
+            printer.newline().add("Account Cache:");
+            printer.add("  Hit Rate: %.2f%% (%d hits, %d misses)", stats.hitRate() * 100, stats.hitCount(), stats.missCount());
+            printer.add("  Loads: %d (%d failed, %.2fms average)", stats.loadCount(), stats.loadFailureCount(), stats.averageLoadPenalty() / 1_000_000.0);
+            printer.add("  Evictions: %d", stats.evictionCount());
+
+            BalanceSnapshot balances = this.balances;
+            if(balances != null) {
+                printer.newline().add("Transaction Journal:");
+                printer.add("  Tracked Balances: %d (%s)", balances.size(), balances.complete() ? "complete" : "partial");
+            }
+        });
+    }
+
+    /**
+     * Provides a snapshot of the statistics recorded by the account cache, which includes
+     * hit and miss counts as well as the time spent loading accounts from storage.
+     *
+     * @return A snapshot of the current account cache statistics
+     */
+    public CacheStats stats() {
+        return this.accounts.synchronous().stats();
     }
 
     @CanIgnoreReturnValue
     public CompletableFuture<Boolean> hasAccount(Currency currency, UUID uuid) {
-        if(this.accounts.getIfPresent(AccountKey.of(currency, uuid)) != null) {
+        AccountKey key = AccountKey.of(currency, uuid);
+        if(this.dirty.containsKey(key)) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        BalanceSnapshot balances = this.restored();
+        if(balances != null && balances.balance(uuid, currency.key()) != null) {
             return CompletableFuture.completedFuture(true);
         }
 
+        // Piggyback on any load already in flight for this account rather than issuing
+        // a separate query against the storage provider
+        CompletableFuture<Account> loading = this.accounts.getIfPresent(key);
+        if(loading != null) {
+            return loading.thenApply(Objects::nonNull);
+        }
+
         return supply(() -> this.implementation.hasAccount(currency, uuid));
     }
 
     @CanIgnoreReturnValue
     public CompletableFuture<Account> account(Currency currency, UUID uuid, Account.AccountModifier modifier) {
-        Account account = this.accounts.getIfPresent(AccountKey.of(currency, uuid));
-        if(account != null) {
-            return CompletableFuture.completedFuture(account);
-        }
+        // Concurrent requests for the same account share a single load, such that a cold
+        // account only ever results in one read (or creation) against the storage provider
+        return this.accounts.get(AccountKey.of(currency, uuid), (key, executor) -> {
+            // An account evicted from the cache may still have changes waiting to be written,
+            // in which case the storage provider would only be able to offer a stale balance
+            Account pending = this.dirty.get(key);
+            if(pending != null) {
+                return CompletableFuture.completedFuture(pending);
+            }
 
-        return supply(() -> {
-            Account result = this.implementation.account(currency, uuid, modifier);
-            this.accounts.put(AccountKey.of(currency, uuid), result);
+            // Balances restored from the journal are at least as recent as storage, so
+            // accounts known to the journal never need to be read from the provider
+            BalanceSnapshot balances = this.restored();
+            BalanceSnapshot.Balance known = balances != null ? balances.balance(uuid, currency.key()) : null;
+            if(known != null) {
+                Account account = ImpactorAccount.load(currency, uuid, known.virtual(), known.balance());
+                this.track(account);
+                return CompletableFuture.completedFuture(account);
+            }
 
-            return result;
+            return supply(() -> this.implementation.account(currency, uuid, modifier)).thenApply(account -> {
+                this.track(account);
+                if(balances != null) {
+                    balances.seed(account);
+                }
+                return account;
+            });
         });
     }
 
     @CanIgnoreReturnValue
     public CompletableFuture<Void> save(Account account) {
-        return run(() -> this.implementation.save(account));
+        this.track(account);
+        if(!this.writeBehind.enabled()) {
+            return run(() -> this.implementation.save(account));
+        }
+
+        this.dirty.put(AccountKey.of(account.currency(), account.owner()), account);
+        if(this.dirty.size() >= this.writeBehind.threshold() && this.flushQueued.compareAndSet(false, true)) {
+            return run(() -> {
+                this.flushQueued.set(false);
+                this.flush();
+            });
+        }
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Writes all accounts currently marked as dirty to the underlying storage provider
+     * as a single batch. Accounts which fail to save are placed back into the dirty set,
+     * unless a newer change has already been queued for that account.
+     *
+     * @throws Exception If the storage provider fails to save the batch
+     */
+    public void flush() throws Exception {
+        this.flushing.lock();
+        try {
+            if(this.dirty.isEmpty()) {
+                return;
+            }
+
+            Map<AccountKey, Account> batch = new HashMap<>();
+            for(AccountKey key : List.copyOf(this.dirty.keySet())) {
+                Account account = this.dirty.remove(key);
+                if(account != null) {
+                    batch.put(key, account);
+                }
+            }
+
+            try {
+                this.implementation.saveAll(batch.values());
+            } catch (Exception e) {
+                batch.forEach(this.dirty::putIfAbsent);
+                throw e;
+            }
+        } finally {
+            this.flushing.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            this.flush();
+        } catch (Exception e) {
+            ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
+        }
     }
 
     @CanIgnoreReturnValue
     public CompletableFuture<Multimap<Currency, Account>> accounts() {
         Multimap<Currency, Account> results = ArrayListMultimap.create();
-        this.accounts.asMap().forEach((key, account) -> results.put(key.currency, account));
+        Set<AccountKey> seen = new HashSet<>();
+        this.accounts.synchronous().asMap().forEach((key, account) -> {
+            results.put(key.currency, account);
+            seen.add(key);
+        });
 
-        return run(() -> this.implementation.accounts(results)).thenApply(ignore -> results);
+        return run(() -> {
+            this.flush();
+            this.implementation.accounts(null, account -> {
+                if(seen.add(AccountKey.of(account.currency(), account.owner()))) {
+                    results.put(account.currency(), account);
+                }
+            });
+        }).thenApply(ignore -> results);
+    }
+
+    /**
+     * Streams every stored account, optionally restricted to a single currency, to the given consumer
+     * without collecting them in memory. Accounts which are currently cached are supplied as their
+     * cached instance, rather than a copy read from storage.
+     *
+     * <p>The consumer is invoked sequentially from a worker thread.
+     *
+     * @param currency The currency to filter accounts by, or null to iterate accounts of all currencies
+     * @param consumer The action to perform on each account
+     * @return A future completing once all accounts have been supplied to the consumer
+     */
+    @CanIgnoreReturnValue
+    public CompletableFuture<Void> accounts(@Nullable Currency currency, Consumer<Account> consumer) {
+        return run(() -> {
+            this.flush();
+            this.implementation.accounts(currency, account -> {
+                Account cached = this.accounts.synchronous().getIfPresent(AccountKey.of(account.currency(), account.owner()));
+                consumer.accept(cached != null ? cached : account);
+            });
+        });
     }
 
     @CanIgnoreReturnValue
     public CompletableFuture<Void> delete(Currency currency, UUID uuid) {
         return run(() -> {
+            this.dirty.remove(AccountKey.of(currency, uuid));
             this.implementation.delete(currency, uuid);
-            this.accounts.invalidate(AccountKey.of(currency, uuid));
+            this.accounts.synchronous().invalidate(AccountKey.of(currency, uuid));
+
+            TransactionJournal journal = this.journal;
+            if(journal != null) {
+                JournalRecord deletion = JournalRecord.deletion(uuid, currency.key());
+                this.balances.apply(deletion);
+                journal.append(deletion);
+            }
+
+            CompletableFuture<BalanceLeaderboard> leaderboard = this.leaderboards.get(currency);
+            if(leaderboard != null) {
+                leaderboard.thenAccept(board -> board.remove(uuid));
+            }
         });
     }
 
+    /**
+     * Fetches a page of accounts for the given currency, ordered by descending balance.
+     *
+     * @param currency The currency to rank accounts by
+     * @param offset The zero-based position of the first account to return
+     * @param limit The maximum number of accounts to return
+     * @param virtual Whether virtual accounts should be included in the ranking
+     * @return The requested page of accounts
+     */
+    public CompletableFuture<List<Account>> top(Currency currency, int offset, int limit, boolean virtual) {
+        if(this.implementation.ranksNatively()) {
+            return supply(() -> {
+                this.flush();
+                return this.implementation.top(currency, offset, limit, virtual);
+            });
+        }
+
+        return this.leaderboard(currency).thenApply(board -> board.page(offset, limit, virtual));
+    }
+
+    /**
+     * Calculates the one-based ranking of an account within its currency.
+     *
+     * @param currency The currency to rank accounts by
+     * @param uuid The owner of the account
+     * @param virtual Whether virtual accounts should be included in the ranking
+     * @return The ranking of the account, or empty if the account does not exist
+     */
+    public CompletableFuture<OptionalInt> rank(Currency currency, UUID uuid, boolean virtual) {
+        if(this.implementation.ranksNatively()) {
+            return supply(() -> {
+                this.flush();
+                return this.implementation.rank(currency, uuid, virtual);
+            });
+        }
+
+        return this.leaderboard(currency).thenApply(board -> board.rank(uuid, virtual));
+    }
+
+    /**
+     * Provides the in-memory leaderboard for the given currency, populating it from storage
+     * the first time it is requested. From then on, it is kept up to date as accounts are
+     * loaded and saved.
+     */
+    private CompletableFuture<BalanceLeaderboard> leaderboard(Currency currency) {
+        return this.leaderboards.computeIfAbsent(currency, key -> {
+            BalanceLeaderboard board = new BalanceLeaderboard();
+            BalanceSnapshot balances = this.balances;
+
+            CompletableFuture<Void> population;
+            if(balances != null && balances.complete()) {
+                population = run(() -> balances.forEach(key.key(), (owner, balance) -> {
+                    Account cached = this.accounts.synchronous().getIfPresent(AccountKey.of(key, owner));
+                    board.update(cached != null ? cached : ImpactorAccount.load(key, owner, balance.virtual(), balance.balance()));
+                }));
+            } else {
+                population = this.accounts(key, board::update);
+            }
+
+            CompletableFuture<BalanceLeaderboard> future = population.thenApply(ignore -> board);
+
+            future.whenComplete((board, error) -> {
+                if(error != null) {
+                    this.leaderboards.remove(key, future);
+                }
+            });
+            return future;
+        });
+    }
+
+    private void track(Account account) {
+        if(this.implementation.ranksNatively()) {
+            return;
+        }
+
+        // Updates are chained onto the leaderboard itself, so a change made while the leaderboard
+        // is still being populated is applied once population completes
+        CompletableFuture<BalanceLeaderboard> leaderboard = this.leaderboards.get(account.currency());
+        if(leaderboard != null) {
+            leaderboard.thenAccept(board -> board.update(account));
+        }
+    }
+
+    /**
+     * Appends the transaction to the transaction journal. The record is queued immediately, in the
+     * order this method is called, and written to disk in the background alongside any other pending
+     * records.
+     *
+     * @param transaction The transaction to record
+     * @return A future completing once the transaction has been made durable
+     */
     @CanIgnoreReturnValue
     public CompletableFuture<Void> logTransaction(EconomyTransaction transaction) {
-//        return run(() -> this.implementation.logTransaction(transaction));
-        return CompletableFuture.completedFuture(null);
+        TransactionJournal journal = this.journal;
+        if(journal == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        JournalRecord record = JournalRecord.of(transaction);
+        this.balances.apply(record);
+        return journal.append(record);
     }
 
-    @CanIgnoreReturnValue
-    public CompletableFuture<Void> sync(Account account, Instant since) {
-//        return run(() -> this.implementation.sync(account, since));
-        return CompletableFuture.completedFuture(null);
+    /**
+     * Reads every journaled transaction for the given account which occurred at or after the
+     * specified time, in the order they were applied.
+     *
+     * @param account The account to fetch transactions for
+     * @param since The earliest time of any transaction to return
+     * @return Every transaction recorded for the account within the window
+     */
+    public CompletableFuture<List<JournalRecord>> sync(Account account, Instant since) {
+        TransactionJournal journal = this.journal;
+        if(journal == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        return supply(() -> journal.history(account.owner(), account.currency().key(), since));
     }
 
     @CanIgnoreReturnValue
     public CompletableFuture<Boolean> purge() {
-        return supply(this.implementation::purge);
+        return supply(() -> {
+            this.dirty.clear();
+            this.leaderboards.clear();
+
+            // Transactions of purged accounts are discarded alongside them, such that the
+            // journal never describes balances for accounts which no longer exist
+            TransactionJournal journal = this.journal;
+            if(journal != null) {
+                journal.close();
+                FileUtils.deleteDirectory(JOURNAL.toFile());
+            }
+
+            try {
+                return this.implementation.purge();
+            } finally {
+                if(journal != null) {
+                    this.journal = TransactionJournal.open(JOURNAL);
+
+                    // Storage is now empty, so there is nothing left to seed the snapshot from
+                    BalanceSnapshot balances = BalanceSnapshot.empty();
+                    balances.markComplete();
+                    this.balances = balances;
+                }
+            }
+        });
     }
 
     private static CompletableFuture<Void> run(ThrowingRunnable runnable) {
@@ -148,7 +614,7 @@ public final class EconomyStorage implements Storage {
                 }
                 throw new CompletionException(e);
             }
-        }, Schedulers.require(Scheduler.ASYNCHRONOUS).executor());
+        }, ExecutorLanes.instance().blocking());
     }
 
     private static <T> CompletableFuture<T> supply(ThrowingSupplier<T> supplier) {
@@ -162,9 +628,11 @@ public final class EconomyStorage implements Storage {
                 }
                 throw new CompletionException(e);
             }
-        }, Schedulers.require(Scheduler.ASYNCHRONOUS).executor());
+        }, ExecutorLanes.instance().blocking());
     }
 
+    private record WriteBehind(boolean enabled, int interval, int threshold) {}
+
     private record AccountKey(Currency currency, UUID owner) {
 
         public static AccountKey of(Currency currency, UUID owner) {
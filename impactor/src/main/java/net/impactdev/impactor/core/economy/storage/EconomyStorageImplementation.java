@@ -25,15 +25,17 @@
 
 package net.impactdev.impactor.core.economy.storage;
 
-import com.google.common.collect.Multimap;
 import net.impactdev.impactor.api.economy.accounts.Account;
 import net.impactdev.impactor.api.economy.currency.Currency;
-import net.impactdev.impactor.api.economy.transactions.EconomyTransaction;
 import net.impactdev.impactor.api.storage.connection.StorageConnection;
+import org.jetbrains.annotations.Nullable;
 
-import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalInt;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface EconomyStorageImplementation extends StorageConnection {
 
@@ -43,13 +45,63 @@ public interface EconomyStorageImplementation extends StorageConnection {
 
     void save(Account account) throws Exception;
 
-    void accounts(Multimap<Currency, Account> cache) throws Exception;
+    /**
+     * Saves a batch of accounts in a single operation. Implementations are expected to override
+     * this when their backend is capable of writing multiple accounts more efficiently than
+     * saving each account individually.
+     *
+     * @param accounts The accounts to save
+     * @throws Exception If any account fails to save
+     */
+    default void saveAll(Collection<Account> accounts) throws Exception {
+        for(Account account : accounts) {
+            this.save(account);
+        }
+    }
 
-    void delete(Currency currency, UUID uuid) throws Exception;
+    /**
+     * Iterates over every account known to this implementation, optionally restricted to a single
+     * currency. Accounts are read and handed to the consumer one at a time, such that callers are
+     * able to process the entire data set without it needing to be held in memory at once.
+     *
+     * @param currency The currency to filter accounts by, or null to iterate accounts of all currencies
+     * @param consumer The action to perform on each account
+     * @throws Exception If the underlying storage fails to be read
+     */
+    void accounts(@Nullable Currency currency, Consumer<Account> consumer) throws Exception;
+
+    /**
+     * Indicates whether this implementation is capable of ranking accounts by balance on its own,
+     * such as through an indexed query. If not, rankings will instead be served from an in-memory
+     * index populated from {@link #accounts(Currency, Consumer)}.
+     *
+     * @return True if {@link #top(Currency, int, int, boolean)} and {@link #rank(Currency, UUID, boolean)}
+     * are supported by this implementation
+     */
+    default boolean ranksNatively() {
+        return false;
+    }
+
+    /**
+     * Indicates whether this implementation versions each account, in order to reconcile writes made to
+     * the same account by multiple servers sharing the underlying storage. Whether the storage is actually
+     * shared is configured separately, as a versioning implementation may just as well serve a single server.
+     *
+     * @return True if accounts are versioned by this implementation
+     */
+    default boolean versionsAccounts() {
+        return false;
+    }
 
-    void logTransaction(EconomyTransaction transaction) throws Exception;
+    default List<Account> top(Currency currency, int offset, int limit, boolean virtual) throws Exception {
+        throw new UnsupportedOperationException();
+    }
 
-    void sync(Account account, Instant since) throws Exception;
+    default OptionalInt rank(Currency currency, UUID uuid, boolean virtual) throws Exception {
+        throw new UnsupportedOperationException();
+    }
+
+    void delete(Currency currency, UUID uuid) throws Exception;
 
     boolean purge() throws Exception;
 
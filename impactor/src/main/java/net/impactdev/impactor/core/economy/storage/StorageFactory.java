@@ -34,10 +34,12 @@ import net.impactdev.impactor.api.storage.connection.configurate.loaders.YamlLoa
 import net.impactdev.impactor.core.economy.EconomyConfig;
 import net.impactdev.impactor.core.economy.storage.implementations.ConfigurateProvider;
 import net.impactdev.impactor.core.economy.storage.implementations.SQLProvider;
+import net.impactdev.impactor.core.storage.sql.H2ConnectionImpl;
 import net.impactdev.impactor.core.storage.sql.MariaDbConnectionImpl;
 import net.impactdev.impactor.core.storage.sql.MySQLConnectionImpl;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.file.Paths;
 import java.util.Optional;
 
 public final class StorageFactory {
@@ -45,7 +47,7 @@ public final class StorageFactory {
     public static EconomyStorage instance(ImpactorPlugin plugin, @NotNull Config config, @NotNull StorageType fallback) {
         StorageType use = Optional.ofNullable(config.get(EconomyConfig.STORAGE_TYPE)).orElse(fallback);
         plugin.logger().info("Loading storage provider... [" + use.getName() + "]");
-        return new EconomyStorage(createNewImplementation(use, config));
+        return new EconomyStorage(createNewImplementation(use, config), config);
     }
 
     private static EconomyStorageImplementation createNewImplementation(StorageType type, Config config) {
@@ -61,6 +63,13 @@ public final class StorageFactory {
                     new MariaDbConnectionImpl(config.get(EconomyConfig.STORAGE_CREDENTIALS)),
                     config.get(EconomyConfig.SQL_TABLE_PREFIX)
             );
+            case H2 -> new SQLProvider(
+                    new H2ConnectionImpl(
+                            Paths.get("config").resolve("impactor").resolve("economy").resolve("economy"),
+                            config.get(EconomyConfig.STORAGE_CREDENTIALS)
+                    ),
+                    config.get(EconomyConfig.SQL_TABLE_PREFIX)
+            );
             default -> throw new IllegalArgumentException("Unsupported storage type: " + type);
         };
 
@@ -27,22 +27,15 @@ package net.impactdev.impactor.core.economy.storage.implementations;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import net.impactdev.impactor.api.Impactor;
 import net.impactdev.impactor.api.economy.EconomyService;
 import net.impactdev.impactor.api.economy.accounts.Account;
 import net.impactdev.impactor.api.economy.currency.Currency;
 import net.impactdev.impactor.api.economy.currency.CurrencyProvider;
-import net.impactdev.impactor.api.economy.transactions.EconomyTransaction;
-import net.impactdev.impactor.api.economy.transactions.details.EconomyResultType;
-import net.impactdev.impactor.api.economy.transactions.details.EconomyTransactionType;
 import net.impactdev.impactor.api.platform.players.PlatformPlayerService;
 import net.impactdev.impactor.api.platform.sources.PlatformSource;
 import net.impactdev.impactor.api.storage.connection.configurate.ConfigurateLoader;
-import net.impactdev.impactor.api.utility.ExceptionPrinter;
 import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
 import net.impactdev.impactor.core.economy.accounts.ImpactorAccount;
 import net.impactdev.impactor.core.economy.storage.EconomyStorageImplementation;
@@ -50,9 +43,9 @@ import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.kyori.adventure.key.Key;
 import org.apache.commons.io.FileUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.BasicConfigurationNode;
 import org.spongepowered.configurate.ConfigurationNode;
-import org.spongepowered.configurate.serialize.SerializationException;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -61,13 +54,9 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.Instant;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.Collection;
 import java.util.Comparator;
@@ -78,7 +67,9 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -213,20 +204,31 @@ public class ConfigurateProvider implements EconomyStorageImplementation {
 
     @Override
     public void save(Account account) throws Exception {
+        this.save(this.target(account), List.of(account));
+    }
+
+    @Override
+    public void saveAll(Collection<Account> accounts) throws Exception {
+        // Accounts of different currencies share a file per owner, so group them up to
+        // ensure each file is only read and rewritten once per batch
+        Map<Path, List<Account>> files = accounts.stream().collect(Collectors.groupingBy(this::target));
+        for(Map.Entry<Path, List<Account>> entry : files.entrySet()) {
+            this.save(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private Path target(Account account) {
         Path accounts = this.root.resolve("accounts");
-        Path target = (account.virtual() ? Group.Virtual.transform(accounts) : Group.Users.transform(accounts))
+        return (account.virtual() ? Group.Virtual.transform(accounts) : Group.Users.transform(accounts))
                 .resolve(account.owner().toString().substring(0, 2))
                 .resolve(account.owner() + ".conf");
-
-        this.save(target, account);
     }
 
     @Override
-    public void accounts(Multimap<Currency, Account> cache) throws Exception {
+    public void accounts(@Nullable Currency filter, Consumer<Account> consumer) throws Exception {
         Path root = this.root.resolve("accounts");
 
-        EconomyService service = Impactor.instance().services().provide(EconomyService.class);
-        CurrencyProvider currencies = service.currencies();
+        CurrencyProvider currencies = EconomyService.instance().currencies();
         try(Stream<Path> files = Files.walk(root)) {
             files.filter(path -> path.getFileName().toString().endsWith(".conf"))
                     .forEach(path -> {
@@ -236,14 +238,19 @@ public class ConfigurateProvider implements EconomyStorageImplementation {
                             UUID owner = UUID.fromString(name.substring(0, name.indexOf(".")));
 
                             ConfigurationNode data = this.read(path);
-                            for(Object key : data.childrenMap().keySet()) {
-                                Optional<Currency> currency = currencies.currency(Key.key((String) key));
+                            if(filter != null) {
+                                ConfigurationNode node = data.node(filter.key().asString());
+                                if(!node.virtual()) {
+                                    consumer.accept(ImpactorAccount.load(filter, owner, virtual, BigDecimal.valueOf(node.getDouble())));
+                                }
+
+                                return;
+                            }
+
+                            for(Map.Entry<Object, ? extends ConfigurationNode> entry : data.childrenMap().entrySet()) {
+                                Optional<Currency> currency = currencies.currency(Key.key((String) entry.getKey()));
                                 if(currency.isPresent()) {
-                                    Collection<Account> registered = cache.get(currency.get());
-                                    if(registered.stream().noneMatch(account -> account.owner().equals(owner))) {
-                                        Account account = ImpactorAccount.load(currency.get(), owner, virtual, BigDecimal.valueOf(data.node(key).getDouble()));
-                                        cache.put(account.currency(), account);
-                                    }
+                                    consumer.accept(ImpactorAccount.load(currency.get(), owner, virtual, BigDecimal.valueOf(entry.getValue().getDouble())));
                                 }
                             }
                         } catch (Exception e) {
@@ -281,123 +288,6 @@ public class ConfigurateProvider implements EconomyStorageImplementation {
         }
     }
 
-    @Override
-    public void logTransaction(EconomyTransaction transaction) throws Exception {
-        Account target = transaction.account();
-        Path accounts = this.root.resolve("accounts");
-        Path transactions = (target.virtual() ? Group.Virtual.transform(accounts) : Group.Users.transform(accounts))
-                .resolve(target.owner().toString().substring(0, 2))
-                .resolve("transactions");
-
-        DateTimeFormatter date = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.systemDefault());
-        Path branch = transactions.resolve(date.format(transaction.timestamp()));
-        Path leaf = branch.resolve("transactions.log");
-
-        this.createDirectoriesIfNotExists(leaf.getParent());
-        ReentrantLock lock = Objects.requireNonNull(this.ioLocks.get(leaf));
-        lock.lock();
-
-        try {
-            ConfigurationNode node;
-            if(Files.exists(leaf)) {
-                node = this.loader.loader(leaf).load();
-            } else {
-                node = BasicConfigurationNode.root();
-            }
-
-            int id = node.node("transactions").getInt(0) + 1;
-            node.node("transactions").set(id);
-            node.node("" + id).node("currency").set(transaction.currency().key().asString());
-            node.node("" + id).node("type").set(transaction.type().name());
-            node.node("" + id).node("result").set(transaction.result().name());
-            node.node("" + id).node("amount").set(transaction.amount().doubleValue());
-            node.node("" + id).node("timestamp").set(transaction.timestamp());
-
-            this.loader.loader(leaf).save(node);
-        } catch (Exception e) {
-            ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
-        } finally {
-            lock.unlock();
-        }
-    }
-
-    @Override
-    public void sync(Account account, Instant since) throws Exception {
-        Path accounts = this.root.resolve("accounts");
-        Path transactions = (account.virtual() ? Group.Virtual.transform(accounts) : Group.Users.transform(accounts))
-                .resolve(account.owner().toString().substring(0, 2))
-                .resolve("transactions");
-
-        DateTimeFormatter date = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneId.systemDefault());
-        Files.walk(transactions)
-                .filter(Files::isRegularFile)
-                .filter(path -> {
-                    System.out.println("Reading path: " + path);
-                    String name = path.getParent().getFileName().toString();
-                    LocalDate timestamp = LocalDate.parse(name, date);
-
-                    LocalDate compare = LocalDate.ofInstant(since, ZoneId.systemDefault());
-                    return compare.isBefore(timestamp) || compare.isEqual(timestamp);
-                })
-                .map(path -> {
-                    ReentrantLock lock = Objects.requireNonNull(this.ioLocks.get(path));
-                    lock.lock();
-                    try {
-                        return this.loader.loader(path).load();
-                    } catch (Exception e) {
-                        ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
-                        return null;
-                    } finally {
-                        lock.unlock();
-                    }
-                })
-                .filter(Objects::nonNull)
-                .map(node -> {
-                    NodeCollection collection = new NodeCollection();
-                    int count = node.node("transactions").getInt(0);
-                    for(int i = 0; i < count; i++) {
-                        try {
-                            ConfigurationNode target = node.node("" + (i + 1));
-                            Instant timestamp = target.node("timestamp").get(Instant.class);
-                            Currency currency = EconomyService.instance()
-                                    .currencies()
-                                    .currency(Key.key(target.node("currency").getString()))
-                                    .orElse(null);
-
-                            Preconditions.checkNotNull(timestamp);
-                            if(since.isBefore(timestamp) && currency != null && account.currency().equals(currency)) {
-                                collection.append(target);
-                            }
-                        }
-                        catch (SerializationException e) {
-                            throw new RuntimeException(e);
-                        }
-                    }
-
-                    return collection;
-                })
-                .flatMap(collection -> collection.valid.stream())
-                .map(node -> {
-                    try {
-                        return new LoggedTransaction(
-                                EconomyService.instance()
-                                        .currencies()
-                                        .currency(Key.key(node.node("currency").getString()))
-                                        .orElse(null),
-                                BigDecimal.valueOf(node.node("amount").getDouble(0)),
-                                EconomyTransactionType.valueOf(node.node("type").getString()),
-                                EconomyResultType.valueOf(node.node("result").getString()),
-                                node.node("timestamp").get(Instant.class)
-                        );
-                    }
-                    catch (SerializationException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .sorted((a, b) -> b.timestamp.compareTo(a.timestamp))
-                .forEach(System.out::println);
-    }
-
     @Override
     public boolean purge() throws Exception {
         FileUtils.cleanDirectory(this.root.toFile());
@@ -431,7 +321,7 @@ public class ConfigurateProvider implements EconomyStorageImplementation {
         }
     }
 
-    private void save(Path target, @NotNull Account account) throws IOException {
+    private void save(Path target, @NotNull Collection<Account> accounts) throws IOException {
         this.createDirectoriesIfNotExists(target.getParent());
         ReentrantLock lock = Objects.requireNonNull(this.ioLocks.get(target));
         lock.lock();
@@ -444,7 +334,9 @@ public class ConfigurateProvider implements EconomyStorageImplementation {
                 node = BasicConfigurationNode.root();
             }
 
-            node.node(account.currency().key().asString()).set(account.balance().doubleValue());
+            for(Account account : accounts) {
+                node.node(account.currency().key().asString()).set(account.balance().doubleValue());
+            }
             this.loader.loader(target).save(node);
         } catch (Exception e) {
             e.printStackTrace();
@@ -453,20 +345,4 @@ public class ConfigurateProvider implements EconomyStorageImplementation {
         }
     }
 
-    private static final class NodeCollection {
-        public final List<ConfigurationNode> valid = Lists.newArrayList();
-
-        public void append(ConfigurationNode node) {
-            this.valid.add(node);
-        }
-    }
-
-    private record LoggedTransaction(
-            Currency currency,
-            BigDecimal amount,
-            EconomyTransactionType type,
-            EconomyResultType result,
-            Instant timestamp
-    ) {}
-
 }
@@ -25,12 +25,12 @@
 
 package net.impactdev.impactor.core.economy.storage.implementations;
 
-import com.google.common.collect.Multimap;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Striped;
 import net.impactdev.impactor.api.economy.EconomyService;
 import net.impactdev.impactor.api.economy.accounts.Account;
 import net.impactdev.impactor.api.economy.currency.Currency;
 import net.impactdev.impactor.api.economy.currency.CurrencyProvider;
-import net.impactdev.impactor.api.economy.transactions.EconomyTransaction;
 import net.impactdev.impactor.api.storage.connection.sql.SQLConnection;
 import net.impactdev.impactor.api.utility.ExceptionPrinter;
 import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
@@ -38,38 +38,79 @@ import net.impactdev.impactor.core.economy.accounts.ImpactorAccount;
 import net.impactdev.impactor.core.economy.storage.EconomyStorageImplementation;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public final class SQLProvider implements EconomyStorageImplementation {
 
     public static final String HAS_ACCOUNT = "SELECT 1 FROM '{prefix}accounts' WHERE uuid = ? AND currency = ?";
     public static final String ACCOUNT = "SELECT * FROM '{prefix}accounts' WHERE uuid = ? AND currency = ?";
-    public static final String UPDATE_OR_INSERT_ACCOUNT = "INSERT INTO '{prefix}accounts' (uuid, currency, virtual, balance) VALUES(?, ?, ?, ?) ON DUPLICATE KEY UPDATE balance = VALUES(balance)";
+    public static final String UPDATE_OR_INSERT_ACCOUNT = "INSERT INTO '{prefix}accounts' (uuid, currency, virtual, balance, version) VALUES(?, ?, ?, ?, 1) ON DUPLICATE KEY UPDATE balance = VALUES(balance), version = version + 1";
+    public static final String ADJUST_OR_INSERT_ACCOUNT = "INSERT INTO '{prefix}accounts' (uuid, currency, virtual, balance, version) VALUES(?, ?, ?, ?, 1) ON DUPLICATE KEY UPDATE balance = balance + ?, version = version + 1";
+    public static final String COMPARE_AND_SET_ACCOUNT = "UPDATE '{prefix}accounts' SET balance = ?, version = version + 1 WHERE uuid = ? AND currency = ? AND version = ?";
+    public static final String ACCOUNT_VERSION = "SELECT balance, version FROM '{prefix}accounts' WHERE uuid = ? AND currency = ?";
     public static final String ALL_ACCOUNTS = "SELECT * FROM '{prefix}accounts'";
+    public static final String CURRENCY_ACCOUNTS = "SELECT * FROM '{prefix}accounts' WHERE currency = ?";
+    public static final String TOP_ACCOUNTS = "SELECT * FROM '{prefix}accounts' WHERE currency = ? ORDER BY balance DESC LIMIT ? OFFSET ?";
+    public static final String TOP_PLAYER_ACCOUNTS = "SELECT * FROM '{prefix}accounts' WHERE currency = ? AND virtual = false ORDER BY balance DESC LIMIT ? OFFSET ?";
+    public static final String RANK_ACCOUNT = "SELECT COUNT(*) FROM '{prefix}accounts' WHERE currency = ? AND balance > ?";
+    public static final String RANK_PLAYER_ACCOUNT = "SELECT COUNT(*) FROM '{prefix}accounts' WHERE currency = ? AND virtual = false AND balance > ?";
     public static final String DELETE_ACCOUNT = "DELETE FROM '{prefix}accounts' WHERE uuid = ? AND currency = ?";
     public static final String TRUNCATE_ACCOUNTS = "TRUNCATE TABLE '{prefix}accounts'";
+    public static final String ADD_VERSION_COLUMN = "ALTER TABLE '{prefix}accounts' ADD COLUMN version BIGINT NOT NULL DEFAULT 0";
+    public static final String ADD_RANKING_INDEX = "CREATE INDEX '{prefix}accounts_ranking' ON '{prefix}accounts' (currency, balance)";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final List<String> STATEMENTS = List.of(
+            HAS_ACCOUNT, ACCOUNT, UPDATE_OR_INSERT_ACCOUNT, ADJUST_OR_INSERT_ACCOUNT, COMPARE_AND_SET_ACCOUNT, ACCOUNT_VERSION, ALL_ACCOUNTS, CURRENCY_ACCOUNTS, TOP_ACCOUNTS,
+            TOP_PLAYER_ACCOUNTS, RANK_ACCOUNT, RANK_PLAYER_ACCOUNT, DELETE_ACCOUNT, TRUNCATE_ACCOUNTS
+    );
 
     private final BaseImpactorPlugin plugin;
     private final SQLConnection factory;
     private final Function<String, String> processor;
 
+    /** Statements with the table prefix and connection specific processing already applied */
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
+    private final Map<Key, String> identifiers = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes writes of the same account from this server, such that the balance read back after a
+     * write is never confused with that of another write of the account still in flight
+     */
+    private final Striped<Lock> writes = Striped.lock(64);
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder overdrafts = new LongAdder();
+
     public SQLProvider(SQLConnection connection, String prefix) {
         this.plugin = BaseImpactorPlugin.instance();
         this.factory = connection;
@@ -84,6 +125,10 @@ public final class SQLProvider implements EconomyStorageImplementation {
     @Override
     public void init() throws Exception {
         this.factory.init();
+        for(String statement : STATEMENTS) {
+            this.statements.put(statement, this.processor.apply(statement));
+        }
+
         try(InputStream schema = this.plugin.resource(root -> root.resolve("schema").resolve(this.factory.name().toLowerCase() + ".sql"))) {
             try(BufferedReader reader = new BufferedReader(new InputStreamReader(schema, StandardCharsets.UTF_8))) {
                 try(Connection connection = this.factory.connection()) {
@@ -120,6 +165,16 @@ public final class SQLProvider implements EconomyStorageImplementation {
                 }
             }
         }
+
+        // Tables created before accounts were versioned are missing the version column
+        if(!this.columnExists("{prefix}accounts", "version")) {
+            this.query(ADD_VERSION_COLUMN, (connection, ps) -> ps.executeUpdate());
+        }
+
+        // Likewise, tables created before leaderboards were indexed are missing the ranking index
+        if(!this.indexExists("{prefix}accounts", "{prefix}accounts_ranking")) {
+            this.query(ADD_RANKING_INDEX, (connection, ps) -> ps.executeUpdate());
+        }
     }
 
     @Override
@@ -130,13 +185,20 @@ public final class SQLProvider implements EconomyStorageImplementation {
     @Override
     public void meta(PrettyPrinter printer) throws Exception {
         this.factory.meta(printer);
+        printer.add("Version Conflicts: %d", this.conflicts.sum());
+        printer.add("Overdrawn Writes: %d", this.overdrafts.sum());
+    }
+
+    @Override
+    public boolean versionsAccounts() {
+        return true;
     }
 
     @Override
     public boolean hasAccount(Currency currency, UUID uuid) throws Exception {
         return this.query(HAS_ACCOUNT, (connection, ps) -> {
             ps.setBytes(1, this.uuidToBytes(uuid));
-            ps.setString(2, currency.key().asString());
+            ps.setString(2, this.identifier(currency));
 
             return ps.executeQuery().next();
         });
@@ -146,21 +208,12 @@ public final class SQLProvider implements EconomyStorageImplementation {
     public Account account(Currency currency, UUID uuid, Account.AccountModifier modifier) throws Exception {
         return this.query(ACCOUNT, (connection, ps) -> {
             ps.setBytes(1, this.uuidToBytes(uuid));
-            ps.setString(2, currency.key().asString());
+            ps.setString(2, this.identifier(currency));
 
             return this.results(ps, results -> {
                 Account account;
                 if(results.next()) {
-                    Account.AccountBuilder builder = Account.builder()
-                            .owner(this.bytesToUUID(results.getBytes("uuid")))
-                            .currency(currency)
-                            .balance(results.getBigDecimal("balance"));
-
-                    if(results.getBoolean("virtual")) {
-                        builder.virtual();
-                    }
-
-                    account = builder.build();
+                    account = this.read(currency, results);
                 } else {
                     Account.AccountBuilder builder = new ImpactorAccount.ImpactorAccountBuilder();
                     builder.currency(currency).owner(uuid);
@@ -176,68 +229,288 @@ public final class SQLProvider implements EconomyStorageImplementation {
 
     @Override
     public void save(Account account) throws Exception {
-        this.query(UPDATE_OR_INSERT_ACCOUNT, (connection, ps) -> {
-            ps.setBytes(1, this.uuidToBytes(account.owner()));
-            ps.setString(2, account.currency().key().asString());
-            ps.setBoolean(3, account.virtual());
-            ps.setBigDecimal(4, account.balance());
+        this.saveAll(List.of(account));
+    }
 
-            ps.executeUpdate();
-            return null;
-        });
+    /**
+     * Writes the given accounts as a single transaction. Rather than overwriting the stored balance, an
+     * account loaded from storage only writes the sum of the adjustments made to it since, which leaves
+     * changes made to the account by other servers sharing this database intact. Accounts set or reset
+     * outright are written against the version they were loaded at; should another server have written
+     * the account since, the conflict is recorded before the balance is overwritten regardless, as
+     * setting a balance is expected to discard any prior balance. Changes were committed the moment their
+     * transactions succeeded, so they are always applied, even should withdrawals checked against a stale
+     * balance overdraw the stored account; such overdrafts are logged and counted instead.
+     *
+     * <p>Once written, each account is synchronized with the stored balance and version, refreshing
+     * accounts which had fallen behind changes made by other servers.
+     */
+    @Override
+    public void saveAll(Collection<Account> accounts) throws Exception {
+        if(accounts.isEmpty()) {
+            return;
+        }
+
+        List<Lock> locks = Lists.newArrayList(this.writes.bulkGet(accounts.stream()
+                .map(account -> List.of(account.owner(), account.currency().key()))
+                .toList()
+        ));
+        for(Lock lock : locks) {
+            lock.lock();
+        }
+
+        try {
+            List<Write> writes = new ArrayList<>(accounts.size());
+            for(Account account : accounts) {
+                ImpactorAccount.Changes changes = account instanceof ImpactorAccount
+                        ? ((ImpactorAccount) account).changes()
+                        : ImpactorAccount.Changes.overwrite(account.balance());
+
+                if(!changes.empty()) {
+                    writes.add(new Write(account, changes));
+                }
+            }
+
+            if(writes.isEmpty()) {
+                return;
+            }
+
+            try(Connection connection = this.factory.connection()) {
+                boolean auto = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    this.write(connection, writes);
+                    connection.commit();
+                } catch (Exception e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(auto);
+                }
+            } catch (Exception e) {
+                for(Write write : writes) {
+                    if(write.account() instanceof ImpactorAccount) {
+                        ((ImpactorAccount) write.account()).unwritten(write.changes());
+                    }
+                }
+                throw e;
+            }
+
+            for(Write write : writes) {
+                if(write.account() instanceof ImpactorAccount) {
+                    ((ImpactorAccount) write.account()).written(write.version(), write.stored());
+                }
+            }
+        } finally {
+            for(int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private void write(Connection connection, List<Write> writes) throws SQLException {
+        List<Write> compared = new ArrayList<>();
+        try(PreparedStatement overwrite = this.prepare(connection, UPDATE_OR_INSERT_ACCOUNT);
+            PreparedStatement adjust = this.prepare(connection, ADJUST_OR_INSERT_ACCOUNT)
+        ) {
+            boolean overwrites = false;
+            boolean adjustments = false;
+            for(Write write : writes) {
+                ImpactorAccount.Changes changes = write.changes();
+                if(!changes.absolute()) {
+                    this.bindAccount(adjust, write.account(), changes.balance());
+                    adjust.setBigDecimal(5, changes.delta());
+                    adjust.addBatch();
+                    adjustments = true;
+                } else if(changes.version() == ImpactorAccount.Changes.UNVERSIONED) {
+                    this.bindAccount(overwrite, write.account(), changes.balance());
+                    overwrite.addBatch();
+                    overwrites = true;
+                } else {
+                    // Update counts are required to detect conflicts, which batched statements
+                    // are not guaranteed to report
+                    compared.add(write);
+                }
+            }
+
+            if(adjustments) {
+                adjust.executeBatch();
+            }
+            if(overwrites) {
+                overwrite.executeBatch();
+            }
+
+            if(!compared.isEmpty()) {
+                try(PreparedStatement cas = this.prepare(connection, COMPARE_AND_SET_ACCOUNT)) {
+                    for(Write write : compared) {
+                        ImpactorAccount.Changes changes = write.changes();
+                        cas.setBigDecimal(1, changes.balance());
+                        cas.setBytes(2, this.uuidToBytes(write.account().owner()));
+                        cas.setString(3, this.identifier(write.account().currency()));
+                        cas.setLong(4, changes.version());
+
+                        if(cas.executeUpdate() == 0) {
+                            this.conflicts.increment();
+                            this.bindAccount(overwrite, write.account(), changes.balance());
+                            overwrite.executeUpdate();
+                        }
+                    }
+                }
+            }
+        }
+
+        try(PreparedStatement ps = this.prepare(connection, ACCOUNT_VERSION)) {
+            for(Write write : writes) {
+                ps.setBytes(1, this.uuidToBytes(write.account().owner()));
+                ps.setString(2, this.identifier(write.account().currency()));
+
+                try(ResultSet results = ps.executeQuery()) {
+                    if(!results.next()) {
+                        throw new SQLException("Account vanished while being written: " + write.account().owner());
+                    }
+
+                    long version = results.getLong("version");
+                    if(!write.changes().absolute() && version != write.changes().version() + 1) {
+                        // Another server adjusted this account since it was last synchronized
+                        this.conflicts.increment();
+                    }
+
+                    BigDecimal stored = results.getBigDecimal("balance");
+                    if(!write.changes().absolute() && write.changes().delta().signum() < 0 && stored.signum() < 0) {
+                        // Withdrawals were checked against this server's view of the balance, which another
+                        // server may have spent from since. The withdrawal already succeeded, so it is kept.
+                        this.overdrafts.increment();
+                        this.plugin.logger().warn(String.format(
+                                "Account %s overdrawn to %s in %s by concurrent withdrawals across servers",
+                                write.account().owner(),
+                                stored.toPlainString(),
+                                this.identifier(write.account().currency())
+                        ));
+                    }
+
+                    write.stored(stored, version);
+                }
+            }
+        }
+    }
+
+    private void bindAccount(PreparedStatement ps, Account account, BigDecimal balance) throws SQLException {
+        ps.setBytes(1, this.uuidToBytes(account.owner()));
+        ps.setString(2, this.identifier(account.currency()));
+        ps.setBoolean(3, account.virtual());
+        ps.setBigDecimal(4, balance);
+    }
+
+    private ImpactorAccount read(Currency currency, ResultSet results) throws SQLException {
+        return ImpactorAccount.load(
+                currency,
+                this.bytesToUUID(results.getBytes("uuid")),
+                results.getBoolean("virtual"),
+                results.getBigDecimal("balance"),
+                results.getLong("version")
+        );
     }
 
     @SuppressWarnings("PatternValidation")
     @Override
-    public void accounts(Multimap<Currency, Account> cache) throws Exception {
-        this.query(ALL_ACCOUNTS, (connection, ps) -> this.results(ps, results -> {
-            EconomyService service = EconomyService.instance();
-            CurrencyProvider provider = service.currencies();
-            while(results.next()) {
-                Key key = Key.key(results.getString("currency"));
-                Optional<Currency> currency = provider.currency(key);
-                if(currency.isPresent()) {
-                    Account.AccountBuilder account = Account.builder()
-                            .owner(this.bytesToUUID(results.getBytes("uuid")))
-                            .currency(currency.get())
-                            .balance(results.getBigDecimal("balance"));
-
-                    if(results.getBoolean("virtual")) {
-                        account.virtual();
+    public void accounts(@Nullable Currency filter, Consumer<Account> consumer) throws Exception {
+        this.query(filter != null ? CURRENCY_ACCOUNTS : ALL_ACCOUNTS, (connection, ps) -> {
+            // Hint to the driver that rows should be streamed in chunks rather than the entire
+            // result set being buffered in memory before it is handed back
+            ps.setFetchSize(FETCH_SIZE);
+            if(filter != null) {
+                ps.setString(1, this.identifier(filter));
+            }
+
+            return this.results(ps, results -> {
+                EconomyService service = EconomyService.instance();
+                CurrencyProvider provider = service.currencies();
+
+                // Rows are typically spread across only a handful of currencies, so resolve each once
+                Map<String, Optional<Currency>> currencies = new HashMap<>();
+                while(results.next()) {
+                    Optional<Currency> currency = filter != null
+                            ? Optional.of(filter)
+                            : currencies.computeIfAbsent(results.getString("currency"), id -> provider.currency(Key.key(id)));
+                    if(currency.isPresent()) {
+                        consumer.accept(this.read(currency.get(), results));
                     }
-                    cache.put(currency.get(), account.build());
                 }
-            }
 
-            return null;
-        }));
+                return null;
+            });
+        });
     }
 
     @Override
-    public void delete(Currency currency, UUID uuid) throws Exception {
-        this.query(DELETE_ACCOUNT, (connection, ps) -> {
-            ps.setBytes(1, this.uuidToBytes(uuid));
-            ps.setString(2, currency.key().asString());
+    public boolean ranksNatively() {
+        return true;
+    }
 
-            return null;
+    @Override
+    public List<Account> top(Currency currency, int offset, int limit, boolean virtual) throws Exception {
+        return this.query(virtual ? TOP_ACCOUNTS : TOP_PLAYER_ACCOUNTS, (connection, ps) -> {
+            ps.setString(1, this.identifier(currency));
+            ps.setInt(2, limit);
+            ps.setInt(3, offset);
+
+            return this.results(ps, results -> {
+                List<Account> accounts = new ArrayList<>(limit);
+                while(results.next()) {
+                    accounts.add(this.read(currency, results));
+                }
+
+                return accounts;
+            });
         });
     }
 
     @Override
-    public void logTransaction(EconomyTransaction transaction) throws Exception {
+    public OptionalInt rank(Currency currency, UUID uuid, boolean virtual) throws Exception {
+        Optional<Account> target = this.query(ACCOUNT, (connection, ps) -> {
+            ps.setBytes(1, this.uuidToBytes(uuid));
+            ps.setString(2, this.identifier(currency));
+
+            return this.results(ps, results -> {
+                if(results.next() && (virtual || !results.getBoolean("virtual"))) {
+                    return Optional.<Account>of(this.read(currency, results));
+                }
 
+                return Optional.<Account>empty();
+            });
+        });
+
+        if(target.isEmpty()) {
+            return OptionalInt.empty();
+        }
+
+        return this.query(virtual ? RANK_ACCOUNT : RANK_PLAYER_ACCOUNT, (connection, ps) -> {
+            ps.setString(1, this.identifier(currency));
+            ps.setBigDecimal(2, target.get().balance());
+
+            return this.results(ps, results -> {
+                results.next();
+                return OptionalInt.of(results.getInt(1) + 1);
+            });
+        });
     }
 
     @Override
-    public void sync(Account account, Instant since) throws Exception {
+    public void delete(Currency currency, UUID uuid) throws Exception {
+        this.query(DELETE_ACCOUNT, (connection, ps) -> {
+            ps.setBytes(1, this.uuidToBytes(uuid));
+            ps.setString(2, this.identifier(currency));
 
+            ps.executeUpdate();
+            return null;
+        });
     }
 
     @Override
     public boolean purge() throws Exception {
         return this.query(TRUNCATE_ACCOUNTS, (connection, ps) -> {
             ps.executeUpdate();
-            return null;
+            return true;
         });
     }
 
@@ -254,19 +527,116 @@ public final class SQLProvider implements EconomyStorageImplementation {
         }
     }
 
+    private boolean columnExists(String table, String column) throws SQLException {
+        try(Connection connection = this.factory.connection()) {
+            try(Statement s = connection.createStatement()) {
+                try(ResultSet rs = s.executeQuery(this.processor.apply("SELECT * FROM '" + table + "' WHERE 1 = 0"))) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    for(int i = 1; i <= meta.getColumnCount(); i++) {
+                        if(meta.getColumnName(i).equalsIgnoreCase(column)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            }
+        }
+    }
+
+    private boolean indexExists(String table, String index) throws SQLException {
+        String name = this.processor.apply(index);
+        try(Connection connection = this.factory.connection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            String resolved = this.processor.apply(table);
+
+            // Drivers differ in whether they report identifiers in the case they were declared with
+            for(String candidate : Stream.of(resolved, resolved.toUpperCase(), resolved.toLowerCase()).distinct().toList()) {
+                try(ResultSet rs = meta.getIndexInfo(connection.getCatalog(), null, candidate, false, true)) {
+                    while(rs.next()) {
+                        String found = rs.getString("INDEX_NAME");
+                        if(found != null && found.equalsIgnoreCase(name)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the identifier of a currency as stored in the database. Keys build a new string
+     * each time they are asked for their string form, so these are computed once per currency.
+     */
+    private String identifier(Currency currency) {
+        return this.identifiers.computeIfAbsent(currency.key(), Key::asString);
+    }
+
     private byte[] uuidToBytes(UUID uuid) {
         byte[] bytes = new byte[16];
-        ByteBuffer.wrap(bytes)
-                .order(ByteOrder.BIG_ENDIAN)
-                .putLong(uuid.getMostSignificantBits())
-                .putLong(uuid.getLeastSignificantBits());
+        writeLong(bytes, 0, uuid.getMostSignificantBits());
+        writeLong(bytes, 8, uuid.getLeastSignificantBits());
 
         return bytes;
     }
 
     private UUID bytesToUUID(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return new UUID(buffer.getLong(), buffer.getLong());
+        return new UUID(readLong(bytes, 0), readLong(bytes, 8));
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for(int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for(int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * An account being written, alongside its state in storage once written
+     */
+    private static final class Write {
+
+        private final Account account;
+        private final ImpactorAccount.Changes changes;
+        private BigDecimal stored;
+        private long version;
+
+        private Write(Account account, ImpactorAccount.Changes changes) {
+            this.account = account;
+            this.changes = changes;
+        }
+
+        public Account account() {
+            return this.account;
+        }
+
+        public ImpactorAccount.Changes changes() {
+            return this.changes;
+        }
+
+        public BigDecimal stored() {
+            return this.stored;
+        }
+
+        public long version() {
+            return this.version;
+        }
+
+        public void stored(BigDecimal balance, long version) {
+            this.stored = balance;
+            this.version = version;
+        }
+
     }
 
     @FunctionalInterface
@@ -276,12 +646,16 @@ public final class SQLProvider implements EconomyStorageImplementation {
 
     private <T> T query(String key, Query<T> action) throws Exception {
         try(Connection connection = this.factory.connection()) {
-            try(PreparedStatement ps = connection.prepareStatement(this.processor.apply(key))) {
+            try(PreparedStatement ps = this.prepare(connection, key)) {
                 return action.prepare(connection, ps);
             }
         }
     }
 
+    private PreparedStatement prepare(Connection connection, String key) throws SQLException {
+        return connection.prepareStatement(this.statements.computeIfAbsent(key, this.processor));
+    }
+
     @FunctionalInterface
     private interface Results<T> {
         T results(ResultSet rs) throws Exception;
@@ -0,0 +1,259 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.economy.storage.journal;
+
+import net.impactdev.impactor.api.economy.accounts.Account;
+import net.impactdev.impactor.api.economy.transactions.details.EconomyResultType;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Tracks the latest known balance of every account, as of a checkpoint within the {@link TransactionJournal}.
+ * A snapshot is kept up to date by applying each record as it is journaled, and is periodically written
+ * to disk. On startup, the snapshot on disk plus a replay of the journal written after its checkpoint
+ * restores the balance of every account, without reading each account from the storage provider.
+ *
+ * <p>As each journal record carries the resulting balance of its account, applying a record is idempotent.
+ * This allows records written around the time a snapshot was taken to be safely replayed again.
+ */
+public final class BalanceSnapshot {
+
+    public static final String FILE_NAME = "snapshot.dat";
+    private static final int MAGIC = 0x49534E50;
+    private static final int VERSION = 1;
+
+    private final Map<Entry, Balance> balances = new ConcurrentHashMap<>();
+    private final @Nullable TransactionJournal.Checkpoint checkpoint;
+    private volatile boolean complete;
+
+    private BalanceSnapshot(@Nullable TransactionJournal.Checkpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        this.complete = checkpoint != null;
+    }
+
+    public static BalanceSnapshot empty() {
+        return new BalanceSnapshot(null);
+    }
+
+    /**
+     * Reads the snapshot at the given path. If no snapshot exists, or the snapshot fails validation,
+     * an empty snapshot without a checkpoint is returned instead.
+     *
+     * @param file The path of the snapshot
+     * @return The snapshot read from disk
+     * @throws IOException If the snapshot exists but fails to be read
+     */
+    @SuppressWarnings("PatternValidation")
+    public static BalanceSnapshot read(Path file) throws IOException {
+        if(!Files.exists(file)) {
+            return empty();
+        }
+
+        CRC32C checksum = new CRC32C();
+        try(InputStream stream = Files.newInputStream(file);
+            DataInputStream input = new DataInputStream(new CheckedInputStream(new BufferedInputStream(stream), checksum))
+        ) {
+            if(input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return empty();
+            }
+
+            BalanceSnapshot snapshot = new BalanceSnapshot(new TransactionJournal.Checkpoint(
+                    LocalDate.ofEpochDay(input.readLong()),
+                    input.readLong()
+            ));
+
+            int keys = input.readInt();
+            Key[] currencies = new Key[keys];
+            for(int i = 0; i < keys; i++) {
+                currencies[i] = Key.key(input.readUTF());
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2 + Integer.BYTES + Long.BYTES + 2);
+            int count = input.readInt();
+            for(int i = 0; i < count; i++) {
+                buffer.clear();
+                input.readFully(buffer.array());
+
+                UUID owner = new UUID(buffer.getLong(), buffer.getLong());
+                Key currency = currencies[buffer.getInt()];
+                BigDecimal balance = JournalRecord.readDecimal(buffer);
+                boolean virtual = buffer.get() == 1;
+
+                snapshot.balances.put(new Entry(owner, currency), new Balance(balance, virtual));
+            }
+
+            int expected = (int) checksum.getValue();
+            if(input.readInt() != expected) {
+                return empty();
+            }
+
+            return snapshot;
+        } catch (EOFException e) {
+            // A truncated snapshot is treated the same as one failing its checksum
+            return empty();
+        }
+    }
+
+    public @Nullable TransactionJournal.Checkpoint checkpoint() {
+        return this.checkpoint;
+    }
+
+    /**
+     * Indicates whether this snapshot holds the balance of every account, rather than only those
+     * changed since the journal was enabled. A snapshot is complete once it has been seeded from
+     * the storage provider, or if it was read from disk.
+     *
+     * @return True if every account is known to this snapshot
+     */
+    public boolean complete() {
+        return this.complete;
+    }
+
+    public void markComplete() {
+        this.complete = true;
+    }
+
+    public int size() {
+        return this.balances.size();
+    }
+
+    public @Nullable Balance balance(UUID owner, Key currency) {
+        return this.balances.get(new Entry(owner, currency));
+    }
+
+    /**
+     * Applies a journaled record to this snapshot. Only successful transactions affect the
+     * balance of an account.
+     */
+    public void apply(JournalRecord record) {
+        if(record.result() != EconomyResultType.SUCCESS) {
+            return;
+        }
+
+        Entry entry = new Entry(record.owner(), record.currency());
+        if(record.deleted()) {
+            this.balances.remove(entry);
+        } else {
+            this.balances.put(entry, new Balance(record.balance(), record.virtual()));
+        }
+    }
+
+    /**
+     * Records the balance of an account loaded from the storage provider, unless a balance
+     * is already known for the account. Balances known to the snapshot are always at least
+     * as recent as those held by the storage provider.
+     */
+    public void seed(Account account) {
+        this.balances.putIfAbsent(new Entry(account.owner(), account.currency().key()), new Balance(account.balance(), account.virtual()));
+    }
+
+    public void forEach(Key currency, BiConsumer<UUID, Balance> action) {
+        this.balances.forEach((entry, balance) -> {
+            if(entry.currency().equals(currency)) {
+                action.accept(entry.owner(), balance);
+            }
+        });
+    }
+
+    /**
+     * Writes the balances currently held by this snapshot to disk, marked with the given checkpoint.
+     * The snapshot is written to a temporary file before replacing any existing snapshot, such that
+     * a valid snapshot always exists on disk.
+     *
+     * @param file The path of the snapshot
+     * @param checkpoint The point in the journal all currently held balances reflect
+     * @throws IOException If the snapshot fails to be written
+     */
+    public void write(Path file, TransactionJournal.Checkpoint checkpoint) throws IOException {
+        Map<Entry, Balance> copy = Map.copyOf(this.balances);
+        Map<Key, Integer> currencies = new LinkedHashMap<>();
+        copy.keySet().forEach(entry -> currencies.putIfAbsent(entry.currency(), currencies.size()));
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        CRC32C checksum = new CRC32C();
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            DataOutputStream output = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)), checksum))
+        ) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(checkpoint.segment().toEpochDay());
+            output.writeLong(checkpoint.offset());
+
+            output.writeInt(currencies.size());
+            for(Key key : currencies.keySet()) {
+                output.writeUTF(key.asString());
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2 + Integer.BYTES + Long.BYTES + 2);
+            output.writeInt(copy.size());
+            for(Map.Entry<Entry, Balance> entry : copy.entrySet()) {
+                buffer.clear();
+                buffer.putLong(entry.getKey().owner().getMostSignificantBits());
+                buffer.putLong(entry.getKey().owner().getLeastSignificantBits());
+                buffer.putInt(currencies.get(entry.getKey().currency()));
+                JournalRecord.writeDecimal(buffer, entry.getValue().balance());
+                buffer.put((byte) (entry.getValue().virtual() ? 1 : 0));
+                output.write(buffer.array());
+            }
+
+            output.writeInt((int) checksum.getValue());
+            output.flush();
+            channel.force(true);
+        }
+
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public record Balance(BigDecimal balance, boolean virtual) {}
+
+    private record Entry(UUID owner, Key currency) {}
+
+}
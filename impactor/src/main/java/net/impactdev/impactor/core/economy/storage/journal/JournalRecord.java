@@ -0,0 +1,202 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.economy.storage.journal;
+
+import net.impactdev.impactor.api.economy.transactions.EconomyTransaction;
+import net.impactdev.impactor.api.economy.transactions.details.EconomyResultType;
+import net.impactdev.impactor.api.economy.transactions.details.EconomyTransactionType;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32C;
+
+/**
+ * Represents a single transaction as written to the {@link TransactionJournal}. Records are encoded
+ * with a fixed width, allowing any record within a segment to be located purely by its position.
+ *
+ * <pre>
+ * | Field     | Width | Encoding                                   |
+ * |-----------|-------|--------------------------------------------|
+ * | Owner     | 16    | Most significant bits, least significant   |
+ * | Currency  | 4     | ID assigned by the journal's dictionary    |
+ * | Amount    | 9     | Unscaled value (long), scale (byte)        |
+ * | Balance   | 9     | Unscaled value (long), scale (byte)        |
+ * | Type      | 1     | Ordinal of the transaction type            |
+ * | Result    | 1     | Ordinal of the transaction result          |
+ * | Flags     | 1     | Bit 0 if virtual, bit 1 if deleted         |
+ * | Timestamp | 8     | Epoch milliseconds                         |
+ * | Checksum  | 4     | CRC32C of all prior fields                 |
+ * </pre>
+ *
+ * @param owner The owner of the account the transaction was applied to
+ * @param currency The currency of the account
+ * @param amount The amount requested by the transaction
+ * @param balance The balance of the account once the transaction was applied
+ * @param type The type of transaction
+ * @param result The result of the transaction
+ * @param virtual Whether the account is virtual
+ * @param deleted Whether this record marks the deletion of the account, rather than a transaction
+ * @param timestamp The time the transaction took place
+ */
+public record JournalRecord(
+        UUID owner,
+        Key currency,
+        BigDecimal amount,
+        BigDecimal balance,
+        EconomyTransactionType type,
+        EconomyResultType result,
+        boolean virtual,
+        boolean deleted,
+        Instant timestamp
+) {
+
+    public static final int SIZE = 53;
+    private static final int CHECKSUM_OFFSET = SIZE - Integer.BYTES;
+    private static final byte VIRTUAL = 1;
+    private static final byte DELETED = 1 << 1;
+
+    private static final EconomyTransactionType[] TYPES = EconomyTransactionType.values();
+    private static final EconomyResultType[] RESULTS = EconomyResultType.values();
+
+    public static JournalRecord of(EconomyTransaction transaction) {
+        return new JournalRecord(
+                transaction.account().owner(),
+                transaction.currency().key(),
+                transaction.amount(),
+                transaction.account().balance(),
+                transaction.type(),
+                transaction.result(),
+                transaction.account().virtual(),
+                false,
+                transaction.timestamp()
+        );
+    }
+
+    /**
+     * Creates a record marking the deletion of an account. When replayed, any balance previously
+     * recorded for the account is discarded.
+     */
+    public static JournalRecord deletion(UUID owner, Key currency) {
+        return new JournalRecord(
+                owner,
+                currency,
+                BigDecimal.ZERO,
+                BigDecimal.ZERO,
+                EconomyTransactionType.RESET,
+                EconomyResultType.SUCCESS,
+                false,
+                true,
+                Instant.now()
+        );
+    }
+
+    void write(ByteBuffer buffer, int currency) {
+        int start = buffer.position();
+        buffer.putLong(this.owner.getMostSignificantBits());
+        buffer.putLong(this.owner.getLeastSignificantBits());
+        buffer.putInt(currency);
+        writeDecimal(buffer, this.amount);
+        writeDecimal(buffer, this.balance);
+        buffer.put((byte) this.type.ordinal());
+        buffer.put((byte) this.result.ordinal());
+        buffer.put((byte) ((this.virtual ? VIRTUAL : 0) | (this.deleted ? DELETED : 0)));
+        buffer.putLong(this.timestamp.toEpochMilli());
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(start, CHECKSUM_OFFSET));
+        buffer.putInt((int) checksum.getValue());
+    }
+
+    /**
+     * Reads the owner and currency ID of the record at the buffer's current position, without advancing it.
+     * This is used when indexing a segment, where the remainder of the record is not required.
+     */
+    static IndexKey key(ByteBuffer buffer) {
+        int start = buffer.position();
+        return new IndexKey(new UUID(buffer.getLong(start), buffer.getLong(start + 8)), buffer.getInt(start + 16));
+    }
+
+    /**
+     * Verifies the checksum of the record at the buffer's current position, without advancing it.
+     *
+     * @return True if the record was fully written and has not been corrupted
+     */
+    static boolean valid(ByteBuffer buffer) {
+        int start = buffer.position();
+        if(buffer.remaining() < SIZE) {
+            return false;
+        }
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(start, CHECKSUM_OFFSET));
+        return (int) checksum.getValue() == buffer.getInt(start + CHECKSUM_OFFSET);
+    }
+
+    static @Nullable JournalRecord read(ByteBuffer buffer, IntFunction<Key> currencies) {
+        if(!valid(buffer)) {
+            return null;
+        }
+
+        UUID owner = new UUID(buffer.getLong(), buffer.getLong());
+        Key currency = currencies.apply(buffer.getInt());
+        BigDecimal amount = readDecimal(buffer);
+        BigDecimal balance = readDecimal(buffer);
+        EconomyTransactionType type = TYPES[buffer.get()];
+        EconomyResultType result = RESULTS[buffer.get()];
+        byte flags = buffer.get();
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong());
+        buffer.getInt();
+
+        return new JournalRecord(owner, currency, amount, balance, type, result, (flags & VIRTUAL) != 0, (flags & DELETED) != 0, timestamp);
+    }
+
+    static void writeDecimal(ByteBuffer buffer, BigDecimal value) {
+        // Values are stored as a fixed width long and scale, so reduce precision until the
+        // value fits. In practice, this only affects values well beyond any sensible balance.
+        BigDecimal normalized = value.scale() > Byte.MAX_VALUE ? value.setScale(Byte.MAX_VALUE, RoundingMode.HALF_EVEN) : value;
+        while(normalized.unscaledValue().bitLength() >= Long.SIZE && normalized.scale() > Byte.MIN_VALUE) {
+            normalized = normalized.setScale(normalized.scale() - 1, RoundingMode.HALF_EVEN);
+        }
+
+        buffer.putLong(normalized.unscaledValue().longValue());
+        buffer.put((byte) normalized.scale());
+    }
+
+    static BigDecimal readDecimal(ByteBuffer buffer) {
+        long unscaled = buffer.getLong();
+        return new BigDecimal(BigInteger.valueOf(unscaled), buffer.get());
+    }
+
+    record IndexKey(UUID owner, int currency) {}
+
+}
@@ -0,0 +1,325 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.economy.storage.journal;
+
+import net.kyori.adventure.key.Key;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * A single day of the transaction journal. Each segment consists of a data file, holding the
+ * encoded records in the order they were written, and an index file mapping each account to the
+ * offsets of its records within the data file.
+ *
+ * <p>The index is only written when a segment is sealed. If the index is missing, or does not
+ * describe the full data file, the data file is rescanned on open. Any partially written or corrupted
+ * records at the tail of the file are discarded at this point.
+ */
+final class JournalSegment {
+
+    static final String DATA_EXTENSION = ".journal";
+    private static final String INDEX_EXTENSION = ".index";
+    private static final int INDEX_MAGIC = 0x494A4958;
+    private static final int SCAN_BATCH = 1024;
+
+    private final LocalDate date;
+    private final Path data;
+    private final Path index;
+    private final Map<JournalRecord.IndexKey, Offsets> offsets = new HashMap<>();
+
+    private FileChannel channel;
+    private long length;
+
+    private JournalSegment(LocalDate date, Path data) {
+        this.date = date;
+        this.data = data;
+        this.index = data.resolveSibling(date + INDEX_EXTENSION);
+    }
+
+    static Path path(Path root, LocalDate date) {
+        return root.resolve(date + DATA_EXTENSION);
+    }
+
+    /**
+     * Opens the segment for the given day. A writable segment will have any invalid tail truncated,
+     * and is positioned such that new records are appended after the last valid record.
+     */
+    static JournalSegment open(Path root, LocalDate date, boolean writable) throws IOException {
+        JournalSegment segment = new JournalSegment(date, path(root, date));
+        if(writable) {
+            segment.channel = FileChannel.open(segment.data, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        long size = Files.exists(segment.data) ? Files.size(segment.data) : 0;
+        if(!segment.loadIndex(size)) {
+            segment.scan();
+            if(writable && segment.length < size) {
+                segment.channel.truncate(segment.length);
+                segment.channel.force(true);
+            }
+        }
+
+        if(writable) {
+            // A writable segment will be appended to, so its index on disk can no longer be trusted
+            Files.deleteIfExists(segment.index);
+            segment.channel.position(segment.length);
+        }
+
+        return segment;
+    }
+
+    static void delete(Path root, LocalDate date) throws IOException {
+        Files.deleteIfExists(path(root, date));
+        Files.deleteIfExists(root.resolve(date + INDEX_EXTENSION));
+    }
+
+    LocalDate date() {
+        return this.date;
+    }
+
+    long length() {
+        return this.length;
+    }
+
+    /**
+     * Writes the encoded records held by the buffer to the end of the segment, without forcing them
+     * to disk. The buffer is expected to contain only complete records.
+     */
+    synchronized void write(ByteBuffer buffer) throws IOException {
+        long position = this.length;
+        for(int offset = buffer.position(); offset < buffer.limit(); offset += JournalRecord.SIZE) {
+            JournalRecord.IndexKey key = JournalRecord.key(buffer.slice(offset, JournalRecord.SIZE));
+            this.offsets.computeIfAbsent(key, k -> new Offsets()).add(position + (offset - buffer.position()));
+        }
+
+        long written = buffer.remaining();
+        while(buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+        this.length += written;
+    }
+
+    void force() throws IOException {
+        this.channel.force(false);
+    }
+
+    /**
+     * Reads every record held within this segment for the given account, in the order they were written.
+     */
+    List<JournalRecord> read(UUID owner, int currency, IntFunction<Key> currencies) throws IOException {
+        long[] positions;
+        synchronized (this) {
+            Offsets offsets = this.offsets.get(new JournalRecord.IndexKey(owner, currency));
+            if(offsets == null) {
+                return List.of();
+            }
+
+            positions = offsets.snapshot();
+        }
+
+        List<JournalRecord> results = new ArrayList<>(positions.length);
+        try(FileChannel reader = FileChannel.open(this.data, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(JournalRecord.SIZE);
+            for(long position : positions) {
+                buffer.clear();
+                readFully(reader, buffer, position);
+
+                JournalRecord record = JournalRecord.read(buffer, currencies);
+                if(record != null) {
+                    results.add(record);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Writes the index for this segment and releases its file handle. Once sealed, no further
+     * records may be written to the segment.
+     */
+    synchronized void seal() throws IOException {
+        if(this.channel != null) {
+            this.channel.force(true);
+            this.channel.close();
+            this.channel = null;
+        }
+
+        int size = Integer.BYTES * 2 + Long.BYTES;
+        for(Offsets offsets : this.offsets.values()) {
+            size += Long.BYTES * 2 + Integer.BYTES * 2 + Long.BYTES * offsets.size;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(INDEX_MAGIC);
+        buffer.putLong(this.length);
+        buffer.putInt(this.offsets.size());
+        this.offsets.forEach((key, offsets) -> {
+            buffer.putLong(key.owner().getMostSignificantBits());
+            buffer.putLong(key.owner().getLeastSignificantBits());
+            buffer.putInt(key.currency());
+            buffer.putInt(offsets.size);
+            for(int i = 0; i < offsets.size; i++) {
+                buffer.putLong(offsets.values[i]);
+            }
+        });
+        buffer.flip();
+
+        Path temporary = this.index.resolveSibling(this.index.getFileName() + ".tmp");
+        try(FileChannel writer = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining()) {
+                writer.write(buffer);
+            }
+            writer.force(true);
+        }
+        Files.move(temporary, this.index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private boolean loadIndex(long size) throws IOException {
+        if(!Files.exists(this.index)) {
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(this.index));
+        try {
+            if(buffer.getInt() != INDEX_MAGIC || buffer.getLong() != size) {
+                return false;
+            }
+
+            int entries = buffer.getInt();
+            for(int i = 0; i < entries; i++) {
+                JournalRecord.IndexKey key = new JournalRecord.IndexKey(new UUID(buffer.getLong(), buffer.getLong()), buffer.getInt());
+                int count = buffer.getInt();
+                Offsets offsets = new Offsets(count);
+                for(int j = 0; j < count; j++) {
+                    offsets.add(buffer.getLong());
+                }
+                this.offsets.put(key, offsets);
+            }
+
+            this.length = size;
+            return true;
+        } catch (RuntimeException e) {
+            // A truncated or otherwise malformed index is simply rebuilt from the data file
+            this.offsets.clear();
+            return false;
+        }
+    }
+
+    private void scan() throws IOException {
+        this.offsets.clear();
+        this.length = 0;
+        if(!Files.exists(this.data)) {
+            return;
+        }
+
+        try(FileChannel reader = FileChannel.open(this.data, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(JournalRecord.SIZE * SCAN_BATCH);
+            long position = 0;
+            while(true) {
+                buffer.clear();
+                readFully(reader, buffer, position);
+
+                int records = 0;
+                while(buffer.remaining() >= JournalRecord.SIZE) {
+                    if(!JournalRecord.valid(buffer)) {
+                        this.length = position + (long) records * JournalRecord.SIZE;
+                        return;
+                    }
+
+                    JournalRecord.IndexKey key = JournalRecord.key(buffer);
+                    this.offsets.computeIfAbsent(key, k -> new Offsets()).add(position + (long) records * JournalRecord.SIZE);
+                    buffer.position(buffer.position() + JournalRecord.SIZE);
+                    records++;
+                }
+
+                position += (long) records * JournalRecord.SIZE;
+                this.length = position;
+                if(buffer.hasRemaining() || records < SCAN_BATCH) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills the buffer from the given position of the channel, stopping early only if the end of the
+     * channel is reached. The buffer is flipped, ready to be read, once complete.
+     */
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, position + buffer.position()) <= 0) {
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * A growable list of primitive record offsets, avoiding boxing for accounts with
+     * a large number of transactions within a single day.
+     */
+    private static final class Offsets {
+
+        private long[] values;
+        private int size;
+
+        Offsets() {
+            this(4);
+        }
+
+        Offsets(int capacity) {
+            this.values = new long[Math.max(1, capacity)];
+        }
+
+        void add(long value) {
+            if(this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        long[] snapshot() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+
+    }
+
+}
@@ -0,0 +1,441 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.economy.storage.journal;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import net.impactdev.impactor.api.utility.ExceptionPrinter;
+import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * An append-only, binary log of every economy transaction. Records are written to one segment per day
+ * by a dedicated writer thread, which drains all pending records at once and forces them to disk with
+ * a single sync. The futures returned by {@link #append(JournalRecord)} complete only once their record
+ * has been made durable.
+ *
+ * <p>Currency keys are stored once within a dictionary file, with records referencing them by ID,
+ * allowing each record to be encoded with a fixed width.
+ */
+public final class TransactionJournal implements AutoCloseable {
+
+    private static final String DICTIONARY = "currencies.dat";
+    private static final int MAX_BATCH = 4096;
+    private static final Pending SHUTDOWN = new Pending(null, null, null);
+
+    private final Path root;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Map<Key, Integer> ids = new ConcurrentHashMap<>();
+    private final List<Key> keys = new CopyOnWriteArrayList<>();
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final LoadingCache<LocalDate, JournalSegment> sealed;
+    private final Thread writer;
+
+    private volatile JournalSegment active;
+    private volatile boolean closed;
+
+    private TransactionJournal(Path root) {
+        this.root = root;
+        this.sealed = Caffeine.newBuilder()
+                .maximumSize(7)
+                .build(date -> JournalSegment.open(this.root, date, false));
+        this.writer = new Thread(this::drain, "Impactor Economy Journal");
+        this.writer.setDaemon(true);
+    }
+
+    public static TransactionJournal open(Path root) throws IOException {
+        Files.createDirectories(root);
+
+        TransactionJournal journal = new TransactionJournal(root);
+        journal.readDictionary();
+        journal.active = JournalSegment.open(root, LocalDate.now(journal.zone), true);
+        journal.writer.start();
+
+        return journal;
+    }
+
+    /**
+     * Queues a record to be written to the journal. Records are written in the order this method
+     * is invoked, so callers wishing to preserve ordering for an account should append while holding
+     * whatever lock guards that account.
+     *
+     * @param record The record to write
+     * @return A future completing once the record has been forced to disk
+     */
+    public CompletableFuture<Void> append(JournalRecord record) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this.queue) {
+            if(this.closed) {
+                future.completeExceptionally(new IllegalStateException("Journal is closed"));
+                return future;
+            }
+
+            this.queue.add(new Pending(record, future, null));
+        }
+        return future;
+    }
+
+    /**
+     * Marks the current end of the journal. The returned checkpoint covers every record appended
+     * before this call, and completes once all of those records have been forced to disk.
+     *
+     * @return A future supplying the position directly following the last appended record
+     */
+    public CompletableFuture<Checkpoint> checkpoint() {
+        CompletableFuture<Checkpoint> future = new CompletableFuture<>();
+        synchronized (this.queue) {
+            if(this.closed) {
+                future.completeExceptionally(new IllegalStateException("Journal is closed"));
+                return future;
+            }
+
+            this.queue.add(new Pending(null, null, future));
+        }
+        return future;
+    }
+
+    /**
+     * Reads every record written after the given checkpoint, in the order they were written. Reading
+     * of a segment stops at the first record failing validation, as this can only be the result
+     * of a write interrupted by a crash.
+     *
+     * @param from The checkpoint to begin reading from
+     * @param consumer The action to perform on each record
+     * @return The number of records read
+     * @throws IOException If a segment fails to be read
+     */
+    public long replay(Checkpoint from, Consumer<JournalRecord> consumer) throws IOException {
+        long count = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecord.SIZE * MAX_BATCH);
+        for(LocalDate date : this.segments(from.segment())) {
+            long position = date.equals(from.segment()) ? from.offset() : 0;
+            try(FileChannel reader = FileChannel.open(JournalSegment.path(this.root, date), StandardOpenOption.READ)) {
+                boolean reading = true;
+                while(reading) {
+                    buffer.clear();
+                    JournalSegment.readFully(reader, buffer, position);
+                    reading = buffer.remaining() == buffer.capacity();
+
+                    while(buffer.remaining() >= JournalRecord.SIZE) {
+                        JournalRecord record = JournalRecord.read(buffer, this.keys::get);
+                        if(record == null) {
+                            reading = false;
+                            break;
+                        }
+
+                        consumer.accept(record);
+                        position += JournalRecord.SIZE;
+                        count++;
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Deletes every segment for days prior to the given date. The active segment is never deleted.
+     *
+     * @param before The earliest day of any segment to retain
+     * @throws IOException If a segment fails to be deleted
+     */
+    public void prune(LocalDate before) throws IOException {
+        for(LocalDate date : this.segments(LocalDate.MIN)) {
+            if(!date.isBefore(before) || !date.isBefore(this.active.date())) {
+                break;
+            }
+
+            this.sealed.invalidate(date);
+            JournalSegment.delete(this.root, date);
+        }
+    }
+
+    /**
+     * Reads every record written for the given account at or after the specified time, in the order
+     * they were written. Only the segments covering the requested window are consulted, and only
+     * the records belonging to the account are read from each.
+     *
+     * @param owner The owner of the account
+     * @param currency The currency of the account
+     * @param since The earliest time of any record to return
+     * @return Every matching record
+     * @throws IOException If a segment fails to be read
+     */
+    public List<JournalRecord> history(UUID owner, Key currency, Instant since) throws IOException {
+        Integer id = this.ids.get(currency);
+        if(id == null) {
+            return List.of();
+        }
+
+        List<JournalRecord> results = new ArrayList<>();
+        for(LocalDate date : this.segments(LocalDate.ofInstant(since, this.zone))) {
+            JournalSegment active = this.active;
+            JournalSegment segment = date.equals(active.date()) ? active : this.sealed(date);
+            for(JournalRecord record : segment.read(owner, id, this.keys::get)) {
+                if(!record.timestamp().isBefore(since)) {
+                    results.add(record);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Stops accepting new records, waits for all pending records to be written, and seals
+     * the active segment.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this.queue) {
+            if(this.closed) {
+                return;
+            }
+
+            this.closed = true;
+            this.queue.add(SHUTDOWN);
+        }
+
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.active.seal();
+        this.sealed.invalidateAll();
+    }
+
+    private List<LocalDate> segments(LocalDate from) throws IOException {
+        List<LocalDate> dates = new ArrayList<>();
+        try(var files = Files.list(this.root)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(JournalSegment.DATA_EXTENSION))
+                    .map(name -> LocalDate.parse(name.substring(0, name.length() - JournalSegment.DATA_EXTENSION.length())))
+                    .filter(date -> !date.isBefore(from))
+                    .sorted()
+                    .forEach(dates::add);
+        }
+
+        return dates;
+    }
+
+    private JournalSegment sealed(LocalDate date) throws IOException {
+        try {
+            return this.sealed.get(date);
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecord.SIZE * MAX_BATCH);
+        boolean running = true;
+
+        while(running) {
+            try {
+                batch.add(this.queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            this.queue.drainTo(batch, MAX_BATCH - 1);
+
+            if(batch.removeIf(pending -> pending == SHUTDOWN)) {
+                running = false;
+                // Anything queued before shutdown was requested must still be written
+                this.queue.drainTo(batch);
+                batch.removeIf(pending -> pending == SHUTDOWN);
+            }
+
+            Map<Pending, Checkpoint> checkpoints = new HashMap<>();
+            try {
+                this.write(batch, buffer, checkpoints);
+                batch.forEach(pending -> pending.complete(checkpoints.get(pending)));
+            } catch (Exception e) {
+                ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
+                batch.forEach(pending -> pending.fail(e));
+            }
+
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch, ByteBuffer buffer, Map<Pending, Checkpoint> checkpoints) throws IOException {
+        buffer.clear();
+        for(Pending pending : batch) {
+            JournalRecord record = pending.record();
+            if(record == null) {
+                this.flip(buffer);
+                checkpoints.put(pending, new Checkpoint(this.active.date(), this.active.length()));
+                continue;
+            }
+
+            LocalDate date = LocalDate.ofInstant(record.timestamp(), this.zone);
+            if(date.isAfter(this.active.date())) {
+                this.flip(buffer);
+                this.rotate(date);
+            }
+
+            if(!buffer.hasRemaining()) {
+                this.flip(buffer);
+            }
+            record.write(buffer, this.id(record.currency()));
+        }
+
+        this.flip(buffer);
+        this.active.force();
+    }
+
+    private void flip(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        if(buffer.hasRemaining()) {
+            this.active.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void rotate(LocalDate date) throws IOException {
+        JournalSegment previous = this.active;
+        this.active = JournalSegment.open(this.root, date, true);
+        this.sealed.invalidate(date);
+        previous.seal();
+    }
+
+    private int id(Key currency) throws IOException {
+        Integer id = this.ids.get(currency);
+        if(id != null) {
+            return id;
+        }
+
+        Files.writeString(
+                this.root.resolve(DICTIONARY),
+                currency.asString() + System.lineSeparator(),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC
+        );
+
+        int assigned = this.keys.size();
+        this.keys.add(currency);
+        this.ids.put(currency, assigned);
+        return assigned;
+    }
+
+    @SuppressWarnings("PatternValidation")
+    private void readDictionary() throws IOException {
+        Path dictionary = this.root.resolve(DICTIONARY);
+        if(!Files.exists(dictionary)) {
+            return;
+        }
+
+        for(String line : Files.readAllLines(dictionary, StandardCharsets.UTF_8)) {
+            if(line.isBlank()) {
+                continue;
+            }
+
+            Key key = Key.key(line.trim());
+            this.ids.put(key, this.keys.size());
+            this.keys.add(key);
+        }
+    }
+
+    /**
+     * A position within the journal, identified by the segment and the offset within that segment.
+     *
+     * @param segment The day of the segment
+     * @param offset The offset in bytes within the segment
+     */
+    public record Checkpoint(LocalDate segment, long offset) {
+
+        /**
+         * A checkpoint preceding every record in the journal.
+         */
+        public static final Checkpoint START = new Checkpoint(LocalDate.MIN, 0);
+
+    }
+
+    /**
+     * An entry queued for the writer thread, either a record to append or a request for a checkpoint.
+     */
+    private record Pending(
+            @Nullable JournalRecord record,
+            @Nullable CompletableFuture<Void> appended,
+            @Nullable CompletableFuture<Checkpoint> checkpoint
+    ) {
+
+        void complete(@Nullable Checkpoint position) {
+            if(this.appended != null) {
+                this.appended.complete(null);
+            }
+
+            if(this.checkpoint != null) {
+                this.checkpoint.complete(position);
+            }
+        }
+
+        void fail(Throwable error) {
+            if(this.appended != null) {
+                this.appended.completeExceptionally(error);
+            }
+
+            if(this.checkpoint != null) {
+                this.checkpoint.completeExceptionally(error);
+            }
+        }
+
+    }
+
+}
@@ -32,6 +32,7 @@ import net.impactdev.impactor.api.mail.MailService;
 import net.impactdev.impactor.api.mail.events.SendMailEvent;
 import net.impactdev.impactor.api.mail.filters.MailFilter;
 import net.impactdev.impactor.api.storage.StorageType;
+import net.impactdev.impactor.core.mail.storage.InboxSummary;
 import net.impactdev.impactor.core.mail.storage.MailStorage;
 import net.impactdev.impactor.core.mail.storage.MailStorageFactory;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
@@ -44,7 +45,6 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 
 public final class ImpactorMailService implements MailService {
 
@@ -67,7 +67,28 @@ public final class ImpactorMailService implements MailService {
 
     @Override
     public CompletableFuture<List<MailMessage>> inbox(@NotNull UUID target) {
-        return this.storage.mail(target).orTimeout(5, TimeUnit.SECONDS);
+        return this.storage.mail(target);
+    }
+
+    /**
+     * Fetches a single page of the target's inbox, in the order messages were received. Only the
+     * messages on the page are loaded, and these are marked as read.
+     *
+     * @param target The owner of the inbox
+     * @param page The zero-based page to fetch
+     * @param size The number of messages per page
+     * @return The messages on the requested page
+     */
+    public CompletableFuture<List<MailMessage>> inbox(@NotNull UUID target, int page, int size) {
+        return this.storage.mail(target, page, size);
+    }
+
+    /**
+     * Counts the messages within the target's inbox, along with how many have yet to be read,
+     * without loading the messages themselves.
+     */
+    public CompletableFuture<InboxSummary> summary(@NotNull UUID target) {
+        return this.storage.summary(target);
     }
 
     @Override
@@ -25,13 +25,14 @@
 
 package net.impactdev.impactor.core.mail.storage;
 
-import net.impactdev.impactor.api.Impactor;
 import net.impactdev.impactor.api.mail.MailMessage;
 import net.impactdev.impactor.api.mail.filters.MailFilter;
 import net.impactdev.impactor.api.storage.Storage;
 import net.impactdev.impactor.api.utility.ExceptionPrinter;
 import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
+import net.impactdev.impactor.core.utility.future.Futures;
 import net.impactdev.impactor.core.utility.future.ThrowingRunnable;
 import net.impactdev.impactor.core.utility.future.ThrowingSupplier;
 import net.kyori.adventure.util.TriState;
@@ -66,7 +67,15 @@ public final class MailStorage implements Storage {
     }
 
     public CompletableFuture<List<MailMessage>> mail(UUID target) {
-        return supply(() -> this.implementation.mail(target)).orTimeout(5, TimeUnit.SECONDS);
+        return Futures.orTimeout(supply(() -> this.implementation.mail(target)), 5, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<List<MailMessage>> mail(UUID target, int page, int size) {
+        return Futures.orTimeout(supply(() -> this.implementation.mail(target, page, size)), 5, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<InboxSummary> summary(UUID target) {
+        return supply(() -> this.implementation.summary(target));
     }
 
     public CompletableFuture<Boolean> send(UUID target, MailMessage message) {
@@ -92,7 +101,7 @@ public final class MailStorage implements Storage {
                 }
                 throw new CompletionException(e);
             }
-        }, Impactor.instance().scheduler().async());
+        }, ExecutorLanes.instance().blocking());
     }
 
     private static <T> CompletableFuture<T> supply(ThrowingSupplier<T> supplier) {
@@ -106,6 +115,6 @@ public final class MailStorage implements Storage {
                 }
                 throw new CompletionException(e);
             }
-        }, Impactor.instance().scheduler().async());
+        }, ExecutorLanes.instance().blocking());
     }
 }
@@ -30,7 +30,7 @@ import net.impactdev.impactor.api.storage.StorageType;
 import net.impactdev.impactor.api.storage.connection.configurate.loaders.HoconLoader;
 import net.impactdev.impactor.api.storage.connection.configurate.loaders.JsonLoader;
 import net.impactdev.impactor.api.storage.connection.configurate.loaders.YamlLoader;
-import net.impactdev.impactor.core.mail.storage.implementations.MailConfigurateProvider;
+import net.impactdev.impactor.core.mail.storage.implementations.MailLogProvider;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -47,13 +47,13 @@ public final class MailStorageFactory {
     private static MailStorageImplementation createNewImplementation(StorageType type) {
         switch (type) {
             case JSON -> {
-                return new MailConfigurateProvider(new JsonLoader());
+                return new MailLogProvider(new JsonLoader());
             }
             case YAML -> {
-                return new MailConfigurateProvider(new YamlLoader());
+                return new MailLogProvider(new YamlLoader());
             }
             case HOCON -> {
-                return new MailConfigurateProvider(new HoconLoader());
+                return new MailLogProvider(new HoconLoader());
             }
         }
 
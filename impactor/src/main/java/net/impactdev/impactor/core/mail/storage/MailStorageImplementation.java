@@ -37,6 +37,29 @@ public interface MailStorageImplementation extends StorageConnection {
 
     List<MailMessage> mail(UUID target) throws Exception;
 
+    /**
+     * Fetches a single page of the target's inbox, in the order messages were received.
+     *
+     * @param target The owner of the inbox
+     * @param page The zero-based page to fetch
+     * @param size The number of messages per page
+     * @return The messages on the requested page
+     */
+    default List<MailMessage> mail(UUID target, int page, int size) throws Exception {
+        List<MailMessage> inbox = this.mail(target);
+        int from = (int) Math.min(inbox.size(), (long) page * size);
+        return inbox.subList(from, Math.min(inbox.size(), from + size));
+    }
+
+    /**
+     * Counts the messages held by the target's inbox. Implementations which don't track whether
+     * a message has been read report every message as unread.
+     */
+    default InboxSummary summary(UUID target) throws Exception {
+        int messages = this.mail(target).size();
+        return new InboxSummary(messages, messages);
+    }
+
     boolean append(UUID target, MailMessage message) throws Exception;
 
     TriState delete(UUID target, MailMessage message) throws Exception;
@@ -67,8 +67,12 @@ public final class MailConfigurateProvider implements MailStorageImplementation
     private final LoadingCache<Path, ReentrantLock> ioLocks;
 
     public MailConfigurateProvider(@NotNull final ConfigurateLoader loader) {
+        this(loader, Paths.get("config").resolve("impactor").resolve("mail").resolve("users"));
+    }
+
+    public MailConfigurateProvider(@NotNull final ConfigurateLoader loader, @NotNull final Path root) {
         this.loader = loader;
-        this.root = Paths.get("config").resolve("impactor").resolve("mail").resolve("users");
+        this.root = root;
         this.ioLocks = Caffeine.newBuilder()
                 .expireAfterAccess(10, TimeUnit.MINUTES)
                 .build(key -> new ReentrantLock());
@@ -171,6 +175,15 @@ public final class MailConfigurateProvider implements MailStorageImplementation
         return TriState.byBoolean(!failed);
     }
 
+    /**
+     * Indicates whether any mail has been stored for the target in this layout, without creating
+     * their inbox as a side effect.
+     */
+    public boolean exists(UUID target) {
+        String id = target.toString();
+        return Files.isDirectory(this.root.resolve(id.substring(0, 2)).resolve(id));
+    }
+
     private Optional<MailMessage> readMessage(Path path) {
         if(path.toFile().exists()) {
             ReentrantLock lock = Objects.requireNonNull(this.ioLocks.get(path));
@@ -0,0 +1,519 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.mail.storage.implementations;
+
+import net.impactdev.impactor.api.mail.MailMessage;
+import net.impactdev.impactor.core.mail.ImpactorMailMessage;
+import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The inbox of a single user, stored as an append-only log of records alongside an index of the
+ * messages it holds.
+ *
+ * <p>The log holds a record for each message appended, deleted or read. The index of live messages,
+ * their metadata and the position of their content within the log is kept in memory, so listing,
+ * paging and counting messages never deserializes their content. Only the messages actually
+ * requested are read back from the log.
+ *
+ * <p>A snapshot of the index is written alongside the log, such that opening an inbox only needs
+ * to replay the records appended since. Once the log mostly holds records superseded by later ones,
+ * it is compacted to the live messages alone.
+ *
+ * <p>A record of the log is laid out as follows, with the content stored as JSON:
+ * <pre>
+ * append: 1 | uuid | flags | [sender] | seconds | nanos | length | content
+ * delete: 2 | uuid
+ * read:   3 | uuid
+ * </pre>
+ */
+final class MailInbox {
+
+    private static final byte APPEND = 1;
+    private static final byte DELETE = 2;
+    private static final byte READ = 3;
+
+    private static final byte SENDER = 1;
+    private static final byte SEEN = 1 << 1;
+
+    /** op, uuid, flags, sender, seconds, nanos, length */
+    private static final int MAX_HEADER = 1 + 16 + 1 + 16 + 8 + 4 + 4;
+    private static final long INCOMPLETE = -1;
+    private static final long CORRUPT = -2;
+    private static final int INDEX_VERSION = 1;
+    private static final int REPLAY_THRESHOLD = 64;
+    private static final int COMPACTION_THRESHOLD = 32;
+
+    private final Path log;
+    private final Path index;
+
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>();
+    private long length;
+    private int superseded;
+
+    MailInbox(Path log, Path index) throws IOException {
+        this.log = log;
+        this.index = index;
+        this.load();
+    }
+
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    synchronized int unread() {
+        int unread = 0;
+        for(Entry entry : this.entries.values()) {
+            if(!entry.read) {
+                unread++;
+            }
+        }
+
+        return unread;
+    }
+
+    /**
+     * Reads the messages within the given range of the inbox, in the order they were received.
+     *
+     * @param from The index of the first message to read
+     * @param limit The maximum number of messages to read
+     * @param mark Whether messages read should be marked as read
+     * @return The messages within the range
+     */
+    synchronized List<MailMessage> read(int from, int limit, boolean mark) throws IOException {
+        List<Entry> window = this.entries.values().stream().skip(from).limit(limit).toList();
+        if(window.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<MailMessage> messages = new ArrayList<>(window.size());
+        try (FileChannel channel = FileChannel.open(this.log, StandardOpenOption.READ)) {
+            for(Entry entry : window) {
+                String json = new String(this.payload(channel, entry), StandardCharsets.UTF_8);
+                Component content = GsonComponentSerializer.gson().deserialize(json);
+                messages.add(new ImpactorMailMessage(entry.uuid, entry.sender, content, entry.timestamp));
+            }
+        }
+
+        if(mark) {
+            List<Entry> unread = window.stream().filter(entry -> !entry.read).toList();
+            if(!unread.isEmpty()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(unread.size() * 17);
+                DataOutputStream out = new DataOutputStream(bytes);
+                for(Entry entry : unread) {
+                    this.writeMarker(out, READ, entry.uuid);
+                    entry.read = true;
+                }
+
+                this.write(bytes.toByteArray());
+                this.superseded += unread.size();
+            }
+        }
+
+        return messages;
+    }
+
+    /**
+     * Appends the messages to the inbox within a single write to its log.
+     */
+    synchronized void append(List<? extends MailMessage> messages) throws IOException {
+        if(messages.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        List<Entry> appended = new ArrayList<>(messages.size());
+        for(MailMessage message : messages) {
+            byte[] payload = GsonComponentSerializer.gson().serialize(message.content()).getBytes(StandardCharsets.UTF_8);
+            long offset = this.length + this.writeAppend(out, message.uuid(), message.source().orElse(null), message.timestamp(), payload, false);
+            appended.add(new Entry(message.uuid(), message.source().orElse(null), message.timestamp(), offset, payload.length, false));
+        }
+
+        this.write(bytes.toByteArray());
+        for(Entry entry : appended) {
+            if(this.entries.put(entry.uuid, entry) != null) {
+                this.superseded++;
+            }
+        }
+    }
+
+    /**
+     * Deletes the given messages from the inbox, writing each deletion to the log within a single write.
+     *
+     * @return The number of messages deleted
+     */
+    synchronized int delete(Collection<UUID> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        int deleted = 0;
+        for(UUID uuid : messages) {
+            Entry entry = this.entries.remove(uuid);
+            if(entry != null) {
+                this.writeMarker(out, DELETE, uuid);
+                this.superseded += entry.read ? 3 : 2;
+                deleted++;
+            }
+        }
+
+        if(deleted == 0) {
+            return 0;
+        }
+
+        if(this.entries.isEmpty()) {
+            this.clear();
+            return deleted;
+        }
+
+        this.write(bytes.toByteArray());
+        if(this.superseded >= COMPACTION_THRESHOLD && this.superseded > this.entries.size()) {
+            this.compact();
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Deletes every message of the inbox, along with its files.
+     */
+    synchronized void clear() throws IOException {
+        this.entries.clear();
+        this.length = 0;
+        this.superseded = 0;
+
+        Files.deleteIfExists(this.log);
+        Files.deleteIfExists(this.index);
+    }
+
+    private void load() throws IOException {
+        if(!Files.exists(this.log)) {
+            Files.deleteIfExists(this.index);
+            return;
+        }
+
+        long size = Files.size(this.log);
+        long position = this.readIndex(size);
+
+        int replayed = 0;
+        boolean corrupt = false;
+        try (FileChannel channel = FileChannel.open(this.log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(MAX_HEADER);
+            while(position < size) {
+                long next = this.replay(channel, header, position, size);
+                if(next == INCOMPLETE) {
+                    // A record cut short, most likely by a crash mid-write, so the log ends at the last complete record
+                    BaseImpactorPlugin.instance().logger().warn("Discarding incomplete mail record at the end of " + this.log.getFileName());
+                    channel.truncate(position);
+                    size = position;
+                    break;
+                } else if(next == CORRUPT) {
+                    BaseImpactorPlugin.instance().logger().severe("Unreadable mail record at position " + position + " of " + this.log.getFileName() + ", skipping the rest of the log");
+                    corrupt = true;
+                    break;
+                }
+
+                position = next;
+                replayed++;
+            }
+        }
+
+        this.length = size;
+        if(corrupt) {
+            // Unlike a record cut short, unreadable data can't be proven to be disposable, so the log is kept
+            // aside for inspection while the inbox continues from the messages which could be read
+            Files.copy(this.log, this.log.resolveSibling(this.log.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            this.compact();
+        } else if(replayed > REPLAY_THRESHOLD) {
+            this.writeIndex();
+        }
+    }
+
+    /**
+     * Applies the record at the given position of the log to the index.
+     *
+     * @return The position of the next record, {@link #INCOMPLETE} if the record runs past the end of the log,
+     *         or {@link #CORRUPT} if it can't be read
+     */
+    private long replay(FileChannel channel, ByteBuffer header, long position, long size) throws IOException {
+        header.clear();
+        while(header.hasRemaining()) {
+            if(channel.read(header, position + header.position()) < 0) {
+                break;
+            }
+        }
+        header.flip();
+
+        if(header.remaining() < 17) {
+            return INCOMPLETE;
+        }
+
+        byte op = header.get();
+        UUID uuid = new UUID(header.getLong(), header.getLong());
+        if(op == DELETE) {
+            Entry entry = this.entries.remove(uuid);
+            this.superseded += entry == null ? 1 : entry.read ? 3 : 2;
+            return position + 17;
+        } else if(op == READ) {
+            Entry entry = this.entries.get(uuid);
+            if(entry != null) {
+                entry.read = true;
+            }
+            this.superseded++;
+            return position + 17;
+        } else if(op != APPEND) {
+            return CORRUPT;
+        } else if(header.remaining() < 1) {
+            return INCOMPLETE;
+        }
+
+        byte flags = header.get();
+        UUID sender = null;
+        if((flags & SENDER) != 0) {
+            if(header.remaining() < 16) {
+                return INCOMPLETE;
+            }
+            sender = new UUID(header.getLong(), header.getLong());
+        }
+
+        if(header.remaining() < 16) {
+            return INCOMPLETE;
+        }
+
+        Instant timestamp = Instant.ofEpochSecond(header.getLong(), header.getInt());
+        int length = header.getInt();
+        long offset = position + header.position();
+        if(length < 0) {
+            return CORRUPT;
+        } else if(offset + length > size) {
+            return INCOMPLETE;
+        }
+
+        if(this.entries.put(uuid, new Entry(uuid, sender, timestamp, offset, length, (flags & SEEN) != 0)) != null) {
+            this.superseded++;
+        }
+        return offset + length;
+    }
+
+    /**
+     * Rewrites the log with only the messages still in the inbox.
+     */
+    private void compact() throws IOException {
+        Path compacted = this.log.resolveSibling(this.log.getFileName() + ".tmp");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        List<Entry> rewritten = new ArrayList<>(this.entries.size());
+        try (FileChannel channel = FileChannel.open(this.log, StandardOpenOption.READ)) {
+            for(Entry entry : this.entries.values()) {
+                byte[] payload = this.payload(channel, entry);
+                long offset = this.writeAppend(out, entry.uuid, entry.sender, entry.timestamp, payload, entry.read);
+                rewritten.add(new Entry(entry.uuid, entry.sender, entry.timestamp, offset, payload.length, entry.read));
+            }
+        }
+
+        Files.write(compacted, bytes.toByteArray());
+
+        // The index describes the log being replaced, so it must never outlive it, even should the server stop
+        // before the index of the compacted log is written
+        Files.deleteIfExists(this.index);
+        Files.move(compacted, this.log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        this.entries.clear();
+        rewritten.forEach(entry -> this.entries.put(entry.uuid, entry));
+        this.length = bytes.size();
+        this.superseded = 0;
+        this.writeIndex();
+    }
+
+    /**
+     * Loads the snapshot of the index, should one exist which matches the log.
+     *
+     * @return The position of the log the snapshot covers, from which records must be replayed
+     */
+    private long readIndex(long size) {
+        if(!Files.exists(this.index)) {
+            return 0;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.index)))) {
+            if(in.readInt() != INDEX_VERSION) {
+                return 0;
+            }
+
+            long covered = in.readLong();
+            if(covered > size) {
+                return 0;
+            }
+
+            int superseded = in.readInt();
+            int count = in.readInt();
+            for(int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                byte flags = in.readByte();
+                UUID sender = (flags & SENDER) != 0 ? new UUID(in.readLong(), in.readLong()) : null;
+                Instant timestamp = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                long offset = in.readLong();
+                int length = in.readInt();
+
+                this.entries.put(uuid, new Entry(uuid, sender, timestamp, offset, length, (flags & SEEN) != 0));
+            }
+
+            this.superseded = superseded;
+            return covered;
+        } catch (IOException e) {
+            // The snapshot is only an optimization, so the log is replayed in full instead
+            this.entries.clear();
+            this.superseded = 0;
+            return 0;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        Path snapshot = this.index.resolveSibling(this.index.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(snapshot)))) {
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(this.length);
+            out.writeInt(this.superseded);
+            out.writeInt(this.entries.size());
+            for(Entry entry : this.entries.values()) {
+                out.writeLong(entry.uuid.getMostSignificantBits());
+                out.writeLong(entry.uuid.getLeastSignificantBits());
+                out.writeByte(this.flags(entry.sender, entry.read));
+                if(entry.sender != null) {
+                    out.writeLong(entry.sender.getMostSignificantBits());
+                    out.writeLong(entry.sender.getLeastSignificantBits());
+                }
+                out.writeLong(entry.timestamp.getEpochSecond());
+                out.writeInt(entry.timestamp.getNano());
+                out.writeLong(entry.offset);
+                out.writeInt(entry.length);
+            }
+        }
+
+        Files.move(snapshot, this.index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void write(byte[] records) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.log, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(records);
+            long position = this.length;
+            while(buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        this.length += records.length;
+    }
+
+    /**
+     * Writes an append record for the message.
+     *
+     * @return The position of the message's content, relative to the start of the stream
+     */
+    private long writeAppend(DataOutputStream out, UUID uuid, @Nullable UUID sender, Instant timestamp, byte[] payload, boolean read) throws IOException {
+        out.writeByte(APPEND);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+        out.writeByte(this.flags(sender, read));
+        if(sender != null) {
+            out.writeLong(sender.getMostSignificantBits());
+            out.writeLong(sender.getLeastSignificantBits());
+        }
+        out.writeLong(timestamp.getEpochSecond());
+        out.writeInt(timestamp.getNano());
+        out.writeInt(payload.length);
+
+        long offset = out.size();
+        out.write(payload);
+        return offset;
+    }
+
+    private void writeMarker(DataOutputStream out, byte op, UUID uuid) throws IOException {
+        out.writeByte(op);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private byte flags(@Nullable UUID sender, boolean read) {
+        return (byte) ((sender != null ? SENDER : 0) | (read ? SEEN : 0));
+    }
+
+    private byte[] payload(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while(buffer.hasRemaining()) {
+            if(channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new IOException("Mail log ended within the content of message " + entry.uuid);
+            }
+        }
+
+        return buffer.array();
+    }
+
+    private static final class Entry {
+
+        private final UUID uuid;
+        private final @Nullable UUID sender;
+        private final Instant timestamp;
+        private final long offset;
+        private final int length;
+        private boolean read;
+
+        Entry(UUID uuid, @Nullable UUID sender, Instant timestamp, long offset, int length, boolean read) {
+            this.uuid = uuid;
+            this.sender = sender;
+            this.timestamp = timestamp;
+            this.offset = offset;
+            this.length = length;
+            this.read = read;
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.mail.storage.implementations;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import net.impactdev.impactor.api.mail.MailMessage;
+import net.impactdev.impactor.api.mail.filters.MailFilter;
+import net.impactdev.impactor.api.storage.connection.configurate.ConfigurateLoader;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
+import net.impactdev.impactor.core.mail.storage.InboxSummary;
+import net.impactdev.impactor.core.mail.storage.MailStorageImplementation;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores each user's inbox as a single append-only log, alongside an index of the messages it holds.
+ * See {@link MailInbox} for the layout of these files.
+ *
+ * <p>Inboxes written by the {@link MailConfigurateProvider}, which stores a file per message, are
+ * migrated into a log the first time they are opened.
+ */
+public final class MailLogProvider implements MailStorageImplementation {
+
+    private final Path root;
+    private final MailConfigurateProvider legacy;
+
+    /**
+     * Inboxes only expire once idle, such that an inbox in use is never opened twice over the same files.
+     */
+    private final LoadingCache<UUID, MailInbox> inboxes;
+
+    public MailLogProvider(@NotNull final ConfigurateLoader loader) {
+        this(loader, Paths.get("config").resolve("impactor").resolve("mail"));
+    }
+
+    /**
+     * @param loader The loader of inboxes stored in the legacy layout, which are migrated when opened
+     * @param root The directory holding the mail of every user
+     */
+    public MailLogProvider(@NotNull final ConfigurateLoader loader, @NotNull final Path root) {
+        this.root = root.resolve("inboxes");
+        this.legacy = new MailConfigurateProvider(loader, root.resolve("users"));
+        this.inboxes = Caffeine.newBuilder()
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build(this::open);
+    }
+
+    @Override
+    public String name() {
+        return null;
+    }
+
+    @Override
+    public void init() throws Exception {
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public void shutdown() throws Exception {
+        this.inboxes.invalidateAll();
+    }
+
+    @Override
+    public void meta(PrettyPrinter printer) throws Exception {
+
+    }
+
+    @Override
+    public List<MailMessage> mail(UUID target) throws Exception {
+        return this.inbox(target).read(0, Integer.MAX_VALUE, true);
+    }
+
+    @Override
+    public List<MailMessage> mail(UUID target, int page, int size) throws Exception {
+        return this.inbox(target).read((int) Math.min(Integer.MAX_VALUE, (long) page * size), size, true);
+    }
+
+    @Override
+    public InboxSummary summary(UUID target) throws Exception {
+        MailInbox inbox = this.inbox(target);
+        return new InboxSummary(inbox.size(), inbox.unread());
+    }
+
+    @Override
+    public boolean append(UUID target, MailMessage message) throws Exception {
+        this.inbox(target).append(List.of(message));
+        return true;
+    }
+
+    @Override
+    public TriState delete(UUID target, MailMessage message) throws Exception {
+        MailInbox inbox = this.inbox(target);
+        if(inbox.size() == 0) {
+            return TriState.NOT_SET;
+        }
+
+        return TriState.byBoolean(inbox.delete(Set.of(message.uuid())) > 0);
+    }
+
+    @Override
+    public TriState deleteWhere(@NotNull UUID target, @Nullable MailFilter filter) throws Exception {
+        MailInbox inbox = this.inbox(target);
+        if(inbox.size() == 0) {
+            return TriState.NOT_SET;
+        }
+
+        if(filter == null) {
+            inbox.clear();
+            return TriState.TRUE;
+        }
+
+        List<UUID> matches = inbox.read(0, Integer.MAX_VALUE, false).stream()
+                .filter(filter)
+                .map(MailMessage::uuid)
+                .toList();
+        inbox.delete(matches);
+        return TriState.TRUE;
+    }
+
+    private MailInbox inbox(UUID target) {
+        return Objects.requireNonNull(this.inboxes.get(target));
+    }
+
+    private MailInbox open(UUID target) throws IOException {
+        String id = target.toString();
+        Path branch = this.root.resolve(id.substring(0, 2));
+        Files.createDirectories(branch);
+
+        MailInbox inbox = new MailInbox(branch.resolve(id + ".log"), branch.resolve(id + ".idx"));
+        if(this.legacy.exists(target)) {
+            try {
+                List<MailMessage> messages = this.legacy.mail(target).stream()
+                        .sorted(Comparator.comparing(MailMessage::timestamp))
+                        .toList();
+                inbox.append(messages);
+                this.legacy.deleteWhere(target, null);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Failed to migrate inbox of " + target, e);
+            }
+        }
+
+        return inbox;
+    }
+
+}
@@ -29,6 +29,7 @@ import net.impactdev.impactor.api.Impactor;
 import net.impactdev.impactor.api.commands.CommandSource;
 import net.impactdev.impactor.api.utility.Context;
 import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
+import net.impactdev.impactor.core.platform.performance.Diagnostics;
 import net.impactdev.impactor.core.translations.internal.ImpactorTranslations;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -59,16 +60,31 @@ public class PlatformCommands {
         printer.title("Platform Information");
         Impactor.instance().platform().info().print(printer);
 
+        this.dump("impactor-platform", printer);
+        ImpactorTranslations.PLATFORM_INFO_GENERATED.send(source, Context.empty());
+    }
+
+    @Command("impactor platform diagnostics")
+    @Permission("impactor.commands.platform.diagnostics")
+    public void diagnostics(final CommandSource source) {
+        PrettyPrinter printer = new PrettyPrinter(80);
+        printer.title("Impactor Diagnostics");
+        Diagnostics.print(printer);
+
+        this.dump("impactor-diagnostics", printer);
+        ImpactorTranslations.PLATFORM_DIAGNOSTICS_GENERATED.send(source, Context.empty());
+    }
+
+    private void dump(String name, PrettyPrinter printer) {
         Path target = Paths.get("config")
                 .resolve("impactor")
                 .resolve("dumps")
-                .resolve("impactor-platform-" + formatter.format(LocalDateTime.now()) + ".txt");
+                .resolve(name + "-" + formatter.format(LocalDateTime.now()) + ".txt");
 
         target.getParent().toFile().mkdirs();
         try(BufferedOutputStream buffer = new BufferedOutputStream(Files.newOutputStream(target.toFile().toPath()))) {
             try(PrintStream output = new PrintStream(buffer, true)) {
                 printer.print(output);
-                ImpactorTranslations.PLATFORM_INFO_GENERATED.send(source, Context.empty());
             }
         } catch (Exception e) {
             throw new CommandExecutionException(e);
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+package net.impactdev.impactor.core.platform.performance;
+
+import net.impactdev.impactor.api.utility.ExceptionPrinter;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
+import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the runtime statistics of Impactor's internals, such as caches and executors, such that they
+ * can be printed together through <code>/impactor platform diagnostics</code>. Components register a
+ * section once, and are only asked for their statistics when the diagnostics are printed.
+ */
+public final class Diagnostics {
+
+    private static final Map<String, Section> SECTIONS = new LinkedHashMap<>();
+
+    /**
+     * Registers a section of the diagnostics, replacing any section previously registered
+     * under the same name.
+     *
+     * @param name The name of the section
+     * @param section Prints the current statistics of the section
+     */
+    public static void register(String name, Section section) {
+        synchronized (SECTIONS) {
+            SECTIONS.put(name, section);
+        }
+    }
+
+    public static void print(PrettyPrinter printer) {
+        List<Map.Entry<String, Section>> sections;
+        synchronized (SECTIONS) {
+            sections = List.copyOf(SECTIONS.entrySet());
+        }
+
+        for(Map.Entry<String, Section> section : sections) {
+            printer.newline().add(section.getKey() + ":");
+            try {
+                section.getValue().print(printer);
+            } catch (Exception e) {
+                printer.add("  Failed to collect statistics, see the console for details...");
+                ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Section {
+
+        void print(PrettyPrinter printer) throws Exception;
+
+    }
+
+}
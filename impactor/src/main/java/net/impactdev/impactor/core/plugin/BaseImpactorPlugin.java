@@ -25,7 +25,10 @@
 
 package net.impactdev.impactor.core.plugin;
 
+import com.google.common.base.Suppliers;
 import net.impactdev.impactor.api.Impactor;
+import net.impactdev.impactor.api.configuration.Config;
+import net.impactdev.impactor.api.economy.EconomyService;
 import net.impactdev.impactor.api.scheduler.AbstractJavaScheduler;
 import net.impactdev.impactor.api.scheduler.v2.Scheduler;
 import net.impactdev.impactor.api.scheduler.v2.Schedulers;
@@ -47,9 +50,13 @@ import net.impactdev.impactor.core.modules.ModuleInitializer;
 import net.impactdev.impactor.core.permissions.LuckPermsPermissionsService;
 import net.impactdev.impactor.core.permissions.NoOpPermissionsService;
 import net.impactdev.impactor.core.economy.EconomyModule;
+import net.impactdev.impactor.core.economy.ImpactorEconomyService;
 import net.impactdev.impactor.core.permissions.PermissionsModule;
+import net.impactdev.impactor.core.platform.performance.Diagnostics;
 import net.impactdev.impactor.core.scheduler.AsyncScheduler;
 import net.impactdev.impactor.core.scheduler.SchedulerModule;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorConfig;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 import net.impactdev.impactor.core.text.TextModule;
 import net.impactdev.impactor.core.translations.TranslationsModule;
 import net.impactdev.impactor.core.utility.future.Futures;
@@ -60,6 +67,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class BaseImpactorPlugin implements ImpactorPlugin, Configurable {
 
@@ -75,6 +83,13 @@ public abstract class BaseImpactorPlugin implements ImpactorPlugin, Configurable
     @MonotonicNonNull
     private ModuleInitializer initializer;
 
+    private final Supplier<ImpactorConfig> configuration = Suppliers.memoize(() -> (ImpactorConfig) Config.builder()
+            .path(this.configurationDirectory().resolve("impactor.conf"))
+            .provider(ExecutorConfig.class)
+            .provideIfMissing(() -> this.resource(root -> root.resolve("configs").resolve("impactor.conf")))
+            .build()
+    );
+
     public BaseImpactorPlugin(ImpactorBootstrapper bootstrapper) {
         instance = this;
         this.bootstrapper = bootstrapper;
@@ -105,7 +120,7 @@ public abstract class BaseImpactorPlugin implements ImpactorPlugin, Configurable
 
     @Override
     public ImpactorConfig configuration() {
-        return null;
+        return this.configuration.get();
     }
 
     protected ModuleInitializer registerModules() {
@@ -157,6 +172,18 @@ public abstract class BaseImpactorPlugin implements ImpactorPlugin, Configurable
 
     @Override
     public void shutdown() {
+        // Storage must be closed while the schedulers are still available, as any pending
+        // write-behind changes are flushed during shutdown
+        EconomyService economy = Impactor.instance().services().provide(EconomyService.class);
+        if(economy instanceof ImpactorEconomyService service) {
+            this.logger().info("Shutting down economy storage...");
+            try {
+                service.storage().shutdown();
+            } catch (Exception e) {
+                ExceptionPrinter.print(this.logger(), e);
+            }
+        }
+
         this.logger().info("Shutting down schedulers...");
         AbstractJavaScheduler scheduler = (AbstractJavaScheduler) Impactor.instance().scheduler();
         scheduler.shutdownExecutor();
@@ -164,12 +191,16 @@ public abstract class BaseImpactorPlugin implements ImpactorPlugin, Configurable
 
         Schedulers.shutdown(this.logger());
         Futures.shutdown();
+        ExecutorLanes.shutdown(this.logger());
 
         this.logger().info("Schedulers shutdown successfully!");
     }
 
     protected void setupSchedulers() {
         this.logger().info("Setting up schedulers...");
+        ExecutorLanes.initialize(this.configuration());
+        Diagnostics.register("Executors", printer -> ExecutorLanes.instance().meta(printer));
+        Diagnostics.register("Delayed Futures", Futures::meta);
         Schedulers.register(Scheduler.ASYNCHRONOUS, new AsyncScheduler());
     }
 
@@ -25,13 +25,11 @@
 
 package net.impactdev.impactor.core.scheduler;
 
-import net.impactdev.impactor.api.Impactor;
 import net.impactdev.impactor.api.scheduler.SchedulerTask;
 import net.impactdev.impactor.api.scheduler.Ticks;
 import net.impactdev.impactor.api.scheduler.v2.Scheduler;
-import net.impactdev.impactor.api.scheduler.v2.Task;
-import net.impactdev.impactor.api.utility.ExceptionPrinter;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.jetbrains.annotations.NotNull;
@@ -39,24 +37,17 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Arrays;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class AsyncScheduler implements Scheduler {
 
     private static final String THREAD_NAME = "Impactor Scheduler";
-    private static final String WORKER_PREFIX = "Impactor Worker - ";
-    private static final int PARALLELISM = 16;
 
     private final ScheduledThreadPoolExecutor scheduler;
-    private final ForkJoinPool worker;
 
     public AsyncScheduler() {
         this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
@@ -67,7 +58,6 @@ public class AsyncScheduler implements Scheduler {
         });
         this.scheduler.setRemoveOnCancelPolicy(true);
         this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-        this.worker = new ForkJoinPool(PARALLELISM, new WorkerThreadFactory(), new ExceptionHandler(), false);
     }
 
     @Override
@@ -75,14 +65,18 @@ public class AsyncScheduler implements Scheduler {
         return Scheduler.ASYNCHRONOUS;
     }
 
+    /**
+     * Provides the executor for work which never blocks. Storage and other I/O should instead run
+     * on {@link ExecutorLanes#blocking() the blocking lane}.
+     */
     @Override
     public Executor executor() {
-        return this.worker;
+        return this.worker();
     }
 
     @Override
     public void publish(@NotNull Runnable action) {
-        this.worker.execute(action);
+        this.worker().execute(action);
     }
 
     @Override
@@ -92,7 +86,7 @@ public class AsyncScheduler implements Scheduler {
 
     @Override
     public SchedulerTask delayed(@NotNull Runnable action, @NonNegative long delay, @NotNull TimeUnit unit) {
-        ScheduledFuture<?> future = this.scheduler.schedule(() -> this.worker.execute(action), delay, unit);
+        ScheduledFuture<?> future = this.scheduler.schedule(() -> this.worker().execute(action), delay, unit);
         return () -> future.cancel(false);
     }
 
@@ -103,7 +97,7 @@ public class AsyncScheduler implements Scheduler {
 
     @Override
     public SchedulerTask repeating(@NotNull Runnable action, @NonNegative long interval, @NotNull TimeUnit unit) {
-        ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(() -> this.worker.execute(action), 0, interval, unit);
+        ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(() -> this.worker().execute(action), 0, interval, unit);
         return () -> future.cancel(false);
     }
 
@@ -114,13 +108,12 @@ public class AsyncScheduler implements Scheduler {
 
     @Override
     public SchedulerTask delayedAndRepeating(@NotNull Runnable action, @NonNegative long delay, @NonNegative long interval, @NotNull TimeUnit unit) {
-        ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(() -> this.worker.execute(action), delay, interval, unit);
+        ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(() -> this.worker().execute(action), delay, interval, unit);
         return () -> future.cancel(false);
     }
 
     @Override
     public void shutdown() {
-        this.shutdownExecutor();
         this.shutdownScheduler();
     }
 
@@ -136,18 +129,6 @@ public class AsyncScheduler implements Scheduler {
         }
     }
 
-    private void shutdownExecutor() {
-        this.worker.shutdown();
-        try {
-            if (!this.worker.awaitTermination(10, TimeUnit.SECONDS)) {
-                BaseImpactorPlugin.instance().logger().severe("Timed out waiting for the Impactor worker thread pool to terminate");
-                reportRunningTasks(thread -> thread.getName().startsWith(WORKER_PREFIX));
-            }
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-    }
-
     private void reportRunningTasks(Predicate<Thread> predicate) {
         Thread.getAllStackTraces().forEach((thread, stack) -> {
             if (predicate.test(thread)) {
@@ -162,23 +143,8 @@ public class AsyncScheduler implements Scheduler {
         return ticks.ticks() * 50;
     }
 
-    private static final class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
-        private static final AtomicInteger COUNT = new AtomicInteger(0);
-
-        @Override
-        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
-            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
-            thread.setDaemon(true);
-            thread.setName(WORKER_PREFIX + COUNT.getAndIncrement());
-            thread.setContextClassLoader(Impactor.class.getClassLoader());
-            return thread;
-        }
-    }
-
-    private static final class ExceptionHandler implements Thread.UncaughtExceptionHandler {
-        @Override
-        public void uncaughtException(Thread t, Throwable e) {
-            ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
-        }
+    private Executor worker() {
+        // Resolved on each use, as the lanes are replaced once the configuration is loaded
+        return ExecutorLanes.instance().cpu();
     }
 }
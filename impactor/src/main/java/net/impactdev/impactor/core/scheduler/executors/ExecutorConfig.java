@@ -0,0 +1,43 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.scheduler.executors;
+
+import net.impactdev.impactor.api.configuration.key.ConfigKey;
+
+import static net.impactdev.impactor.api.configuration.key.ConfigKeyFactory.booleanKey;
+import static net.impactdev.impactor.api.configuration.key.ConfigKeyFactory.intKey;
+import static net.impactdev.impactor.api.configuration.key.ConfigKeyFactory.notReloadable;
+
+public final class ExecutorConfig {
+
+    static final int BLOCKING_THREADS_DEFAULT = 16;
+
+    /** The number of threads running CPU bound work, where 0 matches the number of available processors */
+    public static final ConfigKey<Integer> CPU_THREADS = notReloadable(intKey("executors.cpu.threads", 0));
+    public static final ConfigKey<Integer> BLOCKING_THREADS = notReloadable(intKey("executors.blocking.threads", BLOCKING_THREADS_DEFAULT));
+    public static final ConfigKey<Boolean> VIRTUAL_THREADS = notReloadable(booleanKey("executors.blocking.virtual-threads", false));
+
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.scheduler.executors;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An executor for one kind of work, recording how long its tasks wait to start and take to run.
+ */
+public final class ExecutorLane implements Executor {
+
+    private final String name;
+    private final ExecutorService delegate;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LatencyHistogram waiting = new LatencyHistogram();
+    private final LatencyHistogram running = new LatencyHistogram();
+
+    ExecutorLane(String name, ExecutorService delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    public String name() {
+        return this.name;
+    }
+
+    ExecutorService delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        final long submitted = System.nanoTime();
+        this.queued.incrementAndGet();
+        try {
+            this.delegate.execute(() -> {
+                final long started = System.nanoTime();
+                this.queued.decrementAndGet();
+                this.active.incrementAndGet();
+                this.waiting.record(started - submitted);
+                try {
+                    command.run();
+                } finally {
+                    this.active.decrementAndGet();
+                    this.running.record(System.nanoTime() - started);
+                    this.completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public Statistics statistics() {
+        return new Statistics(
+                this.name,
+                this.queued.get(),
+                this.active.get(),
+                this.completed.sum(),
+                this.waiting.snapshot(),
+                this.running.snapshot()
+        );
+    }
+
+    /**
+     * Stops accepting tasks, then waits for those already submitted to complete.
+     *
+     * @return true if every task completed within the timeout
+     */
+    boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        this.delegate.shutdown();
+        return this.delegate.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * @param lane The name of the lane
+     * @param queued The number of tasks waiting to start
+     * @param active The number of tasks currently running
+     * @param completed The total number of tasks run by the lane
+     * @param waiting How long tasks waited between being submitted and starting
+     * @param running How long tasks took to run
+     */
+    public record Statistics(
+            String lane,
+            int queued,
+            int active,
+            long completed,
+            LatencyHistogram.Snapshot waiting,
+            LatencyHistogram.Snapshot running
+    ) {}
+
+}
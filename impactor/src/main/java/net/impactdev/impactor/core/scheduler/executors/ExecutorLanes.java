@@ -0,0 +1,218 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.scheduler.executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.impactdev.impactor.api.Impactor;
+import net.impactdev.impactor.api.configuration.Config;
+import net.impactdev.impactor.api.logging.PluginLogger;
+import net.impactdev.impactor.api.utility.ExceptionPrinter;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
+import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.impactdev.impactor.core.utility.future.Futures;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executors all asynchronous work within Impactor runs on, split into lanes by the kind of work.
+ *
+ * <p>The CPU lane is a work-stealing pool sized to the available processors, meant for work that
+ * never blocks. The blocking lane runs storage, file and network I/O, so that such work can never
+ * starve the CPU lane of its threads. When enabled and running on a JVM supporting them, the blocking
+ * lane runs each task on a virtual thread of its own.
+ *
+ * <p>Lanes are sized from the {@link ExecutorConfig executor settings} of the main configuration.
+ * Should they be used before that configuration is loaded, lanes with default sizes are created, and
+ * replaced once the configuration is applied. Once shut down, lanes are never created again until
+ * the next configuration is applied, such that late work fails rather than leaking new threads.
+ */
+public final class ExecutorLanes {
+
+    private static final String WORKER_PREFIX = "Impactor Worker - ";
+    private static final String BLOCKING_PREFIX = "Impactor Blocking - ";
+
+    private static volatile ExecutorLanes instance;
+    private static boolean terminated;
+
+    private final ExecutorLane cpu;
+    private final ExecutorLane blocking;
+
+    private ExecutorLanes(int cpu, int blocking, boolean virtual) {
+        this.cpu = new ExecutorLane("cpu", new ForkJoinPool(
+                cpu > 0 ? cpu : Runtime.getRuntime().availableProcessors(),
+                new WorkerThreadFactory(),
+                new ExceptionHandler(),
+                false
+        ));
+        this.blocking = new ExecutorLane("blocking", blocking(blocking, virtual));
+    }
+
+    public static ExecutorLanes instance() {
+        ExecutorLanes lanes = instance;
+        if(lanes == null) {
+            synchronized (ExecutorLanes.class) {
+                lanes = instance;
+                if(lanes == null) {
+                    if(terminated) {
+                        throw new IllegalStateException("Impactor's executors have already been shut down");
+                    }
+
+                    lanes = new ExecutorLanes(0, ExecutorConfig.BLOCKING_THREADS_DEFAULT, false);
+                    instance = lanes;
+                }
+            }
+        }
+
+        return lanes;
+    }
+
+    /**
+     * Sizes the lanes from the given configuration. Lanes created beforehand are replaced, and left
+     * to finish the tasks already submitted to them.
+     *
+     * @param config The configuration holding the {@link ExecutorConfig executor settings}
+     */
+    public static void initialize(Config config) {
+        ExecutorLanes lanes = new ExecutorLanes(
+                config.get(ExecutorConfig.CPU_THREADS),
+                config.get(ExecutorConfig.BLOCKING_THREADS),
+                config.get(ExecutorConfig.VIRTUAL_THREADS)
+        );
+
+        ExecutorLanes previous;
+        synchronized (ExecutorLanes.class) {
+            previous = instance;
+            instance = lanes;
+            terminated = false;
+        }
+
+        if(previous != null) {
+            previous.cpu.delegate().shutdown();
+            previous.blocking.delegate().shutdown();
+        }
+    }
+
+    public static void shutdown(PluginLogger logger) {
+        ExecutorLanes lanes;
+        synchronized (ExecutorLanes.class) {
+            lanes = instance;
+            instance = null;
+            terminated = true;
+        }
+
+        if(lanes == null) {
+            return;
+        }
+
+        shutdown(logger, lanes.cpu, WORKER_PREFIX);
+        shutdown(logger, lanes.blocking, BLOCKING_PREFIX);
+    }
+
+    /**
+     * @return The lane for work which never blocks
+     */
+    public ExecutorLane cpu() {
+        return this.cpu;
+    }
+
+    /**
+     * @return The lane for storage, file and network I/O, along with any other work which may block
+     */
+    public ExecutorLane blocking() {
+        return this.blocking;
+    }
+
+    public List<ExecutorLane.Statistics> statistics() {
+        return List.of(this.cpu.statistics(), this.blocking.statistics());
+    }
+
+    public void meta(PrettyPrinter printer) {
+        for(ExecutorLane.Statistics statistics : this.statistics()) {
+            printer.add("  %s: %d queued, %d active, %d completed", statistics.lane(), statistics.queued(), statistics.active(), statistics.completed());
+            printer.add("    Waiting: %.2fms p50, %.2fms p99", statistics.waiting().percentile(0.5) / 1_000_000.0, statistics.waiting().percentile(0.99) / 1_000_000.0);
+            printer.add("    Running: %.2fms p50, %.2fms p99", statistics.running().percentile(0.5) / 1_000_000.0, statistics.running().percentile(0.99) / 1_000_000.0);
+        }
+    }
+
+    private static ExecutorService blocking(int threads, boolean virtual) {
+        if(virtual) {
+            try {
+                // Virtual threads are only available from Java 21, while we compile against 17
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                BaseImpactorPlugin.instance().logger().warn("Virtual threads require Java 21 or newer, falling back to a thread pool for blocking work");
+            }
+        }
+
+        return Executors.newFixedThreadPool(
+                Math.max(1, threads),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(BLOCKING_PREFIX + "#%d")
+                        .setDaemon(true)
+                        .setUncaughtExceptionHandler(new ExceptionHandler())
+                        .build()
+        );
+    }
+
+    private static void shutdown(PluginLogger logger, ExecutorLane lane, String prefix) {
+        try {
+            if(!lane.shutdown(10, TimeUnit.SECONDS)) {
+                logger.severe("Timed out waiting for the Impactor " + lane.name() + " executor to terminate");
+                Futures.reportRunningTasks(thread -> thread.getName().startsWith(prefix));
+            }
+        } catch (InterruptedException e) {
+            ExceptionPrinter.print(logger, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private static final AtomicInteger COUNT = new AtomicInteger(0);
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setDaemon(true);
+            thread.setName(WORKER_PREFIX + COUNT.getAndIncrement());
+            thread.setContextClassLoader(Impactor.class.getClassLoader());
+            return thread;
+        }
+    }
+
+    private static final class ExceptionHandler implements Thread.UncaughtExceptionHandler {
+        @Override
+        public void uncaughtException(Thread t, Throwable e) {
+            ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
+        }
+    }
+
+}
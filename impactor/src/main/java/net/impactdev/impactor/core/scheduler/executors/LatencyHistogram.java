@@ -0,0 +1,93 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.scheduler.executors;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations, bucketed by powers of two nanoseconds. Bucket {@code n} counts
+ * durations of at least {@code 2^(n-1)} and below {@code 2^n} nanoseconds, with the last bucket
+ * counting anything longer.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        int bucket = nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+        this.counts.incrementAndGet(bucket);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for(int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.counts.get(i);
+        }
+
+        return new Snapshot(counts);
+    }
+
+    public record Snapshot(long[] counts) {
+
+        public long total() {
+            long total = 0;
+            for(long count : this.counts) {
+                total += count;
+            }
+
+            return total;
+        }
+
+        /**
+         * Estimates the duration the given fraction of recorded durations fall within, as the upper
+         * bound of the bucket holding that percentile.
+         *
+         * @param percentile The percentile to locate, between 0 and 1
+         * @return The upper bound of the percentile's bucket, in nanoseconds, or 0 if nothing was recorded
+         */
+        public long percentile(double percentile) {
+            long total = this.total();
+            if(total == 0) {
+                return 0;
+            }
+
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for(int i = 0; i < this.counts.length; i++) {
+                seen += this.counts[i];
+                if(seen >= Math.max(1, target)) {
+                    return 1L << i;
+                }
+            }
+
+            return 1L << (this.counts.length - 1);
+        }
+
+    }
+
+}
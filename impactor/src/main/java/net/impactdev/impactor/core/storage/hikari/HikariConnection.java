@@ -85,7 +85,7 @@ public abstract class HikariConnection implements SQLConnection {
         config.setMaximumPoolSize(this.credentials.getMaxPoolSize());
         config.setMinimumIdle(this.credentials.getMinIdleConnections());
         config.setMaxLifetime(this.credentials.getMaxLifetime());
-        config.setMaxLifetime(this.credentials.getKeepAliveTime());
+        config.setKeepaliveTime(this.credentials.getKeepAliveTime());
         config.setConnectionTimeout(this.credentials.getConnectionTimeout());
 
         config.setInitializationFailTimeout(-1);
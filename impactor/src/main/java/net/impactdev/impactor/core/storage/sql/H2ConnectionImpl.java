@@ -0,0 +1,107 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.storage.sql;
+
+import com.zaxxer.hikari.HikariConfig;
+import net.impactdev.impactor.api.storage.StorageCredentials;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
+import net.impactdev.impactor.core.storage.hikari.HikariConnection;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An embedded, single file database. This offers the indexed lookups and transactional writes of
+ * the remote databases, without requiring a database server.
+ */
+public final class H2ConnectionImpl extends HikariConnection {
+
+    private static final String EXTENSION = ".mv.db";
+    private final Path file;
+
+    /**
+     * @param file The path of the database, without the extension H2 appends to the file
+     * @param credentials The pool settings to apply, connection details are otherwise ignored
+     */
+    public H2ConnectionImpl(Path file, StorageCredentials credentials) {
+        super(credentials);
+        this.file = file;
+    }
+
+    @Override
+    public String name() {
+        return "H2";
+    }
+
+    @Override
+    protected String defaultPort() {
+        return "";
+    }
+
+    @Override
+    protected void configure(HikariConfig config, StorageCredentials credentials, StorageConfiguration configuration) {
+        // MySQL mode allows the database to share the statements written for the remote databases,
+        // while lowercase identifiers keep quoted table names consistent with unquoted column names.
+        // The query cache is raised so every statement issued by the provider stays parsed.
+        config.setDriverClassName("org.h2.Driver");
+        config.setJdbcUrl("jdbc:h2:file:" + this.file.toAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;QUERY_CACHE_SIZE=32");
+    }
+
+    @Override
+    protected void overrideProperties(Map<String, Object> properties) {
+        // H2 rejects any connection setting it does not recognize, so the network
+        // defaults applied for the remote databases are intentionally skipped
+    }
+
+    @Override
+    public Function<String, String> statementProcessor() {
+        return s -> s.replace('\'', '`'); // use backticks for quotes
+    }
+
+    @Override
+    public void meta(PrettyPrinter printer) throws Exception {
+        Path database = this.file.resolveSibling(this.file.getFileName() + EXTENSION);
+        printer.add("File: %s", database.toAbsolutePath());
+        printer.add("Size: %d bytes", Files.exists(database) ? Files.size(database) : 0L);
+
+        long start = System.currentTimeMillis();
+        try(Connection connection = this.connection()) {
+            try(Statement s = connection.createStatement()) {
+                s.execute("SELECT 1");
+            }
+
+            int duration = (int) (System.currentTimeMillis() - start);
+            printer.add("Ping: %dms", (Number) duration);
+        } catch (Exception e) {
+            printer.add("Connection failed...");
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ import net.impactdev.impactor.api.storage.StorageCredentials;
 import net.impactdev.impactor.api.storage.connection.sql.hikari.MariaDBConnection;
 import net.impactdev.impactor.core.storage.hikari.DriverBasedHikariConnection;
 
+import java.util.Map;
 import java.util.function.Function;
 
 public class MariaDbConnectionImpl extends DriverBasedHikariConnection implements MariaDBConnection {
@@ -41,6 +42,18 @@ public class MariaDbConnectionImpl extends DriverBasedHikariConnection implement
         return "MariaDB";
     }
 
+    @Override
+    protected void overrideProperties(Map<String, Object> properties) {
+        // Keep prepared statements on the server and cache them per connection, such that the
+        // handful of statements issued by the storage providers are only ever parsed once
+        properties.putIfAbsent("useServerPrepStmts", "true");
+        properties.putIfAbsent("cachePrepStmts", "true");
+        properties.putIfAbsent("prepStmtCacheSize", "250");
+        properties.putIfAbsent("useBulkStmts", "true");
+
+        super.overrideProperties(properties);
+    }
+
     @Override
     public Function<String, String> statementProcessor() {
         return s -> s.replace('\'', '`'); // use backticks for quotes
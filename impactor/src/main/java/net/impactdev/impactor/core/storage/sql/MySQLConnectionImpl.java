@@ -74,6 +74,9 @@ public final class MySQLConnectionImpl extends DriverBasedHikariConnection imple
         properties.putIfAbsent("alwaysSendSetIsolation", "false");
         properties.putIfAbsent("cacheCallableStmts", "true");
 
+        // Allows statements with a fetch size to stream their results through a server-side cursor
+        properties.putIfAbsent("useCursorFetch", "true");
+
         // https://stackoverflow.com/a/54256150
         properties.putIfAbsent("serverTimezone", "UTC");
 
@@ -34,6 +34,7 @@ import net.impactdev.impactor.api.text.TextProcessor;
 import net.impactdev.impactor.api.text.pagination.PaginatedText;
 import net.impactdev.impactor.api.text.placeholders.PlaceholderService;
 import net.impactdev.impactor.core.modules.ImpactorModule;
+import net.impactdev.impactor.core.platform.performance.Diagnostics;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.impactdev.impactor.core.text.pagination.ImpactorPaginatedText;
 import net.impactdev.impactor.core.text.pagination.PaginationService;
@@ -61,6 +62,9 @@ public final class TextModule implements ImpactorModule {
     @Override
     public void init(Impactor impactor, PluginLogger logger) throws Exception {
         PlaceholderService service = impactor.services().provide(PlaceholderService.class);
+        if(service instanceof ImpactorPlaceholderService) {
+            Diagnostics.register("Placeholders", ((ImpactorPlaceholderService) service)::meta);
+        }
 
         BaseImpactorPlugin.instance().logger().info("Firing placeholder registration event");
         EventPublisher.post(new ImpactorRegisterPlaceholdersEvent(service));
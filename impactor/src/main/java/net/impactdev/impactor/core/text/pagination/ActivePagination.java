@@ -33,51 +33,28 @@ import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public final class ActivePagination {
 
     private static final Component SLASH_TEXT = Component.text("/");
     private static final Component DIVIDER_TEXT = Component.space();
-    private static final Component CONTINUATION_TEXT = Component.text("...");
-    private static final Page EMPTY_PAGE = new Page(Collections.emptyList());
 
     private final UUID id = UUID.randomUUID();
-    private final @Nullable Component title;
     private final PaginatedText configuration;
+    private final PaginationLayout layout;
     private final Component padding;
-    private final int maxContentLinesPerPage;
-    private final PaginationCalculator calculator;
 
     private final Component nextPageText;
     private final Component prevPageText;
 
     private int page;
-    private List<Page> pages;
 
-    ActivePagination(@Nullable Component title, PaginatedText configuration, List<Map.Entry<Component, Integer>> lines, PaginationCalculator calculator) {
-        this.title = title;
+    ActivePagination(PaginatedText configuration, PaginationLayout layout) {
         this.configuration = configuration;
+        this.layout = layout;
         this.padding = configuration.padding();
-        this.calculator = calculator;
-
-        final AtomicInteger maxContentLinesPerPage = new AtomicInteger(calculator.getMaxLinesPerPage() - 1);
-        if (title != null) {
-            maxContentLinesPerPage.addAndGet(-calculator.getLines(title));
-        }
-
-        this.configuration.header().ifPresent(header -> maxContentLinesPerPage.addAndGet(-calculator.getLines(header)));
-        this.configuration.footer().ifPresent(footer -> maxContentLinesPerPage.addAndGet(-calculator.getLines(footer)));
-
-        this.maxContentLinesPerPage = maxContentLinesPerPage.get();
-        this.pages = this.constructPages(lines);
 
         this.nextPageText = Component.text()
                 .content("»")
@@ -112,77 +89,12 @@ public final class ActivePagination {
     public void send(Audience audience, int page) {
         this.page = page;
 
-        if(this.title != null) {
-            audience.sendMessage(this.title);
-        }
-
+        audience.sendMessage(this.layout.title());
         this.configuration.header().ifPresent(audience::sendMessage);
-        this.page(this.page).send(audience);
+        this.layout.page(this.page).send(audience);
         this.configuration.footer().ifPresent(audience::sendMessage);
         Component text = this.calculateFooter(this.page);
-        audience.sendMessage(this.calculator.center(text, this.padding));
-    }
-
-    private Page page(final int page) {
-        final int size = this.pages.size();
-        if(size == 0) {
-            return EMPTY_PAGE;
-        }
-
-        if(page < 1) {
-            throw new IllegalArgumentException(String.format("Page %d does not exist!", page));
-        } else if(page > size) {
-            throw new IllegalArgumentException(String.format("Page %d is greater than the max of %d", page, size));
-        }
-
-        return this.pages.get(page - 1);
-    }
-
-    private List<Page> constructPages(List<Map.Entry<Component, Integer>> lines) {
-        List<Page> results = new ArrayList<>();
-        List<Component> currentPage = new ArrayList<>();
-        int currentPageLines = 0;
-
-        for(final Map.Entry<Component, Integer> entry : lines) {
-            final boolean finiteLinesPerPage = this.getMaxContentLinesPerPage() > 0;
-            final boolean willExceedPageLength = entry.getValue() + currentPageLines > this.getMaxContentLinesPerPage();
-            final boolean currentPageNotEmpty = currentPageLines != 0;
-            final boolean spillToNextPage = finiteLinesPerPage && willExceedPageLength && currentPageNotEmpty;
-            if (spillToNextPage) {
-                this.padPage(currentPage, currentPageLines, true);
-                currentPageLines = 0;
-                results.add(new Page(currentPage));
-                currentPage = new ArrayList<>();
-            }
-            currentPageLines += entry.getValue();
-            currentPage.add(entry.getKey());
-        }
-
-        final boolean lastPageNotEmpty = currentPageLines > 0;
-        if (lastPageNotEmpty) {
-            if (!results.isEmpty()) {
-                // Only pad if we have a previous page
-                this.padPage(currentPage, currentPageLines, false);
-            }
-            results.add(new Page(currentPage));
-        }
-
-        return results;
-    }
-
-    private void padPage(final List<Component> currentPage, final int currentPageLines, final boolean addContinuation) {
-        final int maxContentLinesPerPage = this.getMaxContentLinesPerPage();
-        for (int i = currentPageLines; i < maxContentLinesPerPage; i++) {
-            if (addContinuation && i == maxContentLinesPerPage - 1) {
-                currentPage.add(ActivePagination.CONTINUATION_TEXT);
-            } else {
-                currentPage.add(0, Component.empty());
-            }
-        }
-    }
-
-    private int getMaxContentLinesPerPage() {
-        return this.maxContentLinesPerPage;
+        audience.sendMessage(this.layout.calculator().center(text, this.padding));
     }
 
     private boolean hasPrevious(final int page) {
@@ -190,11 +102,11 @@ public final class ActivePagination {
     }
 
     private boolean hasNext(final int page) {
-        return page < this.pages.size();
+        return page < this.layout.pages();
     }
 
     private int getTotalPages() {
-        return this.pages.size();
+        return this.layout.pages();
     }
 
     private Component calculateFooter(final int currentPage) {
@@ -237,24 +149,7 @@ public final class ActivePagination {
         }
 
         ret.color(this.padding.color());
-        if (this.title != null) {
-            ret.style(this.title.style());
-        }
+        ret.style(this.layout.title().style());
         return ret.build();
     }
-
-    private static final class Page {
-
-        private final List<Component> lines;
-
-        public Page(final List<Component> lines) {
-            this.lines = lines;
-        }
-
-        public void send(Audience audience) {
-            for(Component line : this.lines) {
-                audience.sendMessage(line);
-            }
-        }
-    }
 }
@@ -25,11 +25,11 @@
 
 package net.impactdev.impactor.core.text.pagination;
 
-import com.google.common.collect.Maps;
 import net.impactdev.impactor.api.Impactor;
 import net.impactdev.impactor.api.text.pagination.PaginatedText;
 import net.impactdev.impactor.api.utility.ExceptionPrinter;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.impactdev.impactor.core.translations.ImpactorTranslationManager;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
@@ -38,10 +38,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -56,12 +53,15 @@ public class ImpactorPaginatedText implements PaginatedText {
     private final List<Component> contents;
     private final int lines;
 
+    /** Pages are laid out on first send, and reused for every following send until translations reload */
+    private volatile PaginationLayout layout;
+
     public ImpactorPaginatedText(ImpactorPaginationBuilder builder) {
         this.title = builder.title;
         this.header = builder.header;
         this.footer = builder.footer;
         this.padding = builder.padding;
-        this.contents = builder.contents;
+        this.contents = List.copyOf(builder.contents);
         this.lines = builder.lines;
     }
 
@@ -99,21 +99,7 @@ public class ImpactorPaginatedText implements PaginatedText {
     public void send(@NotNull Audience audience, int page) {
         checkNotNull(audience, "The audience of a pagination cannot be null");
 
-        final PaginationCalculator calculator = new PaginationCalculator(this.lines);
-        final List<Map.Entry<Component, Integer>> counts = StreamSupport.stream(this.contents().spliterator(), false)
-                .map(input -> {
-                    final int lines = calculator.getLines(input);
-                    return Maps.immutableEntry(input, lines);
-                }).collect(Collectors.toList());
-
-        Component title = this.title;
-        if(title != null) {
-            title = calculator.center(title, this.padding);
-        } else {
-            title = calculator.center(Component.empty(), this.padding);
-        }
-
-        final ActivePagination active = new ActivePagination(title, this, counts, calculator);
+        final ActivePagination active = new ActivePagination(this, this.layout());
         final PaginationService service = Impactor.instance().services().provide(PaginationService.class);
         service.register(active.id(), active);
 
@@ -124,6 +110,17 @@ public class ImpactorPaginatedText implements PaginatedText {
         }
     }
 
+    private PaginationLayout layout() {
+        PaginationLayout layout = this.layout;
+        if(layout == null || layout.revision() != ImpactorTranslationManager.revision()) {
+            // Concurrent sends may each lay out the pages once, which is harmless as layouts are interchangeable
+            layout = new PaginationLayout(this);
+            this.layout = layout;
+        }
+
+        return layout;
+    }
+
     public static class ImpactorPaginationBuilder implements PaginatedTextBuilder {
 
         private Component title;
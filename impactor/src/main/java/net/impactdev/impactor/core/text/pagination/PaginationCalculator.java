@@ -25,8 +25,11 @@
 
 package net.impactdev.impactor.core.text.pagination;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Strings;
 import net.impactdev.impactor.api.Impactor;
+import net.impactdev.impactor.core.translations.ImpactorTranslationManager;
 import net.kyori.adventure.text.BuildableComponent;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
@@ -46,13 +49,24 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.Locale;
 import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
 
 final class PaginationCalculator {
 
     private static final int LINE_WIDTH = 320;
-    private static final String NON_UNICODE_CHARS;
-    private static final int[] NON_UNICODE_CHAR_WIDTHS;
-    private static final byte[] UNICODE_CHAR_WIDTHS;
+
+    /** The width of each character in the basic multilingual plane, indexed by its code point */
+    private static final byte[] CHAR_WIDTHS;
+
+    /**
+     * Widths of previously measured components. Components are immutable, so a component's width only
+     * changes should the translations it relies on be reloaded, which is why widths are keyed by the
+     * revision of the translations they were measured against.
+     */
+    private static final Cache<Measurement, Integer> MEASUREMENTS = Caffeine.newBuilder()
+            .maximumSize(4096)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
 
     private final int lines;
 
@@ -67,9 +81,24 @@ final class PaginationCalculator {
 
         try {
             final CommentedConfigurationNode node = loader.load();
-            NON_UNICODE_CHARS = node.node("non-unicode").getString();
-            NON_UNICODE_CHAR_WIDTHS = node.node("char-widths").get(int[].class, new int[]{});
-            UNICODE_CHAR_WIDTHS = node.node("glyph-widths").get(byte[].class, new byte[]{});
+            final String nonUnicode = node.node("non-unicode").getString("");
+            final int[] nonUnicodeWidths = node.node("char-widths").get(int[].class, new int[]{});
+            final byte[] unicodeWidths = node.node("glyph-widths").get(byte[].class, new byte[]{});
+
+            CHAR_WIDTHS = new byte[Character.MAX_VALUE + 1];
+            for(int code = 0; code < unicodeWidths.length && code < CHAR_WIDTHS.length; code++) {
+                CHAR_WIDTHS[code] = (byte) PaginationCalculator.unicodeWidth(unicodeWidths[code]);
+            }
+
+            // Walk backwards so that the first occurrence of a duplicated character takes precedence
+            for(int i = Math.min(nonUnicode.length(), nonUnicodeWidths.length) - 1; i >= 0; i--) {
+                final char code = nonUnicode.charAt(i);
+                if(code > 0) {
+                    CHAR_WIDTHS[code] = (byte) nonUnicodeWidths[i];
+                }
+            }
+
+            CHAR_WIDTHS[' '] = 4;
         } catch (final ConfigurateException ex) {
             throw new ExceptionInInitializerError(ex);
         }
@@ -183,6 +212,10 @@ final class PaginationCalculator {
     }
 
     private int width(final Component text) {
+        return MEASUREMENTS.get(new Measurement(text, ImpactorTranslationManager.revision()), key -> this.measure(key.text()));
+    }
+
+    private int measure(final Component text) {
         final Deque<Component> children = new ArrayDeque<>(1 + text.children().size());
         children.add(text);
         int total = 0;
@@ -238,33 +271,9 @@ final class PaginationCalculator {
     }
 
     private int width(final int code, final boolean bold) {
-        final int nonUnicodeIdx = PaginationCalculator.NON_UNICODE_CHARS.indexOf(code);
-        int width;
-        if (code == 32) {
-            width = 4;
-        } else if (code > 0 && nonUnicodeIdx != -1) {
-            width = PaginationCalculator.NON_UNICODE_CHAR_WIDTHS[nonUnicodeIdx];
-        } else if (PaginationCalculator.UNICODE_CHAR_WIDTHS[code] != 0) {
-            //from 1.9 & 255 to avoid strange signed int math ruining things.
-            //https://bugs.mojang.com/browse/MC-7181
-            final int temp = PaginationCalculator.UNICODE_CHAR_WIDTHS[code] & 255;
-            // Split into high and low nibbles.
-            //bit digits
-            //87654321 >>> 4 = 00008765
-            final int startColumn = temp >>> 4;
-            //87654321 & 00001111 = 00004321
-            final int endColumn = temp & 15;
-
-            width = (endColumn + 1) - startColumn;
-            //Why does this scaling happen?
-            //I believe it makes unicode fonts skinnier to better match the character widths of the default Minecraft
-            // font however there is a int math vs float math bug in the Minecraft FontRenderer.
-            //The float math is adjusted for rendering, they attempt to do the same thing for calculating string widths
-            //using integer math, this has potential rounding errors, but we should copy it and use ints as well.
-            width = (width / 2) + 1;
-        } else {
-            width = 0;
-        }
+        // Characters outside the basic multilingual plane are not covered by the font tables
+        int width = code < PaginationCalculator.CHAR_WIDTHS.length ? PaginationCalculator.CHAR_WIDTHS[code] : 0;
+
         //if bolded width gets 1 added.
         if (bold && width > 0) {
             width = width + 1;
@@ -273,4 +282,30 @@ final class PaginationCalculator {
         return width;
     }
 
+    private static int unicodeWidth(final byte glyph) {
+        if (glyph == 0) {
+            return 0;
+        }
+
+        //from 1.9 & 255 to avoid strange signed int math ruining things.
+        //https://bugs.mojang.com/browse/MC-7181
+        final int temp = glyph & 255;
+        // Split into high and low nibbles.
+        //bit digits
+        //87654321 >>> 4 = 00008765
+        final int startColumn = temp >>> 4;
+        //87654321 & 00001111 = 00004321
+        final int endColumn = temp & 15;
+
+        final int width = (endColumn + 1) - startColumn;
+        //Why does this scaling happen?
+        //I believe it makes unicode fonts skinnier to better match the character widths of the default Minecraft
+        // font however there is a int math vs float math bug in the Minecraft FontRenderer.
+        //The float math is adjusted for rendering, they attempt to do the same thing for calculating string widths
+        //using integer math, this has potential rounding errors, but we should copy it and use ints as well.
+        return (width / 2) + 1;
+    }
+
+    private record Measurement(Component text, int revision) {}
+
 }
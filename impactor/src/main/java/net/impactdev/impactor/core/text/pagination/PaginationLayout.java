@@ -0,0 +1,157 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.text.pagination;
+
+import net.impactdev.impactor.api.text.pagination.PaginatedText;
+import net.impactdev.impactor.core.translations.ImpactorTranslationManager;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The measured and paginated form of a {@link PaginatedText}. As this is independent of whoever views
+ * the pagination, it is calculated once per pagination and shared by every {@link ActivePagination}
+ * created from it.
+ */
+final class PaginationLayout {
+
+    private static final Component CONTINUATION_TEXT = Component.text("...");
+    private static final Page EMPTY_PAGE = new Page(Collections.emptyList());
+
+    private final int revision;
+    private final PaginationCalculator calculator;
+    private final Component title;
+    private final int maxContentLinesPerPage;
+    private final List<Page> pages;
+
+    PaginationLayout(final PaginatedText configuration) {
+        this.revision = ImpactorTranslationManager.revision();
+        this.calculator = new PaginationCalculator(configuration.lines());
+        this.title = this.calculator.center(configuration.title().orElse(Component.empty()), configuration.padding());
+
+        int maxContentLinesPerPage = this.calculator.getMaxLinesPerPage() - 1 - this.calculator.getLines(this.title);
+        maxContentLinesPerPage -= configuration.header().map(this.calculator::getLines).orElse(0);
+        maxContentLinesPerPage -= configuration.footer().map(this.calculator::getLines).orElse(0);
+
+        this.maxContentLinesPerPage = maxContentLinesPerPage;
+        this.pages = this.constructPages(configuration.contents());
+    }
+
+    /**
+     * @return The revision of the translations this layout was measured against
+     */
+    int revision() {
+        return this.revision;
+    }
+
+    PaginationCalculator calculator() {
+        return this.calculator;
+    }
+
+    Component title() {
+        return this.title;
+    }
+
+    int pages() {
+        return this.pages.size();
+    }
+
+    Page page(final int page) {
+        final int size = this.pages.size();
+        if(size == 0) {
+            return EMPTY_PAGE;
+        }
+
+        if(page < 1) {
+            throw new IllegalArgumentException(String.format("Page %d does not exist!", page));
+        } else if(page > size) {
+            throw new IllegalArgumentException(String.format("Page %d is greater than the max of %d", page, size));
+        }
+
+        return this.pages.get(page - 1);
+    }
+
+    private List<Page> constructPages(final List<Component> contents) {
+        List<Page> results = new ArrayList<>();
+        List<Component> currentPage = new ArrayList<>();
+        int currentPageLines = 0;
+
+        for(final Component content : contents) {
+            final int lines = this.calculator.getLines(content);
+            final boolean finiteLinesPerPage = this.maxContentLinesPerPage > 0;
+            final boolean willExceedPageLength = lines + currentPageLines > this.maxContentLinesPerPage;
+            final boolean currentPageNotEmpty = currentPageLines != 0;
+            final boolean spillToNextPage = finiteLinesPerPage && willExceedPageLength && currentPageNotEmpty;
+            if (spillToNextPage) {
+                this.padPage(currentPage, currentPageLines, true);
+                currentPageLines = 0;
+                results.add(new Page(currentPage));
+                currentPage = new ArrayList<>();
+            }
+            currentPageLines += lines;
+            currentPage.add(content);
+        }
+
+        final boolean lastPageNotEmpty = currentPageLines > 0;
+        if (lastPageNotEmpty) {
+            if (!results.isEmpty()) {
+                // Only pad if we have a previous page
+                this.padPage(currentPage, currentPageLines, false);
+            }
+            results.add(new Page(currentPage));
+        }
+
+        return Collections.unmodifiableList(results);
+    }
+
+    private void padPage(final List<Component> currentPage, final int currentPageLines, final boolean addContinuation) {
+        for (int i = currentPageLines; i < this.maxContentLinesPerPage; i++) {
+            if (addContinuation && i == this.maxContentLinesPerPage - 1) {
+                currentPage.add(CONTINUATION_TEXT);
+            } else {
+                currentPage.add(0, Component.empty());
+            }
+        }
+    }
+
+    static final class Page {
+
+        private final List<Component> lines;
+
+        Page(final List<Component> lines) {
+            this.lines = Collections.unmodifiableList(lines);
+        }
+
+        void send(Audience audience) {
+            for(Component line : this.lines) {
+                audience.sendMessage(line);
+            }
+        }
+    }
+}
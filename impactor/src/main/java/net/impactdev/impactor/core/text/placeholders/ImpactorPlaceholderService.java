@@ -25,20 +25,56 @@
 
 package net.impactdev.impactor.core.text.placeholders;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.google.common.collect.Maps;
+import net.impactdev.impactor.api.platform.sources.PlatformSource;
 import net.impactdev.impactor.api.text.placeholders.PlaceholderParser;
 import net.impactdev.impactor.api.text.placeholders.PlaceholderService;
+import net.impactdev.impactor.api.utility.Context;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
 import net.impactdev.impactor.core.text.placeholders.provided.ImpactorPlaceholder;
 import net.impactdev.impactor.core.text.placeholders.provided.ImpactorPlaceholders;
 import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class ImpactorPlaceholderService implements PlaceholderService {
 
-    private final Map<Key, PlaceholderParser> placeholders = Maps.newHashMap();
+    private final Map<Key, PlaceholderParser> placeholders = Maps.newConcurrentMap();
+    private final Map<Key, PlaceholderCachePolicy> policies = Maps.newConcurrentMap();
+    private final AtomicInteger revision = new AtomicInteger();
+
+    /** Results of placeholders registered with a cache policy, each expiring as their policy dictates */
+    private final Cache<Resolution, Component> resolved = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfter(new Expiry<Resolution, Component>() {
+                @Override
+                public long expireAfterCreate(Resolution key, Component value, long currentTime) {
+                    return key.ttl();
+                }
+
+                @Override
+                public long expireAfterUpdate(Resolution key, Component value, long currentTime, long currentDuration) {
+                    return key.ttl();
+                }
+
+                @Override
+                public long expireAfterRead(Resolution key, Component value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
 
     public ImpactorPlaceholderService() {
         Arrays.stream(ImpactorPlaceholders.class.getDeclaredFields())
@@ -47,7 +83,7 @@ public final class ImpactorPlaceholderService implements PlaceholderService {
                 .forEach(field -> {
                     try {
                         ImpactorPlaceholder placeholder = (ImpactorPlaceholder) field.get(null);
-                        this.register(placeholder.key(), placeholder.parser());
+                        this.register(placeholder.key(), placeholder.parser(), placeholder.policy());
                     } catch (Exception e) {
                         throw new RuntimeException("Exception processing field: " + field.getName(), e);
                     }
@@ -56,7 +92,83 @@ public final class ImpactorPlaceholderService implements PlaceholderService {
 
     @Override
     public void register(Key key, PlaceholderParser parser) {
+        this.register(key, parser, PlaceholderCachePolicy.VOLATILE);
+    }
+
+    /**
+     * Registers a placeholder alongside a policy describing how its results may be cached, such that
+     * frequently refreshed text, like a scoreboard, does not need to parse the placeholder each time.
+     *
+     * @param key The key of the placeholder
+     * @param parser The parser responsible for resolving the placeholder
+     * @param policy How the results of the placeholder may be cached
+     */
+    public void register(Key key, PlaceholderParser parser, PlaceholderCachePolicy policy) {
         this.placeholders.put(key, parser);
+        this.policies.put(key, policy);
+        this.resolved.asMap().keySet().removeIf(resolution -> resolution.key().equals(key));
+        this.revision.incrementAndGet();
+    }
+
+    /**
+     * Resolves a placeholder through the given parser, reusing a previously cached result if permitted
+     * by the cache policy of the placeholder.
+     *
+     * @param key The key of the placeholder
+     * @param arguments The arguments supplied to the placeholder
+     * @param parser The parser of the placeholder
+     * @param viewer The viewer the placeholder is being resolved for
+     * @param context The context the placeholder is being resolved with
+     * @return The resolved placeholder
+     */
+    public Component parse(Key key, List<String> arguments, PlaceholderParser parser, @Nullable PlatformSource viewer, Context context) {
+        PlaceholderCachePolicy policy = this.policies.getOrDefault(key, PlaceholderCachePolicy.VOLATILE);
+        if(policy.scope() == PlaceholderCachePolicy.Scope.VOLATILE) {
+            return parser.parse(viewer, context);
+        }
+
+        UUID scope = policy.scope() == PlaceholderCachePolicy.Scope.VIEWER && viewer != null ? viewer.uuid() : null;
+        Resolution resolution = new Resolution(key, arguments, scope, policy.ttl().toNanos());
+
+        // Parsed outside of the cache, as parsers may themselves parse text containing placeholders
+        Component result = this.resolved.getIfPresent(resolution);
+        if(result == null) {
+            result = parser.parse(viewer, context);
+            this.resolved.put(resolution, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Provides a snapshot of the statistics recorded by the placeholder result cache, which may be used
+     * to tune the cache policies of placeholders.
+     *
+     * @return A snapshot of the current placeholder cache statistics
+     */
+    public CacheStats stats() {
+        return this.resolved.stats();
+    }
+
+    public void meta(PrettyPrinter printer) {
+        printer.add("  Registered Placeholders: %d (revision %d)", this.placeholders.size(), this.revision.get());
+
+        CacheStats stats = this.stats();
+        printer.add("  Result Cache:");
+        printer.add("    Size: %d", this.resolved.estimatedSize());
+        printer.add("    Hit Rate: %.2f%% (%d hits, %d misses)", stats.hitRate() * 100, stats.hitCount(), stats.missCount());
+        printer.add("    Evictions: %d", stats.evictionCount());
+    }
+
+    /**
+     * Indicates the revision of the set of registered placeholders, which changes each time a placeholder
+     * is registered. Anything derived from the registered placeholders, such as compiled text templates,
+     * can compare this against the revision it was derived from to know when it must be rebuilt.
+     *
+     * @return The current revision of the registered placeholders
+     */
+    public int revision() {
+        return this.revision.get();
     }
 
     @Override
@@ -64,6 +176,8 @@ public final class ImpactorPlaceholderService implements PlaceholderService {
         return this.placeholders;
     }
 
+    private record Resolution(Key key, List<String> arguments, @Nullable UUID viewer, long ttl) {}
+
     @Override
     public String name() {
         return "Placeholder Service";
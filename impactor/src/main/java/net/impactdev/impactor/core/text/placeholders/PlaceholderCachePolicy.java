@@ -0,0 +1,70 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.text.placeholders;
+
+import java.time.Duration;
+
+/**
+ * Describes how long the result of a placeholder may be reused before the placeholder must be parsed
+ * again. Only placeholders whose result depends on nothing but their arguments and, if scoped to the
+ * viewer, the viewer itself should be cached, as any other context supplied while parsing is not
+ * considered when looking up a cached result.
+ *
+ * @param scope What a cached result is shared between
+ * @param ttl How long a cached result remains valid for
+ */
+public record PlaceholderCachePolicy(Scope scope, Duration ttl) {
+
+    /** Never caches the result, which is the policy of any placeholder registered without one */
+    public static final PlaceholderCachePolicy VOLATILE = new PlaceholderCachePolicy(Scope.VOLATILE, Duration.ZERO);
+
+    /**
+     * Shares the result between every viewer, such as for placeholders describing the server itself.
+     *
+     * @param ttl How long a result remains valid for
+     * @return The cache policy
+     */
+    public static PlaceholderCachePolicy shared(Duration ttl) {
+        return new PlaceholderCachePolicy(Scope.STATIC, ttl);
+    }
+
+    /**
+     * Caches the result separately for each viewer.
+     *
+     * @param ttl How long a result remains valid for
+     * @return The cache policy
+     */
+    public static PlaceholderCachePolicy viewer(Duration ttl) {
+        return new PlaceholderCachePolicy(Scope.VIEWER, ttl);
+    }
+
+    public enum Scope {
+        STATIC,
+        VIEWER,
+        VOLATILE,
+    }
+
+}
@@ -26,16 +26,23 @@
 package net.impactdev.impactor.core.text.placeholders.provided;
 
 import net.impactdev.impactor.api.text.placeholders.PlaceholderParser;
+import net.impactdev.impactor.core.text.placeholders.PlaceholderCachePolicy;
 import net.kyori.adventure.key.Key;
 
 public final class ImpactorPlaceholder {
 
     private final Key key;
     private final PlaceholderParser parser;
+    private final PlaceholderCachePolicy policy;
 
     ImpactorPlaceholder(Key key, PlaceholderParser parser) {
+        this(key, parser, PlaceholderCachePolicy.VOLATILE);
+    }
+
+    ImpactorPlaceholder(Key key, PlaceholderParser parser, PlaceholderCachePolicy policy) {
         this.key = key;
         this.parser = parser;
+        this.policy = policy;
     }
 
     public Key key() {
@@ -45,4 +52,8 @@ public final class ImpactorPlaceholder {
     public PlaceholderParser parser() {
         return this.parser;
     }
+
+    public PlaceholderCachePolicy policy() {
+        return this.policy;
+    }
 }
@@ -41,6 +41,7 @@ import net.impactdev.impactor.api.utility.Context;
 import net.impactdev.impactor.core.economy.context.TransactionContext;
 import net.impactdev.impactor.core.economy.context.TransferTransactionContext;
 import net.impactdev.impactor.core.economy.placeholders.AccountPlaceholderParser;
+import net.impactdev.impactor.core.text.placeholders.PlaceholderCachePolicy;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import org.intellij.lang.annotations.Pattern;
@@ -49,6 +50,7 @@ import org.spongepowered.math.vector.Vector3d;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.time.Duration;
 import java.util.Optional;
 
 import static net.kyori.adventure.text.Component.empty;
@@ -60,6 +62,9 @@ public final class ImpactorPlaceholders {
     private static final DecimalFormat TWO_DECIMALS = new DecimalFormat("0.00");
     private static final DecimalFormat THREE_DECIMALS = new DecimalFormat("0.000");
 
+    /** Server performance changes constantly, but never needs to be measured more than once a second */
+    private static final PlaceholderCachePolicy PERFORMANCE = PlaceholderCachePolicy.shared(Duration.ofSeconds(1));
+
     public static final ImpactorPlaceholder NAME = new ImpactorPlaceholder(
             impactor("name"),
             (viewer, ctx) -> resolveSource(viewer, ctx)
@@ -85,24 +90,29 @@ public final class ImpactorPlaceholders {
 
     public static final ImpactorPlaceholder TPS = new ImpactorPlaceholder(
             impactor("tps"),
-            (viewer, ctx) -> text(TWO_DECIMALS.format(Impactor.instance().platform().performance().ticksPerSecond()))
+            (viewer, ctx) -> text(TWO_DECIMALS.format(Impactor.instance().platform().performance().ticksPerSecond())),
+            PERFORMANCE
     );
     public static final ImpactorPlaceholder MSPT = new ImpactorPlaceholder(
             impactor("mspt"),
-            (viewer, ctx) -> text(THREE_DECIMALS.format(Impactor.instance().platform().performance().averageTickDuration()))
+            (viewer, ctx) -> text(THREE_DECIMALS.format(Impactor.instance().platform().performance().averageTickDuration())),
+            PERFORMANCE
     );
 
     public static final ImpactorPlaceholder MEMORY_USAGE = new ImpactorPlaceholder(
             impactor("memory_used"),
-            (viewer, ctx) -> text(Impactor.instance().platform().performance().memory().current())
+            (viewer, ctx) -> text(Impactor.instance().platform().performance().memory().current()),
+            PERFORMANCE
     );
     public static final ImpactorPlaceholder MEMORY_ALLOCATED = new ImpactorPlaceholder(
             impactor("memory_allocated"),
-            (viewer, ctx) -> text(Impactor.instance().platform().performance().memory().allocated())
+            (viewer, ctx) -> text(Impactor.instance().platform().performance().memory().allocated()),
+            PERFORMANCE
     );
     public static final ImpactorPlaceholder MEMORY_TOTAL = new ImpactorPlaceholder(
             impactor("memory_total"),
-            (viewer, ctx) -> text(Impactor.instance().platform().performance().memory().max())
+            (viewer, ctx) -> text(Impactor.instance().platform().performance().memory().max()),
+            PERFORMANCE
     );
     public static final ImpactorPlaceholder ECONOMY_ACCOUNT = new ImpactorPlaceholder(
             impactor("account"),
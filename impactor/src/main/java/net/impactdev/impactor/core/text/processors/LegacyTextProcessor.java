@@ -25,7 +25,6 @@
 
 package net.impactdev.impactor.core.text.processors;
 
-import com.google.common.base.Splitter;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -36,6 +35,7 @@ import net.impactdev.impactor.api.text.placeholders.ComponentModifiers;
 import net.impactdev.impactor.api.text.placeholders.PlaceholderParser;
 import net.impactdev.impactor.api.text.placeholders.PlaceholderService;
 import net.impactdev.impactor.api.utility.Context;
+import net.impactdev.impactor.core.text.placeholders.ImpactorPlaceholderService;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -44,23 +44,17 @@ import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.format.TextFormat;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static net.kyori.adventure.text.Component.text;
 
-public class LegacyTextProcessor implements TextProcessor {
+public class LegacyTextProcessor implements TextProcessor, TemplateCompiler {
 
-    private static final Pattern TOKENIZER = Pattern.compile("((?=([{]{2}|[}]{2})|(?<=([{]{2}|[}]{2}))))");
-    private static final Pattern PLACEHOLDER = Pattern.compile("(?<placeholder>[\\w-:]+)(\\|(?<arguments>.+))?");
-    private static final Pattern LAST_FORMATS = Pattern.compile("(&([a-fk-or0-9]|#[a-f0-9]{6})){1,2}$", Pattern.CASE_INSENSITIVE);
     private static final Map<Character, TextFormat> FORMATTERS = Maps.newHashMap();
 
     private final Supplier<PlaceholderService> service = Suppliers.memoize(() -> Impactor.instance().services().provide(PlaceholderService.class));
@@ -72,100 +66,245 @@ public class LegacyTextProcessor implements TextProcessor {
 
     @Override
     public @NotNull Component parse(@NotNull PlatformSource viewer, String raw, Context context) {
-        Component result = null;
-        List<Component> tokens = this.tokenize(viewer, raw, context);
-        for(Component token : tokens) {
-            if(result == null) {
-                result = token;
-            } else {
-                result = result.append(token);
+        return this.compile(raw).resolve(viewer, context);
+    }
+
+    /**
+     * Tokenizes the template into its static text and placeholders. Static text is deserialized once,
+     * whereas each placeholder retains the formatting preceding it, to be applied once resolved.
+     *
+     * <p>The template is scanned in a single pass. A placeholder is a pair of opening braces, followed
+     * by its content, followed by a pair of closing braces, where neither pair is part of a longer run
+     * of the same brace. Anything else is kept as text.
+     */
+    @Override
+    public CompiledTemplate compile(String input) {
+        List<Object> parts = Lists.newArrayList();
+        List<TextFormat> decorations = Lists.newArrayList();
+
+        int literal = 0;
+        int start = 0;
+        while(start < input.length()) {
+            int end = next(input, start);
+            if(end - start == 2 && input.startsWith("{{", start) && end < input.length()) {
+                int content = next(input, end);
+                int close = content < input.length() ? next(input, content) : content;
+                if(close - content == 2 && input.startsWith("}}", content)) {
+                    if(literal < start) {
+                        String built = input.substring(literal, start);
+                        parts.add(this.serializer.deserialize(built));
+                        trailingFormats(built, decorations);
+                    }
+
+                    parts.add(this.placeholder(input, end, content, decorations));
+                    literal = start = close;
+                    continue;
+                }
             }
+
+            start = end;
         }
 
+        if(literal < input.length()) {
+            parts.add(this.serializer.deserialize(input.substring(literal)));
+        }
 
-        return Objects.requireNonNull(result);
+        return new CompiledLegacy(parts);
     }
 
-    private List<Component> tokenize(PlatformSource viewer, String input, Context context) {
-        Map<Key, PlaceholderParser> parsers = this.service.get().parsers();
+    /**
+     * Parses the content of a placeholder, being the first run of key characters within it, optionally
+     * followed by a pipe and the modifiers to apply to the placeholder. Content without any key is kept
+     * as text, braces included.
+     */
+    private Object placeholder(String input, int from, int to, List<TextFormat> decorations) {
+        int key = from;
+        while(key < to && !isKeyCharacter(input.charAt(key))) {
+            key++;
+        }
 
-        List<String> split = Splitter.on(TOKENIZER).splitToList(input);
-        List<Component> result = Lists.newArrayList();
+        if(key == to) {
+            return decorate(this.serializer.deserialize(input.substring(from - 2, to + 2)), decorations);
+        }
 
-        List<TextFormat> decorations = Lists.newArrayList();
-        StringBuilder cache = new StringBuilder();
-        for(int i = 0; i < split.size(); i++) {
-            if(split.get(i).equals("{{") && split.get(i + 2).equals("}}")) {
-                if(cache.length() > 0) {
-                    String built = cache.toString();
-                    cache = new StringBuilder();
-
-                    result.add(this.serializer.deserialize(built));
-                    Matcher matcher = LAST_FORMATS.matcher(built);
-                    if(matcher.find()) {
-                        Arrays.stream(matcher.group().split("&"))
-                                .filter(in -> !in.isEmpty())
-                                .map(in -> {
-                                    if(in.length() == 1) {
-                                        return FORMATTERS.get(in.charAt(0));
-                                    } else {
-                                        try {
-                                            return TextColor.color(Integer.parseInt(in.substring(1), 16));
-                                        } catch (NumberFormatException e) {
-                                            return null;
-                                        }
-                                    }
-                                })
-                                .filter(Objects::nonNull)
-                                .forEach(decorations::add);
-                    }
-                }
+        int end = key;
+        while(end < to && isKeyCharacter(input.charAt(end))) {
+            end++;
+        }
 
-                AtomicReference<Component> parsed = new AtomicReference<>();
-                Matcher placeholder = PLACEHOLDER.matcher(split.get(i + 1));
-                if(!placeholder.find()) {
-                    parsed.set(this.serializer.deserialize("{{" + split.get(i + 1) + "}}"));
-                } else {
-                    String rawKey = placeholder.group("placeholder");
-                    Key key;
-                    if(rawKey.contains(":")) {
-                        key = Key.key(rawKey);
-                    } else {
-                        key = Key.key("unknown", rawKey);
-                    }
+        String arguments = null;
+        if(end + 1 < to && input.charAt(end) == '|' && !isLineTerminator(input.charAt(end + 1))) {
+            int last = end + 1;
+            while(last < to && !isLineTerminator(input.charAt(last))) {
+                last++;
+            }
+            arguments = input.substring(end + 1, last);
+        }
 
-                    parsed.set(parsers.getOrDefault(key, (ignore, ctx) -> text("{{").append(text(rawKey)).append(text("}}"))).parse(viewer, context));
-                    String arguments = placeholder.group("arguments");
-                    if(arguments != null) {
-                        for (int c = 0; c < arguments.length(); c++) {
-                            char arg = arguments.charAt(c);
-                            parsed.set(ComponentModifiers.transform(arg, parsed.get()));
-                        }
-                    }
+        String rawKey = input.substring(key, end);
+        Key parsed;
+        if(rawKey.indexOf(':') != -1) {
+            parsed = Key.key(rawKey);
+        } else {
+            parsed = Key.key("unknown", rawKey);
+        }
+
+        return new Slot(parsed, rawKey, arguments, List.copyOf(decorations));
+    }
+
+    /**
+     * Finds the end of the token starting at the given index. Tokens are split immediately before and after
+     * every pair of braces, with overlapping pairs, such as within a run of three braces, splitting every brace.
+     */
+    private static int next(String input, int start) {
+        for(int index = start + 1; index < input.length(); index++) {
+            if(isBracePair(input, index) || isBracePair(input, index - 2)) {
+                return index;
+            }
+        }
+
+        return input.length();
+    }
+
+    private static boolean isBracePair(String input, int index) {
+        if(index < 0 || index + 1 >= input.length()) {
+            return false;
+        }
+
+        char c = input.charAt(index);
+        return (c == '{' || c == '}') && input.charAt(index + 1) == c;
+    }
+
+    private static boolean isKeyCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-' || c == ':';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Collects the formatting codes ending the given text, of which at most the last two are considered.
+     * These are carried over onto placeholders following the text.
+     */
+    private static void trailingFormats(String text, List<TextFormat> into) {
+        int second = formatStart(text, text.length());
+        if(second == -1) {
+            return;
+        }
+
+        int first = formatStart(text, second);
+        if(first != -1) {
+            format(text, first, second, into);
+        }
+        format(text, second, text.length(), into);
+    }
+
+    /**
+     * Locates the start of a formatting code ending at the given index, being either a single character
+     * or a hex color, or -1 if no code ends there.
+     */
+    private static int formatStart(String text, int end) {
+        if(end >= 2 && text.charAt(end - 2) == '&' && isFormatCode(text.charAt(end - 1))) {
+            return end - 2;
+        }
+
+        if(end >= 8 && text.charAt(end - 8) == '&' && text.charAt(end - 7) == '#') {
+            for(int i = end - 6; i < end; i++) {
+                char c = Character.toLowerCase(text.charAt(i));
+                if(!(c >= 'a' && c <= 'f') && !(c >= '0' && c <= '9')) {
+                    return -1;
                 }
+            }
+            return end - 8;
+        }
+
+        return -1;
+    }
 
-                decorations.forEach(format -> {
-                    parsed.set(parsed.get().style(parent -> {
-                        if(format instanceof TextColor) {
-                            parent.color((TextColor) format);
-                        } else {
-                            parent.decoration((TextDecoration) format, TextDecoration.State.TRUE);
-                        }
-                    }));
-                });
-
-                result.add(parsed.get());
-                i += 2;
+    private static boolean isFormatCode(char c) {
+        char lower = Character.toLowerCase(c);
+        return (lower >= 'a' && lower <= 'f') || (lower >= 'k' && lower <= 'o') || lower == 'r' || (lower >= '0' && lower <= '9');
+    }
+
+    private static void format(String text, int start, int end, List<TextFormat> into) {
+        TextFormat format;
+        if(end - start == 2) {
+            format = FORMATTERS.get(text.charAt(start + 1));
+        } else {
+            format = TextColor.color(Integer.parseInt(text, start + 2, end, 16));
+        }
+
+        if(format != null) {
+            into.add(format);
+        }
+    }
+
+    private record Slot(Key key, String rawKey, @Nullable String arguments, List<TextFormat> decorations) {
+
+        private Component resolve(PlatformSource viewer, Context context, PlaceholderService service) {
+            PlaceholderParser parser = service.parsers().get(this.key);
+            Component parsed;
+            if(parser == null) {
+                parsed = text("{{").append(text(this.rawKey)).append(text("}}"));
+            } else if(service instanceof ImpactorPlaceholderService) {
+                // Modifiers are applied to the parsed placeholder, so they are not arguments of the placeholder itself
+                parsed = ((ImpactorPlaceholderService) service).parse(this.key, List.of(), parser, viewer, context);
             } else {
-                cache.append(split.get(i));
+                parsed = parser.parse(viewer, context);
             }
+
+            if(this.arguments != null) {
+                for (int c = 0; c < this.arguments.length(); c++) {
+                    parsed = ComponentModifiers.transform(this.arguments.charAt(c), parsed);
+                }
+            }
+
+            return decorate(parsed, this.decorations);
+        }
+
+    }
+
+    private static Component decorate(Component component, List<TextFormat> decorations) {
+        for(TextFormat format : decorations) {
+            component = component.style(parent -> {
+                if(format instanceof TextColor) {
+                    parent.color((TextColor) format);
+                } else {
+                    parent.decoration((TextDecoration) format, TextDecoration.State.TRUE);
+                }
+            });
         }
 
-        if(cache.length() > 0) {
-            result.add(this.serializer.deserialize(cache.toString()));
+        return component;
+    }
+
+    private final class CompiledLegacy implements CompiledTemplate {
+
+        /** Static components and placeholder slots, in the order they appear */
+        private final List<Object> parts;
+
+        private CompiledLegacy(List<Object> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public @NotNull Component resolve(@Nullable PlatformSource viewer, Context context) {
+            PlaceholderService service = LegacyTextProcessor.this.service.get();
+
+            Component result = null;
+            for(Object part : this.parts) {
+                Component token = part instanceof Slot ? ((Slot) part).resolve(viewer, context, service) : (Component) part;
+                if(result == null) {
+                    result = token;
+                } else {
+                    result = result.append(token);
+                }
+            }
+
+            return Objects.requireNonNull(result);
         }
 
-        return result;
     }
 
     static {
@@ -26,6 +26,7 @@
 package net.impactdev.impactor.core.text.processors;
 
 import com.google.common.base.Suppliers;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import net.impactdev.impactor.api.Impactor;
 import net.impactdev.impactor.api.platform.sources.PlatformSource;
@@ -34,22 +35,27 @@ import net.impactdev.impactor.api.text.placeholders.PlaceholderArguments;
 import net.impactdev.impactor.api.text.placeholders.PlaceholderParser;
 import net.impactdev.impactor.api.text.placeholders.PlaceholderService;
 import net.impactdev.impactor.api.utility.Context;
+import net.impactdev.impactor.core.text.placeholders.ImpactorPlaceholderService;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.ParsingException;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
-import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.function.Supplier;
 
-public final class MiniMessageProcessor implements TextProcessor {
+public final class MiniMessageProcessor implements TextProcessor, TemplateCompiler {
+
+    /** Identifies the components standing in for placeholders within a compiled template */
+    private static final String SLOT = "impactor:template/slot/";
 
     private final Supplier<PlaceholderService> service = Suppliers.memoize(() -> Impactor.instance().services().provide(PlaceholderService.class));
     private final MiniMessage mini;
@@ -63,27 +69,62 @@ public final class MiniMessageProcessor implements TextProcessor {
         return this.mini.deserialize(raw, this.createResolvers(viewer, context));
     }
 
+    /**
+     * Parses the template once, with each placeholder replaced by a marker component. Resolving the
+     * template then only has to resolve its placeholders and substitute them into the parsed tree,
+     * rather than parsing the template all over again.
+     */
+    @SuppressWarnings("PatternValidation")
+    @Override
+    public CompiledTemplate compile(String template) {
+        PlaceholderService service = this.service.get();
+        int revision = service instanceof ImpactorPlaceholderService ? ((ImpactorPlaceholderService) service).revision() : -1;
+
+        Map<Slot, Integer> indices = Maps.newHashMap();
+        List<Slot> slots = Lists.newArrayList();
+        List<TagResolver> resolvers = Lists.newArrayList();
+        service.parsers().keySet().stream()
+                .map(Key::namespace)
+                .distinct()
+                .forEach(namespace -> resolvers.add(TagResolver.resolver(namespace, (args, ctx) -> {
+                    final Tag.Argument path = args.popOr("Invalid placeholder key, no path specified");
+                    List<String> arguments = Lists.newArrayList();
+                    while(args.hasNext()) {
+                        arguments.add(args.pop().value());
+                    }
+
+                    Slot slot = new Slot(Key.key(namespace, path.lowerValue()), List.copyOf(arguments));
+                    int index = indices.computeIfAbsent(slot, ignore -> {
+                        slots.add(slot);
+                        return slots.size() - 1;
+                    });
+
+                    return Tag.selfClosingInserting(Component.translatable(SLOT + index));
+                })));
+
+        Component parsed = this.mini.deserialize(template, resolvers.toArray(new TagResolver[]{}));
+        return new CompiledMiniMessage(parsed, List.copyOf(slots), revision);
+    }
+
     @SuppressWarnings("PatternValidation")
     private TagResolver[] createResolvers(PlatformSource viewer, Context context) {
-        Map<Key, PlaceholderParser> parsers = service.get().parsers();
+        PlaceholderService service = this.service.get();
         Map<String, TagResolver> resolvers = Maps.newHashMap();
-        Map<PlaceholderResolver, Component> results = Maps.newHashMap();
+        Map<Slot, Component> results = Maps.newHashMap();
 
-        parsers.keySet().stream()
+        service.parsers().keySet().stream()
                 .map(Key::namespace)
                 .distinct()
                 .forEach(namespace -> {
                     resolvers.computeIfAbsent(namespace, in -> TagResolver.resolver(in, (args, ctx) -> {
                         final Tag.Argument path = args.popOr("Invalid placeholder key, no path specified");
-                        Key target = Key.key(namespace, path.lowerValue());
-
-                        PlaceholderArguments arguments = PlaceholderArguments.create(args);
-                        context.append(PlaceholderArguments.class, arguments);
+                        List<String> arguments = Lists.newArrayList();
+                        while(args.hasNext()) {
+                            arguments.add(args.pop().value());
+                        }
 
-                        PlaceholderResolver resolver = new PlaceholderResolver(target, arguments);
-                        Component result = results.computeIfAbsent(resolver, r -> {
-                            return r.resolve(target, viewer, arguments, context, parsers);
-                        });
+                        Slot slot = new Slot(Key.key(namespace, path.lowerValue()), List.copyOf(arguments));
+                        Component result = results.computeIfAbsent(slot, s -> s.resolve(viewer, context, service));
 
                         return Tag.selfClosingInserting(result);
                     }));
@@ -92,48 +133,102 @@ public final class MiniMessageProcessor implements TextProcessor {
         return resolvers.values().toArray(new TagResolver[]{});
     }
 
-    private static final class PlaceholderResolver {
+    private record Slot(Key key, List<String> arguments) {
 
-        private final Key key;
-        private final PlaceholderArguments arguments;
+        private Component resolve(PlatformSource viewer, Context context, PlaceholderService service) {
+            PlaceholderArguments arguments = PlaceholderArguments.create(new TemplateArguments(this.arguments));
+            context.append(PlaceholderArguments.class, arguments);
 
-        @MonotonicNonNull private Component resolved;
+            PlaceholderParser parser = service.parsers().get(this.key);
+            if(parser == null) {
+                StringBuilder placeholder = new StringBuilder("<" + this.key.asString());
+                for(String argument : this.arguments) {
+                    placeholder.append(":").append(argument);
+                }
+                placeholder.append(">");
+
+                return Component.text(placeholder.toString());
+            }
 
-        public PlaceholderResolver(Key key, PlaceholderArguments arguments) {
-            this.key = key;
-            this.arguments = arguments;
+            if(service instanceof ImpactorPlaceholderService) {
+                return ((ImpactorPlaceholderService) service).parse(this.key, this.arguments, parser, viewer, context);
+            }
+            return parser.parse(viewer, context);
         }
 
-        @NotNull
-        public Component resolve(Key target, PlatformSource viewer, PlaceholderArguments arguments, Context context, Map<Key, PlaceholderParser> parsers) {
-            if(this.resolved == null) {
-                PlaceholderParser parser = parsers.get(target);
-                if (parser == null) {
-                    StringBuilder placeholder = new StringBuilder("<" + target.asString());
-                    while (arguments.hasNext()) {
-                        placeholder.append(":").append(arguments.pop());
-                    }
-                    placeholder.append(">");
+    }
 
-                    return (this.resolved = Component.text(placeholder.toString()));
-                }
-                return (this.resolved = parser.parse(viewer, context));
-            }
+    private final class CompiledMiniMessage implements CompiledTemplate {
+
+        private final Component parsed;
+        private final List<Slot> slots;
+        private final int revision;
 
-            return this.resolved;
+        private CompiledMiniMessage(Component parsed, List<Slot> slots, int revision) {
+            this.parsed = parsed;
+            this.slots = slots;
+            this.revision = revision;
         }
 
         @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            PlaceholderResolver that = (PlaceholderResolver) o;
-            return Objects.equals(key, that.key) && Objects.equals(arguments, that.arguments);
+        public @NotNull Component resolve(@Nullable PlatformSource viewer, Context context) {
+            if(this.slots.isEmpty()) {
+                return this.parsed;
+            }
+
+            PlaceholderService service = MiniMessageProcessor.this.service.get();
+            Component[] resolved = new Component[this.slots.size()];
+            for(int i = 0; i < resolved.length; i++) {
+                resolved[i] = this.slots.get(i).resolve(viewer, context, service);
+            }
+
+            return substitute(this.parsed, resolved);
         }
 
         @Override
-        public int hashCode() {
-            return Objects.hash(key, arguments);
+        public boolean stale() {
+            PlaceholderService service = MiniMessageProcessor.this.service.get();
+            return !(service instanceof ImpactorPlaceholderService) || ((ImpactorPlaceholderService) service).revision() != this.revision;
         }
+
+        /**
+         * Replaces every slot marker within the component tree with its resolved placeholder. Markers
+         * carry the style they were given by the template, which the placeholder inherits wherever it
+         * does not specify a style of its own. Branches without any marker are left untouched.
+         */
+        private static Component substitute(Component component, Component[] resolved) {
+            if(component instanceof TranslatableComponent) {
+                String key = ((TranslatableComponent) component).key();
+                if(key.startsWith(SLOT)) {
+                    return resolved[Integer.parseInt(key.substring(SLOT.length()))].applyFallbackStyle(component.style());
+                }
+            }
+
+            Component result = component;
+            HoverEvent<?> hover = component.hoverEvent();
+            if(hover != null && hover.action() == HoverEvent.Action.SHOW_TEXT) {
+                Component text = (Component) hover.value();
+                Component substituted = substitute(text, resolved);
+                if(substituted != text) {
+                    result = result.hoverEvent(HoverEvent.showText(substituted));
+                }
+            }
+
+            List<Component> children = component.children();
+            List<Component> replaced = null;
+            for(int i = 0; i < children.size(); i++) {
+                Component child = children.get(i);
+                Component substituted = substitute(child, resolved);
+                if(substituted != child) {
+                    if(replaced == null) {
+                        replaced = Lists.newArrayList(children);
+                    }
+                    replaced.set(i, substituted);
+                }
+            }
+
+            return replaced != null ? result.children(replaced) : result;
+        }
+
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.text.processors;
+
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * An argument queue over placeholder arguments captured while compiling a template. A new queue is
+ * created each time the template is resolved, as placeholders consume their arguments while parsing.
+ */
+final class TemplateArguments implements ArgumentQueue {
+
+    private final List<String> arguments;
+    private int index;
+
+    TemplateArguments(List<String> arguments) {
+        this.arguments = arguments;
+    }
+
+    @Override
+    public Tag.@NotNull Argument pop() {
+        if(!this.hasNext()) {
+            throw new IndexOutOfBoundsException("No further arguments are available");
+        }
+
+        String value = this.arguments.get(this.index++);
+        return () -> value;
+    }
+
+    @Override
+    public Tag.@NotNull Argument popOr(@NotNull String errorMessage) {
+        if(!this.hasNext()) {
+            throw new IllegalArgumentException(errorMessage);
+        }
+
+        return this.pop();
+    }
+
+    @Override
+    public Tag.@NotNull Argument popOr(@NotNull Supplier<String> errorMessage) {
+        if(!this.hasNext()) {
+            throw new IllegalArgumentException(errorMessage.get());
+        }
+
+        return this.pop();
+    }
+
+    @Override
+    public Tag.@Nullable Argument peek() {
+        if(!this.hasNext()) {
+            return null;
+        }
+
+        String value = this.arguments.get(this.index);
+        return () -> value;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.index < this.arguments.size();
+    }
+
+    @Override
+    public void reset() {
+        this.index = 0;
+    }
+
+}
@@ -53,12 +53,16 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ImpactorTranslationManager implements TranslationManager {
 
+    /** Incremented each time any translation manager reloads, see {@link #revision()} */
+    private static final AtomicInteger REVISION = new AtomicInteger();
+
     private final TranslationRepository repository;
     private final Locale defaultLocale;
     private final Path root;
@@ -103,6 +107,19 @@ public class ImpactorTranslationManager implements TranslationManager {
                 ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
             }
         }
+
+        REVISION.incrementAndGet();
+    }
+
+    /**
+     * Indicates the revision of the loaded translations, which changes each time any translation
+     * manager reloads. Anything derived from translated text, such as its measured width, can compare
+     * this against the revision it was derived from to know when it must be rebuilt.
+     *
+     * @return The current revision of the loaded translations
+     */
+    public static int revision() {
+        return REVISION.get();
     }
 
     @Override
@@ -32,19 +32,25 @@ import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class MultiLineTranslation implements Translation<List<Component>> {
 
-    private final List<String> template;
+    private final List<TranslationTemplate> template;
 
     public MultiLineTranslation(final List<String> template) {
-        this.template = template;
+        this.template = template.stream().map(TranslationTemplate::new).toList();
     }
 
     @Override
     public List<Component> build(final @NotNull TextProcessor processor, @NotNull Context context) {
-        return processor.parse(this.template, context);
+        List<Component> built = new ArrayList<>(this.template.size());
+        for(TranslationTemplate line : this.template) {
+            built.add(line.build(processor, context));
+        }
+
+        return built;
     }
 
     @Override
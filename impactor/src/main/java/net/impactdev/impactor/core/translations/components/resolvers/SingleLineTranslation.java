@@ -34,15 +34,15 @@ import org.jetbrains.annotations.NotNull;
 
 public class SingleLineTranslation implements Translation<Component> {
 
-    private final String template;
+    private final TranslationTemplate template;
 
     public SingleLineTranslation(String template) {
-        this.template = template;
+        this.template = new TranslationTemplate(template);
     }
 
     @Override
     public @NotNull Component build(final @NotNull TextProcessor processor, @NotNull Context context) {
-        return processor.parse(this.template, context);
+        return this.template.build(processor, context);
     }
 
     @Override
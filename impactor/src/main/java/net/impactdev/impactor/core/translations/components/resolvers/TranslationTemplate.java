@@ -0,0 +1,67 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.core.translations.components.resolvers;
+
+import net.impactdev.impactor.api.platform.sources.PlatformSource;
+import net.impactdev.impactor.api.text.TextProcessor;
+import net.impactdev.impactor.api.utility.Context;
+import net.impactdev.impactor.core.text.processors.CompiledTemplate;
+import net.impactdev.impactor.core.text.processors.TemplateCompiler;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds a single line of a translation alongside its compiled form, which is compiled the first time
+ * the translation is used. Compilation is deferred, rather than performed as translations are loaded,
+ * as placeholders may not yet have been registered by then.
+ */
+final class TranslationTemplate {
+
+    private final String raw;
+    private volatile @Nullable Compiled compiled;
+
+    TranslationTemplate(String raw) {
+        this.raw = raw;
+    }
+
+    @NotNull Component build(final @NotNull TextProcessor processor, final @NotNull Context context) {
+        if(!(processor instanceof TemplateCompiler)) {
+            return processor.parse(this.raw, context);
+        }
+
+        Compiled compiled = this.compiled;
+        if(compiled == null || compiled.processor() != processor || compiled.template().stale()) {
+            this.compiled = compiled = new Compiled(processor, ((TemplateCompiler) processor).compile(this.raw));
+        }
+
+        PlatformSource viewer = context.request(PlatformSource.class).orElse(null);
+        return compiled.template().resolve(viewer, context);
+    }
+
+    private record Compiled(TextProcessor processor, CompiledTemplate template) {}
+
+}
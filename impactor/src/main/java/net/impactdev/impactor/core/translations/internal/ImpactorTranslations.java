@@ -70,9 +70,15 @@ public interface ImpactorTranslations {
     TranslationProvider<Component> ECONOMY_BALTOP_CALCULATING = create("economy.baltop.calculating");
     TranslationProvider<Component> ECONOMY_BALTOP_HEADER = create("economy.baltop.header");
     TranslationProvider<Component> ECONOMY_BALTOP_ENTRY = create("economy.baltop.entry");
+    TranslationProvider<Component> ECONOMY_BALTOP_SELF = create("economy.baltop.self");
     TranslationProvider<Component> ECONOMY_BALTOP_FOOTER = create("economy.baltop.footer");
+    TranslationProvider<Component> ECONOMY_BALTOP_FAILED = create("economy.baltop.failed");
     TranslationProvider<Component> ECONOMY_TRANSFER_NOT_ALLOWED = create("economy.transactions.transfer.not-allowed");
     TranslationProvider<Component> ECONOMY_RECEIVE_PAYMENT = create("economy.payments.receive");
+    TranslationProvider<Component> ECONOMY_JOURNAL_COMPACTING = create("economy.journal.compacting");
+    TranslationProvider<Component> ECONOMY_JOURNAL_COMPACTED = create("economy.journal.compacted");
+    TranslationProvider<Component> ECONOMY_JOURNAL_COMPACT_FAILED = create("economy.journal.compact-failed");
+    TranslationProvider<Component> ECONOMY_JOURNAL_DISABLED = create("economy.journal.disabled");
 
     // Translations
     TranslationProvider<Component> TRANSLATIONS_SEARCHING = create("translations.searching");
@@ -89,6 +95,7 @@ public interface ImpactorTranslations {
     TranslationProvider<Component> TRANSLATIONS_INSTALL_FAILED = create("translations.install-failed");
 
     TranslationProvider<Component> PLATFORM_INFO_GENERATED = create("platform.info.notify-generated");
+    TranslationProvider<Component> PLATFORM_DIAGNOSTICS_GENERATED = create("platform.diagnostics.notify-generated");
 
     TranslationProvider<Component> INVALID_CLICK_CALLBACK = create("click-callback.invalid");
 
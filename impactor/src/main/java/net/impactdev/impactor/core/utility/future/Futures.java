@@ -27,7 +27,9 @@ package net.impactdev.impactor.core.utility.future;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.impactdev.impactor.api.utility.ExceptionPrinter;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 import net.impactdev.impactor.core.utility.future.ThrowingRunnable;
 
 import java.util.Arrays;
@@ -36,12 +38,11 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -49,16 +50,14 @@ import java.util.stream.Collectors;
 
 public final class Futures {
 
-    public static final ExecutorService ASYNC_EXECUTOR = Executors.newFixedThreadPool(
-            8,
-            new ThreadFactoryBuilder()
-                    .setNameFormat("Impactor Async Executor - #%d")
-                    .setDaemon(true)
-                    .build()
-    );
+    private static final LongAdder SCHEDULED = new LongAdder();
+    private static final LongAdder TIMED_OUT = new LongAdder();
+
+    /** Started on first use, then shared by every delayed and timed future */
+    private static volatile ScheduledThreadPoolExecutor delayer;
 
     public static <T> CompletableFuture<T> execute(Callable<T> method) {
-        return execute(ASYNC_EXECUTOR, method);
+        return execute(ExecutorLanes.instance().blocking(), method);
     }
 
     public static <T> CompletableFuture<T> execute(Executor executor, Callable<T> method) {
@@ -73,7 +72,7 @@ public final class Futures {
     }
 
     public static CompletableFuture<Void> execute(ThrowingRunnable runnable) {
-        return execute(ASYNC_EXECUTOR, runnable);
+        return execute(ExecutorLanes.instance().blocking(), runnable);
     }
 
     public static CompletableFuture<Void> execute(Executor executor, ThrowingRunnable runnable) {
@@ -88,8 +87,10 @@ public final class Futures {
     }
 
     public static <T> CompletableFuture<T> makeFutureDelayed(Callable<T> callable, long delay, TimeUnit unit) {
-        ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
+        return makeFutureDelayed(callable, ExecutorLanes.instance().blocking(), delay, unit);
+    }
 
+    public static <T> CompletableFuture<T> makeFutureDelayed(Callable<T> callable, Executor executor, long delay, TimeUnit unit) {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 return callable.call();
@@ -99,34 +100,66 @@ public final class Futures {
                 }
                 throw new CompletionException(e);
             }
-        }, r -> scheduler.schedule(() -> ASYNC_EXECUTOR.execute(r), delay, unit));
+        }, r -> schedule(() -> executor.execute(r), delay, unit));
     }
 
-    public static <T> CompletableFuture<T> makeFutureDelayed(Callable<T> callable, Executor executor, long delay, TimeUnit unit) {
-        ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1);
-
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return callable.call();
-            } catch (Exception e) {
-                if (e instanceof RuntimeException) {
-                    throw (RuntimeException) e;
+    /**
+     * Completes the given future exceptionally with a {@link TimeoutException} should it not complete
+     * within the specified amount of time. Should the future complete first, its pending timeout is
+     * removed from the delay scheduler rather than left to expire.
+     *
+     * <p>The timeout completes the future from the CPU lane, so dependent stages never run
+     * on, or hold up, the delay scheduler.
+     *
+     * @param future The future to time out
+     * @param timeout The amount of time the future has to complete
+     * @param unit The time unit to measure our timeout value by
+     * @param <T> The type of value supplied by the future
+     * @return The given future
+     */
+    public static <T> CompletableFuture<T> orTimeout(CompletableFuture<T> future, long timeout, TimeUnit unit) {
+        if(!future.isDone()) {
+            ScheduledFuture<?> expiry = schedule(() -> ExecutorLanes.instance().cpu().execute(() -> {
+                if(future.completeExceptionally(new TimeoutException())) {
+                    TIMED_OUT.increment();
                 }
-                throw new CompletionException(e);
-            }
-        }, r -> scheduler.schedule(() -> executor.execute(r), delay, unit));
+            }), timeout, unit);
+            future.whenComplete((result, error) -> expiry.cancel(false));
+        }
+
+        return future;
+    }
+
+    /**
+     * Provides the current state of the delay scheduler shared by every delayed and timed future.
+     *
+     * @return Statistics of the shared delay scheduler
+     */
+    public static DelayStatistics delays() {
+        ScheduledThreadPoolExecutor scheduler = delayer;
+        return new DelayStatistics(
+                scheduler != null ? scheduler.getQueue().size() : 0,
+                SCHEDULED.sum(),
+                TIMED_OUT.sum()
+        );
+    }
+
+    public static void meta(PrettyPrinter printer) {
+        DelayStatistics delays = delays();
+        printer.add("  Pending Delays: %d", (Object) delays.queued());
+        printer.add("  Scheduled: %d (%d timed out)", delays.scheduled(), delays.timedOut());
     }
 
     public static CompletableFuture<Void> timed(ThrowingRunnable runnable, long duration, TimeUnit unit) {
-        return execute(runnable).acceptEither(timeoutAfter(duration, unit), ignore -> {});
+        return orTimeout(execute(runnable), duration, unit);
     }
 
     public static CompletableFuture<Void> timed(ThrowingRunnable runnable, Executor executor, long duration, TimeUnit unit) {
-        return execute(executor, runnable).acceptEither(timeoutAfter(duration, unit), ignore -> {});
+        return orTimeout(execute(executor, runnable), duration, unit);
     }
 
     public static <T> CompletableFuture<T> timed(Callable<T> callable, long duration, TimeUnit unit) {
-        return execute(callable).applyToEither(timeoutAfter(duration, unit), value -> value);
+        return orTimeout(execute(callable), duration, unit);
     }
 
     /**
@@ -182,15 +215,39 @@ public final class Futures {
     }
 
     public static void shutdown() {
-        ASYNC_EXECUTOR.shutdown();
-        try {
-            if (!ASYNC_EXECUTOR.awaitTermination(10, TimeUnit.SECONDS)) {
-                BaseImpactorPlugin.instance().logger().severe("Timed out waiting for the Impactor worker thread pool to terminate");
-                reportRunningTasks(thread -> thread.getName().startsWith("Impactor Async Executor"));
+        synchronized (Futures.class) {
+            if(delayer != null) {
+                delayer.shutdownNow();
+                delayer = null;
+            }
+        }
+    }
+
+    private static ScheduledFuture<?> schedule(Runnable action, long delay, TimeUnit unit) {
+        SCHEDULED.increment();
+        return delayer().schedule(action, delay, unit);
+    }
+
+    private static ScheduledThreadPoolExecutor delayer() {
+        ScheduledThreadPoolExecutor scheduler = delayer;
+        if(scheduler == null) {
+            synchronized (Futures.class) {
+                scheduler = delayer;
+                if(scheduler == null) {
+                    scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                            .setNameFormat("Impactor Delay Scheduler")
+                            .setDaemon(true)
+                            .build()
+                    );
+
+                    // Timeouts of futures which complete in time are cancelled, and should not linger in the queue
+                    scheduler.setRemoveOnCancelPolicy(true);
+                    delayer = scheduler;
+                }
             }
-        } catch (InterruptedException e) {
-            e.printStackTrace();
         }
+
+        return scheduler;
     }
 
     public static void reportRunningTasks(Predicate<Thread> predicate) {
@@ -203,4 +260,13 @@ public final class Futures {
         });
     }
 
+    /**
+     * Statistics of the delay scheduler shared by every delayed and timed future.
+     *
+     * @param queued The number of delayed actions and timeouts currently waiting on the scheduler
+     * @param scheduled The total number of delayed actions and timeouts scheduled
+     * @param timedOut The total number of futures completed by a timeout
+     */
+    public record DelayStatistics(int queued, long scheduled, long timedOut) {}
+
 }
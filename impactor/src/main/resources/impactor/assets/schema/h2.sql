@@ -0,0 +1,10 @@
+CREATE TABLE `{prefix}accounts` (
+    `uuid`      BINARY(16)          NOT NULL,
+    `currency`  VARCHAR(100)        NOT NULL,
+    `virtual`   BOOLEAN             NOT NULL    DEFAULT false,
+    `balance`   DOUBLE              NOT NULL,
+    `version`   BIGINT              NOT NULL    DEFAULT 0,
+    PRIMARY KEY (`uuid`, `currency`)
+);
+
+CREATE INDEX IF NOT EXISTS `{prefix}accounts_ranking` ON `{prefix}accounts` (`currency`, `balance`);
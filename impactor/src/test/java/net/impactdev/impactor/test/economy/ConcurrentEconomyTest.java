@@ -0,0 +1,140 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.economy;
+
+import net.impactdev.impactor.api.Impactor;
+import net.impactdev.impactor.api.economy.EconomyService;
+import net.impactdev.impactor.api.economy.accounts.Account;
+import net.impactdev.impactor.api.economy.currency.Currency;
+import net.impactdev.impactor.api.economy.transactions.details.EconomyResultType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentEconomyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 250;
+
+    private static final UUID hammered = UUID.randomUUID();
+    private static final UUID left = UUID.randomUUID();
+    private static final UUID right = UUID.randomUUID();
+
+    @AfterAll
+    public static void clean() {
+        EconomyService service = Impactor.instance().services().provide(EconomyService.class);
+        Currency currency = service.currencies().primary();
+        for(UUID target : List.of(hammered, left, right)) {
+            service.deleteAccount(currency, target).join();
+        }
+    }
+
+    @Test
+    public void concurrentDepositsAndWithdrawals() throws Exception {
+        EconomyService service = Impactor.instance().services().provide(EconomyService.class);
+        Currency currency = service.currencies().primary();
+        Account account = service.account(currency, hammered).join();
+        BigDecimal starting = account.balance();
+
+        AtomicInteger failures = new AtomicInteger();
+        this.hammer(thread -> {
+            for(int i = 0; i < OPERATIONS; i++) {
+                if(account.deposit(BigDecimal.valueOf(2)).result() != EconomyResultType.SUCCESS) {
+                    failures.incrementAndGet();
+                }
+                if(account.withdraw(BigDecimal.ONE).result() != EconomyResultType.SUCCESS) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(0, failures.get());
+        assertEquals(0, starting.add(BigDecimal.valueOf((long) THREADS * OPERATIONS)).compareTo(account.balance()));
+    }
+
+    @Test
+    public void opposingTransfersConserveFunds() throws Exception {
+        EconomyService service = Impactor.instance().services().provide(EconomyService.class);
+        Currency currency = service.currencies().primary();
+        Account a = service.account(currency, left).join();
+        Account b = service.account(currency, right).join();
+        BigDecimal total = a.balance().add(b.balance());
+
+        // Alternate transfer direction per thread so opposing lock acquisition is exercised
+        this.hammer(thread -> {
+            Account from = thread % 2 == 0 ? a : b;
+            Account to = thread % 2 == 0 ? b : a;
+            for(int i = 0; i < OPERATIONS; i++) {
+                from.transfer(to, BigDecimal.ONE);
+            }
+        });
+
+        assertEquals(0, total.compareTo(a.balance().add(b.balance())));
+        assertTrue(a.balance().signum() >= 0);
+        assertTrue(b.balance().signum() >= 0);
+    }
+
+    private void hammer(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for(int i = 0; i < THREADS; i++) {
+                final int thread = i;
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    worker.work(thread);
+                    return null;
+                });
+            }
+
+            start.countDown();
+            for(Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void work(int thread);
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.economy;
+
+import net.impactdev.impactor.api.economy.currency.Currency;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static net.kyori.adventure.text.Component.text;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class CurrencyFormatTest {
+
+    private static final Currency.CurrencyFormatting FORMATTING = new Currency.CurrencyFormatting(
+            "<gold><symbol><amount>",
+            "<hover:show_text:'<gray><amount> <name>'><green><amount></green> <name></hover>"
+    );
+
+    private static final Currency CURRENCY = Currency.builder()
+            .key(Key.key("impactor:format_test"))
+            .name(text("Dollar"))
+            .plural(text("Dollars"))
+            .symbol(text('$').color(NamedTextColor.GREEN))
+            .decimals(2)
+            .formatting(FORMATTING)
+            .starting(BigDecimal.ZERO)
+            .build();
+
+    private static final List<BigDecimal> AMOUNTS = List.of(
+            BigDecimal.ZERO,
+            BigDecimal.ONE,
+            new BigDecimal("1.00"),
+            new BigDecimal("1.5"),
+            new BigDecimal("-42.1"),
+            new BigDecimal("1234567.891"),
+            new BigDecimal("999999999.99")
+    );
+
+    private static final List<Locale> LOCALES = List.of(Locale.US, Locale.CANADA_FRENCH, Locale.GERMANY, Locale.ITALIAN);
+
+    @Test
+    public void matchesTemplateParsing() {
+        for(BigDecimal amount : AMOUNTS) {
+            for(Locale locale : LOCALES) {
+                assertEquals(reference(amount, true, locale), CURRENCY.format(amount, true, locale));
+                assertEquals(reference(amount, false, locale), CURRENCY.format(amount, false, locale));
+            }
+        }
+    }
+
+    @Test
+    public void formatsWithoutDoublePrecisionLoss() {
+        BigDecimal amount = new BigDecimal("12345678901234567.89");
+        assertEquals("$12,345,678,901,234,567.89", plain(CURRENCY.format(amount, true, Locale.US)));
+    }
+
+    @Test
+    public void concurrentFormatting() {
+        BigDecimal amount = new BigDecimal("1234567.891");
+        String expected = plain(CURRENCY.format(amount, true, Locale.GERMANY));
+
+        List<CompletableFuture<String>> results = IntStream.range(0, 1_000)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> plain(CURRENCY.format(amount, true, Locale.GERMANY))))
+                .toList();
+
+        results.forEach(result -> assertEquals(expected, result.join()));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "impactor.benchmarks", matches = "true")
+    public void formatBenchmark() {
+        final int warmup = 20_000;
+        final int iterations = 100_000;
+        final BigDecimal amount = new BigDecimal("1234567.891");
+
+        for(int i = 0; i < warmup; i++) {
+            reference(amount, false, Locale.US);
+            CURRENCY.format(amount, false, Locale.US);
+        }
+
+        long start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            reference(amount, false, Locale.US);
+        }
+        long parsed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            CURRENCY.format(amount, false, Locale.US);
+        }
+        long compiled = System.nanoTime() - start;
+
+        System.out.printf("Parsed: %.2fus/op, Compiled: %.2fus/op%n", parsed / 1_000.0 / iterations, compiled / 1_000.0 / iterations);
+    }
+
+    /**
+     * Formats the amount by parsing the currency's template on every call, as the currency once did.
+     */
+    private static Component reference(BigDecimal amount, boolean condensed, Locale locale) {
+        DecimalFormat formatter = new DecimalFormat("#,##0.00", new DecimalFormatSymbols(locale));
+        return MiniMessage.miniMessage().deserialize(
+                condensed ? FORMATTING.condensed() : FORMATTING.expanded(),
+                Placeholder.component("symbol", CURRENCY.symbol()),
+                Placeholder.component("amount", text(formatter.format(amount.doubleValue()))),
+                Placeholder.component("name", amount.doubleValue() == 1 ? CURRENCY.singular() : CURRENCY.plural())
+        );
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+}
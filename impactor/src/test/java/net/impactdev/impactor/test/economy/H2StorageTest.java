@@ -0,0 +1,268 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.economy;
+
+import net.impactdev.impactor.api.economy.EconomyService;
+import net.impactdev.impactor.api.economy.accounts.Account;
+import net.impactdev.impactor.api.economy.currency.Currency;
+import net.impactdev.impactor.api.storage.StorageCredentials;
+import net.impactdev.impactor.core.economy.accounts.ImpactorAccount;
+import net.impactdev.impactor.core.economy.storage.implementations.SQLProvider;
+import net.impactdev.impactor.core.storage.sql.H2ConnectionImpl;
+import net.impactdev.impactor.core.utility.future.ThrowingRunnable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class H2StorageTest {
+
+    @Test
+    public void accountsRoundTrip(@TempDir Path root) throws Exception {
+        Currency currency = EconomyService.instance().currencies().primary();
+        SQLProvider provider = provider(root);
+        provider.init();
+
+        try {
+            UUID poor = UUID.randomUUID();
+            UUID rich = UUID.randomUUID();
+            UUID server = UUID.randomUUID();
+            provider.saveAll(List.of(
+                    ImpactorAccount.load(currency, poor, false, BigDecimal.valueOf(10)),
+                    ImpactorAccount.load(currency, rich, false, BigDecimal.valueOf(500)),
+                    ImpactorAccount.load(currency, server, true, BigDecimal.valueOf(1000))
+            ));
+
+            // Saving an existing account must update it in place rather than insert a duplicate
+            provider.save(ImpactorAccount.load(currency, poor, false, BigDecimal.valueOf(25)));
+
+            assertTrue(provider.hasAccount(currency, poor));
+            assertEquals(0, BigDecimal.valueOf(25).compareTo(provider.account(currency, poor, builder -> builder).balance()));
+
+            List<Account> top = provider.top(currency, 0, 10, false);
+            assertEquals(List.of(rich, poor), top.stream().map(Account::owner).toList());
+            assertEquals(server, provider.top(currency, 0, 1, true).get(0).owner());
+            assertEquals(OptionalInt.of(2), provider.rank(currency, poor, false));
+            assertEquals(OptionalInt.of(3), provider.rank(currency, poor, true));
+
+            provider.delete(currency, rich);
+            assertFalse(provider.hasAccount(currency, rich));
+
+            List<Account> streamed = new ArrayList<>();
+            provider.accounts(currency, streamed::add);
+            assertEquals(2, streamed.size());
+
+            assertTrue(provider.purge());
+            assertFalse(provider.hasAccount(currency, poor));
+        } finally {
+            provider.shutdown();
+        }
+    }
+
+    @Test
+    public void serversSharingStorageReconcile(@TempDir Path root) throws Exception {
+        Currency currency = EconomyService.instance().currencies().primary();
+        SQLProvider first = provider(root);
+        SQLProvider second = provider(root);
+        first.init();
+        second.init();
+
+        try {
+            UUID owner = UUID.randomUUID();
+            first.save(ImpactorAccount.load(currency, owner, false, BigDecimal.valueOf(100)));
+
+            // Both servers cache the account at the same version
+            Account a = first.account(currency, owner, builder -> builder);
+            Account b = second.account(currency, owner, builder -> builder);
+
+            a.deposit(BigDecimal.valueOf(50));
+            first.save(a);
+            assertEquals(0, BigDecimal.valueOf(150).compareTo(a.balance()));
+
+            // The second server is unaware of the deposit, yet must not discard it
+            b.withdraw(BigDecimal.valueOf(30));
+            second.save(b);
+            assertEquals(0, BigDecimal.valueOf(120).compareTo(b.balance()));
+            assertEquals(0, BigDecimal.valueOf(120).compareTo(first.account(currency, owner, builder -> builder).balance()));
+
+            // The first server picks up the withdrawal the next time it writes the account
+            a.deposit(BigDecimal.TEN);
+            first.save(a);
+            assertEquals(0, BigDecimal.valueOf(130).compareTo(a.balance()));
+
+            // Setting a balance outright overrides the stored balance, even when made against a stale version
+            b.set(BigDecimal.valueOf(500));
+            second.save(b);
+            assertEquals(0, BigDecimal.valueOf(500).compareTo(first.account(currency, owner, builder -> builder).balance()));
+        } finally {
+            first.shutdown();
+            second.shutdown();
+        }
+    }
+
+    @Test
+    public void concurrentWithdrawalsAreNeverDropped(@TempDir Path root) throws Exception {
+        Currency currency = EconomyService.instance().currencies().primary();
+        SQLProvider first = provider(root);
+        SQLProvider second = provider(root);
+        first.init();
+        second.init();
+
+        try {
+            UUID owner = UUID.randomUUID();
+            first.save(ImpactorAccount.load(currency, owner, false, BigDecimal.valueOf(100)));
+
+            Account a = first.account(currency, owner, builder -> builder);
+            Account b = second.account(currency, owner, builder -> builder);
+
+            // Each server sees enough funds locally, and both withdrawals have already succeeded. Together
+            // with the deposit coalesced into the same write, every change must reach storage.
+            a.withdraw(BigDecimal.valueOf(80));
+            b.withdraw(BigDecimal.valueOf(80));
+            b.deposit(BigDecimal.valueOf(30));
+            first.save(a);
+            second.save(b);
+
+            assertEquals(0, BigDecimal.valueOf(-30).compareTo(first.account(currency, owner, builder -> builder).balance()));
+            assertEquals(0, BigDecimal.valueOf(-30).compareTo(b.balance()));
+        } finally {
+            first.shutdown();
+            second.shutdown();
+        }
+    }
+
+    @Test
+    public void existingTablesAreMigrated(@TempDir Path root) throws Exception {
+        // A table as created by earlier releases, without the version column or the ranking index
+        try(Connection connection = DriverManager.getConnection(url(root))) {
+            try(Statement s = connection.createStatement()) {
+                s.execute("CREATE TABLE `economy_accounts` (`uuid` BINARY(16) NOT NULL, `currency` VARCHAR(100) NOT NULL, `virtual` BOOLEAN NOT NULL DEFAULT false, `balance` DOUBLE NOT NULL, PRIMARY KEY (`uuid`, `currency`))");
+            }
+        }
+
+        SQLProvider provider = provider(root);
+        provider.init();
+        provider.shutdown();
+
+        try(Connection connection = DriverManager.getConnection(url(root))) {
+            List<String> indexes = new ArrayList<>();
+            try(ResultSet rs = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, "economy_accounts", false, true)) {
+                while(rs.next()) {
+                    indexes.add(rs.getString("INDEX_NAME"));
+                }
+            }
+            assertTrue(indexes.stream().anyMatch("economy_accounts_ranking"::equalsIgnoreCase), () -> "Indexes: " + indexes);
+
+            try(ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, "economy_accounts", "version")) {
+                assertTrue(rs.next());
+            }
+        }
+
+        // Initializing again must leave the migrated table as is
+        SQLProvider again = provider(root);
+        again.init();
+        again.shutdown();
+    }
+
+    /**
+     * Measures the average latency and heap allocation per call of the hottest provider operations.
+     * This is only run when requested, via -Dimpactor.benchmarks=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "impactor.benchmarks", matches = "true")
+    public void hotPathBenchmark(@TempDir Path root) throws Exception {
+        final int warmup = 5_000;
+        final int iterations = 20_000;
+
+        Currency currency = EconomyService.instance().currencies().primary();
+        SQLProvider provider = provider(root);
+        provider.init();
+
+        try {
+            UUID owner = UUID.randomUUID();
+            provider.save(ImpactorAccount.load(currency, owner, false, BigDecimal.TEN));
+
+            Map<String, ThrowingRunnable> operations = new LinkedHashMap<>();
+            // A freshly loaded account is always written, whereas an unchanged account would be skipped
+            operations.put("save", () -> provider.save(ImpactorAccount.load(currency, owner, false, BigDecimal.TEN)));
+            operations.put("account", () -> provider.account(currency, owner, builder -> builder));
+            operations.put("hasAccount", () -> provider.hasAccount(currency, owner));
+
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long thread = Thread.currentThread().getId();
+            for(Map.Entry<String, ThrowingRunnable> operation : operations.entrySet()) {
+                for(int i = 0; i < warmup; i++) {
+                    operation.getValue().run();
+                }
+
+                long allocated = threads.getThreadAllocatedBytes(thread);
+                long start = System.nanoTime();
+                for(int i = 0; i < iterations; i++) {
+                    operation.getValue().run();
+                }
+                long elapsed = System.nanoTime() - start;
+                allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+
+                System.out.printf(
+                        "%s: %.2fus/op, %d bytes/op%n",
+                        operation.getKey(), elapsed / 1_000.0 / iterations, allocated / iterations
+                );
+            }
+        } finally {
+            provider.shutdown();
+        }
+    }
+
+    private static String url(Path root) {
+        return "jdbc:h2:file:" + root.resolve("economy").toAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+    }
+
+    private static SQLProvider provider(Path root) {
+        return new SQLProvider(
+                new H2ConnectionImpl(root.resolve("economy"), new StorageCredentials("localhost", "minecraft", "root", "", 2, 2, 1800000, 0, 5000, Map.of())),
+                "economy_"
+        );
+    }
+
+}
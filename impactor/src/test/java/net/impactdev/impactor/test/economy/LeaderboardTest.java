@@ -0,0 +1,102 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.economy;
+
+import net.impactdev.impactor.api.economy.EconomyService;
+import net.impactdev.impactor.api.economy.accounts.Account;
+import net.impactdev.impactor.api.economy.currency.Currency;
+import net.impactdev.impactor.core.economy.accounts.ImpactorAccount;
+import net.impactdev.impactor.core.economy.leaderboard.BalanceLeaderboard;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeaderboardTest {
+
+    @Test
+    public void rankingsMatchSortedOrder() {
+        Currency currency = EconomyService.instance().currencies().primary();
+        BalanceLeaderboard leaderboard = new BalanceLeaderboard();
+
+        List<Account> accounts = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            Account account = ImpactorAccount.load(
+                    currency,
+                    UUID.randomUUID(),
+                    i % 10 == 0,
+                    BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(0, 500))
+            );
+
+            accounts.add(account);
+            leaderboard.update(account);
+        }
+
+        // Re-rank a portion of the accounts to verify stale entries are replaced
+        for(int i = 0; i < 100; i++) {
+            Account previous = accounts.get(i);
+            Account account = ImpactorAccount.load(
+                    currency,
+                    previous.owner(),
+                    previous.virtual(),
+                    BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(0, 500))
+            );
+
+            accounts.set(i, account);
+            leaderboard.update(account);
+        }
+
+        List<Account> expected = accounts.stream()
+                .filter(account -> !account.virtual())
+                .sorted(Comparator.comparing(Account::balance, Comparator.reverseOrder()).thenComparing(Account::owner))
+                .toList();
+
+        assertEquals(expected.size(), leaderboard.size(false));
+        assertEquals(accounts.size(), leaderboard.size(true));
+        assertEquals(expected.subList(0, 10), leaderboard.page(0, 10, false));
+        assertEquals(expected.subList(20, 30), leaderboard.page(20, 10, false));
+        assertTrue(leaderboard.page(Integer.MAX_VALUE - 5, 10, false).isEmpty());
+
+        for(int i = 0; i < expected.size(); i += 37) {
+            assertEquals(OptionalInt.of(i + 1), leaderboard.rank(expected.get(i).owner(), false));
+        }
+
+        Account removed = expected.get(0);
+        leaderboard.remove(removed.owner());
+        assertFalse(leaderboard.rank(removed.owner(), false).isPresent());
+        assertEquals(expected.get(1), leaderboard.page(0, 1, false).get(0));
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.economy;
+
+import net.impactdev.impactor.api.economy.EconomyService;
+import net.impactdev.impactor.api.economy.currency.Currency;
+import net.impactdev.impactor.api.economy.transactions.details.EconomyResultType;
+import net.impactdev.impactor.api.economy.transactions.details.EconomyTransactionType;
+import net.impactdev.impactor.core.economy.ImpactorEconomyService;
+import net.impactdev.impactor.core.economy.accounts.ImpactorAccount;
+import net.impactdev.impactor.core.economy.storage.journal.BalanceSnapshot;
+import net.impactdev.impactor.core.economy.storage.journal.JournalRecord;
+import net.impactdev.impactor.core.economy.storage.journal.TransactionJournal;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransactionJournalTest {
+
+    private static final Key CURRENCY = Key.key("impactor", "dollars");
+
+    @Test
+    public void recordsSurviveReopen(@TempDir Path root) throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        TransactionJournal journal = TransactionJournal.open(root);
+        CompletableFuture<?>[] writes = new CompletableFuture[100];
+        for(int i = 0; i < writes.length; i++) {
+            UUID owner = i % 2 == 0 ? first : second;
+            writes[i] = journal.append(record(owner, BigDecimal.valueOf(i), now));
+        }
+        CompletableFuture.allOf(writes).join();
+
+        assertEquals(50, journal.history(first, CURRENCY, now).size());
+        journal.close();
+
+        TransactionJournal reopened = TransactionJournal.open(root);
+        List<JournalRecord> history = reopened.history(second, CURRENCY, now);
+        assertEquals(50, history.size());
+        assertEquals(record(second, BigDecimal.valueOf(1), now), history.get(0));
+        assertEquals(record(second, BigDecimal.valueOf(99), now), history.get(49));
+        assertTrue(reopened.history(second, CURRENCY, now.plusSeconds(1)).isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    public void tornTailIsDiscarded(@TempDir Path root) throws Exception {
+        UUID owner = UUID.randomUUID();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        TransactionJournal journal = TransactionJournal.open(root);
+        for(int i = 0; i < 10; i++) {
+            journal.append(record(owner, BigDecimal.valueOf(i), now));
+        }
+        journal.close();
+
+        // Simulate a crash mid-write by leaving a partial record at the end of the segment
+        Path segment = root.resolve(LocalDate.now(ZoneId.systemDefault()) + ".journal");
+        try(FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[JournalRecord.SIZE / 2]));
+        }
+
+        TransactionJournal reopened = TransactionJournal.open(root);
+        assertEquals(10L * JournalRecord.SIZE, Files.size(segment));
+
+        reopened.append(record(owner, BigDecimal.TEN, now)).join();
+        assertEquals(11, reopened.history(owner, CURRENCY, now).size());
+        reopened.close();
+    }
+
+    @Test
+    public void snapshotAndReplayRestoreBalances(@TempDir Path root) throws Exception {
+        UUID kept = UUID.randomUUID();
+        UUID changed = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        TransactionJournal journal = TransactionJournal.open(root);
+        BalanceSnapshot balances = BalanceSnapshot.empty();
+        for(UUID owner : List.of(kept, changed, deleted)) {
+            JournalRecord record = record(owner, BigDecimal.valueOf(100), now);
+            balances.apply(record);
+            journal.append(record);
+        }
+
+        TransactionJournal.Checkpoint checkpoint = journal.checkpoint().join();
+        balances.write(root.resolve(BalanceSnapshot.FILE_NAME), checkpoint);
+
+        // Changes made after the snapshot must only be recoverable through replay
+        journal.append(record(changed, BigDecimal.valueOf(250), now));
+        journal.append(JournalRecord.deletion(deleted, CURRENCY));
+        journal.close();
+
+        TransactionJournal reopened = TransactionJournal.open(root);
+        BalanceSnapshot restored = BalanceSnapshot.read(root.resolve(BalanceSnapshot.FILE_NAME));
+        assertEquals(checkpoint, restored.checkpoint());
+        assertEquals(3, restored.size());
+
+        long replayed = reopened.replay(restored.checkpoint(), restored::apply);
+        assertEquals(2, replayed);
+        assertEquals(BigDecimal.valueOf(100), restored.balance(kept, CURRENCY).balance());
+        assertEquals(BigDecimal.valueOf(250), restored.balance(changed, CURRENCY).balance());
+        assertNull(restored.balance(deleted, CURRENCY));
+        reopened.close();
+    }
+
+    /**
+     * Compares the time taken to read every account from the Configurate storage layout against
+     * restoring the same balances from a snapshot plus a journal tail. This is only run when
+     * requested, via -Dimpactor.benchmarks=true, as it writes a large number of account files.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "impactor.benchmarks", matches = "true")
+    public void coldStartBenchmark(@TempDir Path root) throws Exception {
+        final int accounts = 10_000;
+        final int tail = 2_500;
+
+        ImpactorEconomyService service = (ImpactorEconomyService) EconomyService.instance();
+        Currency currency = service.currencies().primary();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        List<UUID> owners = new ArrayList<>();
+        TransactionJournal journal = TransactionJournal.open(root);
+        BalanceSnapshot balances = BalanceSnapshot.empty();
+        try {
+            List<CompletableFuture<Void>> saves = new ArrayList<>();
+            for(int i = 0; i < accounts; i++) {
+                UUID owner = UUID.randomUUID();
+                BigDecimal balance = BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(0, 100_000));
+                owners.add(owner);
+
+                saves.add(service.storage().save(ImpactorAccount.load(currency, owner, false, balance)));
+                balances.apply(new JournalRecord(owner, currency.key(), balance, balance, EconomyTransactionType.SET, EconomyResultType.SUCCESS, false, false, now));
+            }
+            CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new)).join();
+
+            balances.write(root.resolve(BalanceSnapshot.FILE_NAME), journal.checkpoint().join());
+            for(int i = 0; i < tail; i++) {
+                UUID owner = owners.get(ThreadLocalRandom.current().nextInt(accounts));
+                journal.append(new JournalRecord(owner, currency.key(), BigDecimal.ONE, BigDecimal.valueOf(i), EconomyTransactionType.DEPOSIT, EconomyResultType.SUCCESS, false, false, now));
+            }
+            journal.close();
+
+            AtomicInteger read = new AtomicInteger();
+            long start = System.nanoTime();
+            service.storage().accounts(currency, account -> read.incrementAndGet()).join();
+            long storage = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            TransactionJournal reopened = TransactionJournal.open(root);
+            BalanceSnapshot restored = BalanceSnapshot.read(root.resolve(BalanceSnapshot.FILE_NAME));
+            reopened.replay(restored.checkpoint(), restored::apply);
+            long replay = System.nanoTime() - start;
+            reopened.close();
+
+            assertTrue(read.get() >= accounts);
+            assertEquals(accounts, restored.size());
+            System.out.printf(
+                    "Cold start of %d accounts: Configurate %.1fms, snapshot + %d record replay %.1fms%n",
+                    accounts, storage / 1_000_000.0, tail, replay / 1_000_000.0
+            );
+        } finally {
+            for(UUID owner : owners) {
+                service.deleteAccount(currency, owner).join();
+            }
+        }
+    }
+
+    private static JournalRecord record(UUID owner, BigDecimal balance, Instant timestamp) {
+        return new JournalRecord(
+                owner,
+                CURRENCY,
+                new BigDecimal("1.50"),
+                balance,
+                EconomyTransactionType.DEPOSIT,
+                EconomyResultType.SUCCESS,
+                false,
+                false,
+                timestamp
+        );
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.mail;
+
+import net.impactdev.impactor.api.mail.MailMessage;
+import net.impactdev.impactor.api.storage.connection.configurate.loaders.JsonLoader;
+import net.impactdev.impactor.core.mail.ImpactorMailMessage;
+import net.impactdev.impactor.core.mail.storage.InboxSummary;
+import net.impactdev.impactor.core.mail.storage.implementations.MailConfigurateProvider;
+import net.impactdev.impactor.core.mail.storage.implementations.MailLogProvider;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.kyori.adventure.util.TriState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MailInboxTest {
+
+    @Test
+    public void pagesAndCountsUnread(@TempDir Path root) throws Exception {
+        UUID target = UUID.randomUUID();
+        MailLogProvider provider = provider(root);
+        for(int i = 0; i < 25; i++) {
+            assertTrue(provider.append(target, message(i)));
+        }
+
+        assertEquals(new InboxSummary(25, 25), provider.summary(target));
+        assertEquals(IntStream.range(10, 20).boxed().toList(), indices(provider.mail(target, 1, 10)));
+        assertEquals(new InboxSummary(25, 15), provider.summary(target));
+
+        // Read state and ordering must survive the inbox being opened again
+        MailLogProvider reopened = provider(root);
+        assertEquals(new InboxSummary(25, 15), reopened.summary(target));
+        assertEquals(List.of(20, 21, 22, 23, 24), indices(reopened.mail(target, 2, 10)));
+        assertTrue(reopened.mail(target, 3, 10).isEmpty());
+        assertEquals(new InboxSummary(25, 10), reopened.summary(target));
+    }
+
+    @Test
+    public void preservesContent(@TempDir Path root) throws Exception {
+        UUID target = UUID.randomUUID();
+        UUID sender = UUID.randomUUID();
+        MailMessage message = new ImpactorMailMessage(
+                UUID.randomUUID(),
+                sender,
+                Component.text("Styled", NamedTextColor.GOLD).append(Component.text(" mail")),
+                Instant.now()
+        );
+
+        provider(root).append(target, message);
+
+        MailMessage loaded = provider(root).mail(target).get(0);
+        assertEquals(message.uuid(), loaded.uuid());
+        assertEquals(message.source(), loaded.source());
+        assertEquals(message.timestamp(), loaded.timestamp());
+        assertEquals(message.content().compact(), loaded.content().compact());
+    }
+
+    @Test
+    public void compactsDeletedMessages(@TempDir Path root) throws Exception {
+        UUID target = UUID.randomUUID();
+        MailLogProvider provider = provider(root);
+        List<MailMessage> sent = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            MailMessage message = message(i);
+            provider.append(target, message);
+            sent.add(message);
+        }
+
+        long before = Files.size(log(root, target));
+        for(int i = 0; i < 100; i += 2) {
+            assertEquals(TriState.TRUE, provider.delete(target, sent.get(i)));
+        }
+        assertEquals(TriState.FALSE, provider.delete(target, sent.get(0)));
+
+        assertTrue(Files.size(log(root, target)) < before);
+        List<Integer> expected = IntStream.range(0, 100).filter(i -> i % 2 == 1).boxed().toList();
+        assertEquals(expected, indices(provider(root).mail(target)));
+
+        assertEquals(TriState.TRUE, provider.deleteWhere(target, null));
+        assertFalse(Files.exists(log(root, target)));
+        assertEquals(TriState.NOT_SET, provider.deleteWhere(target, null));
+    }
+
+    @Test
+    public void discardsIncompleteRecords(@TempDir Path root) throws Exception {
+        UUID target = UUID.randomUUID();
+        MailLogProvider provider = provider(root);
+        for(int i = 0; i < 3; i++) {
+            provider.append(target, message(i));
+        }
+
+        // An append record cut short after its identifier, as left by a crash mid-write
+        Files.write(log(root, target), new byte[] { 1, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, StandardOpenOption.APPEND);
+
+        MailLogProvider recovered = provider(root);
+        assertEquals(List.of(0, 1, 2), indices(recovered.mail(target)));
+
+        recovered.append(target, message(3));
+        assertEquals(List.of(0, 1, 2, 3), indices(provider(root).mail(target)));
+    }
+
+    @Test
+    public void setsAsideUnreadableRecords(@TempDir Path root) throws Exception {
+        UUID target = UUID.randomUUID();
+        MailLogProvider provider = provider(root);
+        for(int i = 0; i < 3; i++) {
+            provider.append(target, message(i));
+        }
+
+        // An unknown record type followed by further data, which must not be truncated away
+        byte[] garbage = new byte[64];
+        garbage[0] = 9;
+        Files.write(log(root, target), garbage, StandardOpenOption.APPEND);
+
+        MailLogProvider recovered = provider(root);
+        assertEquals(List.of(0, 1, 2), indices(recovered.mail(target)));
+        assertTrue(Files.exists(log(root, target).resolveSibling(target + ".log.corrupt")));
+
+        // Mail received afterwards must survive the inbox being opened again
+        recovered.append(target, message(3));
+        assertEquals(List.of(0, 1, 2, 3), indices(provider(root).mail(target)));
+    }
+
+    @Test
+    public void migratesLegacyInboxes(@TempDir Path root) throws Exception {
+        UUID target = UUID.randomUUID();
+        MailConfigurateProvider legacy = new MailConfigurateProvider(new JsonLoader(), root.resolve("users"));
+        legacy.init();
+        for(int i = 0; i < 3; i++) {
+            legacy.append(target, message(i));
+        }
+
+        MailLogProvider provider = provider(root);
+        assertEquals(new InboxSummary(3, 3), provider.summary(target));
+        assertEquals(List.of(0, 1, 2), indices(provider.mail(target)));
+        assertFalse(legacy.exists(target));
+    }
+
+    private static MailLogProvider provider(Path root) throws Exception {
+        MailLogProvider provider = new MailLogProvider(new JsonLoader(), root);
+        provider.init();
+
+        return provider;
+    }
+
+    private static MailMessage message(int index) {
+        // Timestamps are spread out so legacy inboxes, which carry no ordering of their own, migrate in order
+        return new ImpactorMailMessage(UUID.randomUUID(), null, Component.text(index), Instant.ofEpochSecond(1_000_000 + index));
+    }
+
+    private static List<Integer> indices(List<MailMessage> messages) {
+        return messages.stream()
+                .map(message -> Integer.parseInt(PlainTextComponentSerializer.plainText().serialize(message.content())))
+                .toList();
+    }
+
+    private static Path log(Path root, UUID target) {
+        String id = target.toString();
+        return root.resolve("inboxes").resolve(id.substring(0, 2)).resolve(id + ".log");
+    }
+
+}
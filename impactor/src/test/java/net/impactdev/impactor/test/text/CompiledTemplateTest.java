@@ -0,0 +1,125 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.text;
+
+import net.impactdev.impactor.api.economy.EconomyService;
+import net.impactdev.impactor.api.economy.accounts.Account;
+import net.impactdev.impactor.api.economy.currency.Currency;
+import net.impactdev.impactor.api.text.TextProcessor;
+import net.impactdev.impactor.api.utility.Context;
+import net.impactdev.impactor.core.economy.accounts.ImpactorAccount;
+import net.impactdev.impactor.core.text.processors.CompiledTemplate;
+import net.impactdev.impactor.core.text.processors.TemplateCompiler;
+import net.impactdev.impactor.core.translations.internal.ImpactorTranslations;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public final class CompiledTemplateTest {
+
+    private static final String BALTOP_ENTRY = "<yellow><impactor:baltop:ranking>) <aqua><impactor:account:name><gray>: <green><impactor:account:balance>";
+
+    @Test
+    public void miniMessageMatchesParsing() {
+        TextProcessor processor = TextProcessor.mini();
+        String template = "<yellow>#<impactor:baltop:ranking> <hover:show_text:'<impactor:currency>'><gray>of <impactor:currency></hover> <impactor:missing:placeholder>";
+
+        CompiledTemplate compiled = ((TemplateCompiler) processor).compile(template);
+        assertFalse(compiled.stale());
+
+        // Resolving the same template repeatedly must not carry state over from a previous resolution
+        for(int ranking = 1; ranking <= 3; ranking++) {
+            assertEquals(
+                    plain(processor.parse(template, context(ranking))),
+                    plain(compiled.resolve(null, context(ranking)))
+            );
+        }
+    }
+
+    @Test
+    public void legacyMatchesParsing() {
+        TextProcessor processor = TextProcessor.legacy('&');
+        String template = "&eCurrency: &l{{impactor:currency}} &7and {{impactor:unknown}} {{}}";
+
+        CompiledTemplate compiled = ((TemplateCompiler) processor).compile(template);
+        assertEquals(plain(processor.parse(template, Context.empty())), plain(compiled.resolve(null, Context.empty())));
+    }
+
+    /**
+     * Compares parsing the baltop entry template on every send against sending the translation, which
+     * only resolves placeholders against its compiled template. This is only run when requested, via
+     * -Dimpactor.benchmarks=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "impactor.benchmarks", matches = "true")
+    public void baltopEntryBenchmark() {
+        final int warmup = 20_000;
+        final int iterations = 100_000;
+
+        Currency currency = EconomyService.instance().currencies().primary();
+        Account account = ImpactorAccount.load(currency, UUID.randomUUID(), false, BigDecimal.valueOf(1000));
+        Context context = context(1).append(Account.class, account);
+        TextProcessor processor = TextProcessor.mini();
+
+        for(int i = 0; i < warmup; i++) {
+            processor.parse(BALTOP_ENTRY, context);
+            ImpactorTranslations.ECONOMY_BALTOP_ENTRY.send(Audience.empty(), context);
+        }
+
+        long start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            processor.parse(BALTOP_ENTRY, context);
+        }
+        long parsed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            ImpactorTranslations.ECONOMY_BALTOP_ENTRY.send(Audience.empty(), context);
+        }
+        long compiled = System.nanoTime() - start;
+
+        System.out.printf("Parsed: %.2fus/op, Compiled: %.2fus/op%n", parsed / 1_000.0 / iterations, compiled / 1_000.0 / iterations);
+    }
+
+    private static Context context(int ranking) {
+        return Context.empty()
+                .append(Currency.class, EconomyService.instance().currencies().primary())
+                .append(Integer.class, ranking);
+    }
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.text;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import net.impactdev.impactor.api.Impactor;
+import net.impactdev.impactor.api.platform.sources.PlatformSource;
+import net.impactdev.impactor.api.text.TextProcessor;
+import net.impactdev.impactor.api.text.placeholders.ComponentModifiers;
+import net.impactdev.impactor.api.text.placeholders.PlaceholderParser;
+import net.impactdev.impactor.api.text.placeholders.PlaceholderService;
+import net.impactdev.impactor.api.utility.Context;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.format.TextFormat;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static net.kyori.adventure.text.Component.text;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class LegacyTokenizerTest {
+
+    /** Inputs which the regex based tokenizer accepted, along with the output it produced for each */
+    private static final List<String> CORPUS = List.of(
+            "Plain text without any placeholders",
+            "&aHello {{test:golden}} world",
+            "&a&lBold {{test:golden}}&r after",
+            "&c&a&l{{test:golden}}",
+            "&#ff00aaHex {{test:golden}}",
+            "&#FF00AA&oUpper hex {{impactor:currency}}",
+            "&Aupper {{test:golden}}",
+            "&&a{{test:golden}}",
+            "{{test:golden}}{{test:golden}}",
+            "{{ test:golden }} spaced",
+            "{{!!}} &enot a key {{test:golden}}",
+            "&b{{!!}}",
+            "{{{test:golden}}} triple",
+            "{{{{test:golden}}",
+            "{{a{{test:golden}}",
+            "{{test:golden}}}} trailing",
+            "Single { and } braces {{test:golden}}",
+            "{{name}} without a namespace",
+            "{{impactor:missing|x}}",
+            "{{test:golden|}}",
+            "{{test:golden|\nnext line}}",
+            "&e{{test:golden|ps}} &7{{test:golden}}"
+    );
+
+    private static final Pattern TOKENIZER = Pattern.compile("((?=([{]{2}|[}]{2})|(?<=([{]{2}|[}]{2}))))");
+    private static final Pattern PLACEHOLDER = Pattern.compile("(?<placeholder>[\\w-:]+)(\\|(?<arguments>.+))?");
+    private static final Pattern LAST_FORMATS = Pattern.compile("(&([a-fk-or0-9]|#[a-f0-9]{6})){1,2}$", Pattern.CASE_INSENSITIVE);
+    private static final Map<Character, TextFormat> FORMATTERS = Maps.newHashMap();
+    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.builder().character('&').hexColors().build();
+
+    @BeforeAll
+    public static void register() {
+        Impactor.instance().services().provide(PlaceholderService.class).register(
+                Key.key("test", "golden"),
+                (viewer, context) -> text("Golden", NamedTextColor.GOLD)
+        );
+    }
+
+    @Test
+    public void matchesRegexTokenizer() {
+        TextProcessor processor = TextProcessor.legacy('&');
+        for(String input : CORPUS) {
+            assertEquals(reference(null, input, Context.empty()), processor.parse(null, input, Context.empty()), input);
+        }
+    }
+
+    @Test
+    public void malformedPlaceholdersAreText() {
+        TextProcessor processor = TextProcessor.legacy('&');
+        for(String input : List.of("{{}}", "Trailing {{test:golden", "Trailing {{", "}}{{")) {
+            assertEquals(input, PlainTextComponentSerializer.plainText().serialize(processor.parse(null, input, Context.empty())));
+        }
+    }
+
+    /**
+     * Compares the regex based tokenizer against the scanner, each parsing a typical chat line. This is
+     * only run when requested, via -Dimpactor.benchmarks=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "impactor.benchmarks", matches = "true")
+    public void tokenizerBenchmark() {
+        final int warmup = 20_000;
+        final int iterations = 100_000;
+        final String input = "&8[&6Shop&8] &7You purchased &a&l{{test:golden}} &7for &e{{impactor:currency}}&7, enjoy!";
+
+        TextProcessor processor = TextProcessor.legacy('&');
+        for(int i = 0; i < warmup; i++) {
+            reference(null, input, Context.empty());
+            processor.parse(null, input, Context.empty());
+        }
+
+        long start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            reference(null, input, Context.empty());
+        }
+        long regex = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            processor.parse(null, input, Context.empty());
+        }
+        long scanner = System.nanoTime() - start;
+
+        System.out.printf("Regex: %.2fus/op, Scanner: %.2fus/op%n", regex / 1_000.0 / iterations, scanner / 1_000.0 / iterations);
+    }
+
+    /**
+     * The regex based tokenizer the scanner replaced, kept as the reference for its output.
+     */
+    private static Component reference(PlatformSource viewer, String input, Context context) {
+        Map<Key, PlaceholderParser> parsers = Impactor.instance().services().provide(PlaceholderService.class).parsers();
+
+        List<String> split = Splitter.on(TOKENIZER).splitToList(input);
+        List<Component> result = Lists.newArrayList();
+
+        List<TextFormat> decorations = Lists.newArrayList();
+        StringBuilder cache = new StringBuilder();
+        for(int i = 0; i < split.size(); i++) {
+            if(split.get(i).equals("{{") && split.get(i + 2).equals("}}")) {
+                if(cache.length() > 0) {
+                    String built = cache.toString();
+                    cache = new StringBuilder();
+
+                    result.add(SERIALIZER.deserialize(built));
+                    Matcher matcher = LAST_FORMATS.matcher(built);
+                    if(matcher.find()) {
+                        Arrays.stream(matcher.group().split("&"))
+                                .filter(in -> !in.isEmpty())
+                                .map(in -> {
+                                    if(in.length() == 1) {
+                                        return FORMATTERS.get(in.charAt(0));
+                                    } else {
+                                        try {
+                                            return TextColor.color(Integer.parseInt(in.substring(1), 16));
+                                        } catch (NumberFormatException e) {
+                                            return null;
+                                        }
+                                    }
+                                })
+                                .filter(Objects::nonNull)
+                                .forEach(decorations::add);
+                    }
+                }
+
+                Component parsed;
+                Matcher placeholder = PLACEHOLDER.matcher(split.get(i + 1));
+                if(!placeholder.find()) {
+                    parsed = SERIALIZER.deserialize("{{" + split.get(i + 1) + "}}");
+                } else {
+                    String rawKey = placeholder.group("placeholder");
+                    Key key;
+                    if(rawKey.contains(":")) {
+                        key = Key.key(rawKey);
+                    } else {
+                        key = Key.key("unknown", rawKey);
+                    }
+
+                    parsed = parsers.getOrDefault(key, (ignore, ctx) -> text("{{").append(text(rawKey)).append(text("}}"))).parse(viewer, context);
+                    String arguments = placeholder.group("arguments");
+                    if(arguments != null) {
+                        for (int c = 0; c < arguments.length(); c++) {
+                            parsed = ComponentModifiers.transform(arguments.charAt(c), parsed);
+                        }
+                    }
+                }
+
+                for(TextFormat format : decorations) {
+                    parsed = parsed.style(parent -> {
+                        if(format instanceof TextColor) {
+                            parent.color((TextColor) format);
+                        } else {
+                            parent.decoration((TextDecoration) format, TextDecoration.State.TRUE);
+                        }
+                    });
+                }
+
+                result.add(parsed);
+                i += 2;
+            } else {
+                cache.append(split.get(i));
+            }
+        }
+
+        if(cache.length() > 0) {
+            result.add(SERIALIZER.deserialize(cache.toString()));
+        }
+
+        Component output = null;
+        for(Component token : result) {
+            output = output == null ? token : output.append(token);
+        }
+
+        return Objects.requireNonNull(output);
+    }
+
+    static {
+        FORMATTERS.put('0', NamedTextColor.BLACK);
+        FORMATTERS.put('1', NamedTextColor.DARK_BLUE);
+        FORMATTERS.put('2', NamedTextColor.DARK_GREEN);
+        FORMATTERS.put('3', NamedTextColor.DARK_AQUA);
+        FORMATTERS.put('4', NamedTextColor.DARK_RED);
+        FORMATTERS.put('5', NamedTextColor.DARK_PURPLE);
+        FORMATTERS.put('6', NamedTextColor.GOLD);
+        FORMATTERS.put('7', NamedTextColor.GRAY);
+        FORMATTERS.put('8', NamedTextColor.DARK_GRAY);
+        FORMATTERS.put('9', NamedTextColor.BLUE);
+        FORMATTERS.put('a', NamedTextColor.GREEN);
+        FORMATTERS.put('b', NamedTextColor.AQUA);
+        FORMATTERS.put('c', NamedTextColor.RED);
+        FORMATTERS.put('d', NamedTextColor.LIGHT_PURPLE);
+        FORMATTERS.put('e', NamedTextColor.YELLOW);
+        FORMATTERS.put('f', NamedTextColor.WHITE);
+
+        FORMATTERS.put('k', TextDecoration.OBFUSCATED);
+        FORMATTERS.put('l', TextDecoration.BOLD);
+        FORMATTERS.put('m', TextDecoration.STRIKETHROUGH);
+        FORMATTERS.put('n', TextDecoration.UNDERLINED);
+        FORMATTERS.put('o', TextDecoration.ITALIC);
+    }
+
+}
@@ -35,6 +35,14 @@ import net.kyori.adventure.text.serializer.ansi.ANSIComponentSerializer;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
 public class PaginationTest {
 
     @Test
@@ -60,4 +68,36 @@ public class PaginationTest {
         noTitle.send(audience);
     }
 
+    @Test
+    public void resendReusesLayout() {
+        PaginatedText pagination = PaginatedText.builder()
+                .title(Component.text("Help").color(NamedTextColor.YELLOW))
+                .padding(Component.text("=").color(NamedTextColor.GREEN))
+                .contents(IntStream.range(0, 30)
+                        .mapToObj(i -> Component.text("/command" + i + " - " + "Description ".repeat(i % 8)))
+                        .collect(Collectors.toList()))
+                .lines(10)
+                .build();
+
+        List<Component> first = new ArrayList<>();
+        List<Component> second = new ArrayList<>();
+        pagination.send(collector(first));
+        pagination.send(collector(second));
+
+        assertEquals(first.size(), second.size());
+        assertEquals(first.subList(0, first.size() - 1), second.subList(0, second.size() - 1));
+
+        // Footers link to the pagination they were sent by, which is unique to each send
+        assertNotEquals(first.get(first.size() - 1), second.get(second.size() - 1));
+    }
+
+    private static Audience collector(List<Component> messages) {
+        return new Audience() {
+            @Override
+            public void sendMessage(@NotNull Identity source, @NotNull Component msg, @NotNull MessageType type) {
+                messages.add(msg);
+            }
+        };
+    }
+
 }
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.text;
+
+import net.impactdev.impactor.api.Impactor;
+import net.impactdev.impactor.api.platform.sources.PlatformSource;
+import net.impactdev.impactor.api.text.TextProcessor;
+import net.impactdev.impactor.api.text.placeholders.PlaceholderService;
+import net.impactdev.impactor.api.utility.Context;
+import net.impactdev.impactor.core.text.placeholders.ImpactorPlaceholderService;
+import net.impactdev.impactor.core.text.placeholders.PlaceholderCachePolicy;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class PlaceholderCacheTest {
+
+    @Test
+    public void cachePolicies() {
+        ImpactorPlaceholderService service = (ImpactorPlaceholderService) Impactor.instance().services().provide(PlaceholderService.class);
+        TextProcessor processor = TextProcessor.mini();
+
+        AtomicInteger shared = new AtomicInteger();
+        AtomicInteger viewer = new AtomicInteger();
+        AtomicInteger volatility = new AtomicInteger();
+        service.register(Key.key("test", "shared"), (source, ctx) -> Component.text(shared.incrementAndGet()), PlaceholderCachePolicy.shared(Duration.ofMinutes(1)));
+        service.register(Key.key("test", "viewer"), (source, ctx) -> Component.text(viewer.incrementAndGet()), PlaceholderCachePolicy.viewer(Duration.ofMinutes(1)));
+        service.register(Key.key("test", "volatile"), (source, ctx) -> Component.text(volatility.incrementAndGet()));
+
+        long hits = service.stats().hitCount();
+        for(int i = 0; i < 3; i++) {
+            processor.parse(PlatformSource.server(), "<test:shared> <test:viewer> <test:volatile>", Context.empty());
+            processor.parse(null, "<test:shared> <test:viewer> <test:volatile>", Context.empty());
+        }
+
+        assertEquals(1, shared.get());
+        assertEquals(2, viewer.get());
+        assertEquals(6, volatility.get());
+        assertTrue(service.stats().hitCount() - hits >= 9);
+
+        // Registering a placeholder again discards results cached for its previous parser
+        service.register(Key.key("test", "shared"), (source, ctx) -> Component.text("replaced"), PlaceholderCachePolicy.shared(Duration.ofMinutes(1)));
+        assertEquals("replaced", PlainTextComponentSerializer.plainText().serialize(processor.parse(null, "<test:shared>", Context.empty())));
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.utility;
+
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLane;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
+import net.impactdev.impactor.core.scheduler.executors.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ExecutorLanesTest {
+
+    @Test
+    public void blockingWorkDoesNotStarveCpuLane() throws Exception {
+        ExecutorLanes lanes = ExecutorLanes.instance();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Occupy more blocking tasks than the lane has threads
+        List<CompletableFuture<Void>> blocked = IntStream.range(0, 64)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, lanes.blocking()))
+                .toList();
+
+        try {
+            assertEquals(42, CompletableFuture.supplyAsync(() -> 42, lanes.cpu()).get(5, TimeUnit.SECONDS));
+            assertTrue(lanes.blocking().statistics().queued() > 0);
+        } finally {
+            release.countDown();
+        }
+
+        CompletableFuture.allOf(blocked.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void lanesRecordStatistics() throws Exception {
+        ExecutorLane lane = ExecutorLanes.instance().cpu();
+        long completed = lane.statistics().completed();
+
+        CompletableFuture.allOf(IntStream.range(0, 1_000)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {}, lane))
+                .toArray(CompletableFuture[]::new)
+        ).get(10, TimeUnit.SECONDS);
+
+        // Completion is recorded just after the task itself finishes
+        long deadline = System.currentTimeMillis() + 5_000;
+        while(lane.statistics().completed() - completed < 1_000 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        ExecutorLane.Statistics statistics = lane.statistics();
+        assertTrue(statistics.completed() - completed >= 1_000);
+        assertTrue(statistics.running().total() >= 1_000);
+        assertTrue(statistics.waiting().total() >= 1_000);
+    }
+
+    @Test
+    public void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(int i = 0; i < 90; i++) {
+            histogram.record(1_000);
+        }
+        for(int i = 0; i < 10; i++) {
+            histogram.record(1_000_000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.total());
+        assertEquals(1024, snapshot.percentile(0.5));
+        assertEquals(1L << 20, snapshot.percentile(0.99));
+        assertEquals(0, new LatencyHistogram().snapshot().percentile(0.5));
+    }
+
+}
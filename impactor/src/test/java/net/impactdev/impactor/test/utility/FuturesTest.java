@@ -0,0 +1,95 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.test.utility;
+
+import net.impactdev.impactor.core.utility.future.Futures;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class FuturesTest {
+
+    private static final int FUTURES = 100_000;
+
+    @Test
+    public void timeoutsShareBoundedThreads() {
+        int threads = Thread.activeCount();
+
+        List<CompletableFuture<Object>> timeouts = new ArrayList<>(FUTURES);
+        for(int i = 0; i < FUTURES; i++) {
+            timeouts.add(Futures.timeoutAfter(10 + i % 50, TimeUnit.MILLISECONDS));
+        }
+
+        // Previously, every timeout started a thread of its own
+        assertTrue(Thread.activeCount() - threads < 16);
+        for(CompletableFuture<Object> timeout : timeouts) {
+            CompletionException exception = assertThrows(CompletionException.class, timeout::join);
+            assertInstanceOf(TimeoutException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    public void completedFuturesReleaseTheirTimeout() {
+        long timedOut = Futures.delays().timedOut();
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(FUTURES);
+        for(int i = 0; i < FUTURES; i++) {
+            futures.add(Futures.orTimeout(new CompletableFuture<>(), 1, TimeUnit.HOURS));
+        }
+        assertTrue(Futures.delays().queued() >= FUTURES);
+
+        for(int i = 0; i < FUTURES; i++) {
+            futures.get(i).complete(i);
+        }
+
+        assertEquals(0, Futures.delays().queued());
+        assertEquals(timedOut, Futures.delays().timedOut());
+    }
+
+    @Test
+    public void timedCallables() {
+        assertEquals(5, Futures.timed(() -> 5, 1, TimeUnit.SECONDS).join());
+
+        CompletableFuture<Integer> slow = Futures.timed(() -> {
+            Thread.sleep(1_000);
+            return 5;
+        }, 10, TimeUnit.MILLISECONDS);
+
+        CompletionException exception = assertThrows(CompletionException.class, slow::join);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+    }
+
+}
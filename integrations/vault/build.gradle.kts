@@ -13,6 +13,7 @@ dependencies {
 
     implementation(project(":api:config"))
     implementation(project(":api:economy"))
+    compileOnly(project(":impactor"))
 }
 
 tasks {
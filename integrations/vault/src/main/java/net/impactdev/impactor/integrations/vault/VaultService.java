@@ -33,6 +33,7 @@ import net.impactdev.impactor.api.economy.accounts.Account;
 import net.impactdev.impactor.api.economy.currency.Currency;
 import net.impactdev.impactor.api.economy.currency.CurrencyProvider;
 import net.impactdev.impactor.api.events.ImpactorEvent;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 import net.kyori.adventure.key.Key;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
@@ -45,6 +46,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import static net.kyori.adventure.text.Component.text;
@@ -72,14 +74,14 @@ public final class VaultService implements EconomyService {
 
     @Override
     public CompletableFuture<Boolean> hasAccount(Currency currency, UUID uuid) {
-        return CompletableFuture.supplyAsync(() -> this.delegate.hasAccount(Bukkit.getOfflinePlayer(uuid)))
+        return CompletableFuture.supplyAsync(() -> this.delegate.hasAccount(Bukkit.getOfflinePlayer(uuid)), this.executor())
                 .orTimeout(5, TimeUnit.SECONDS);
     }
 
     @Override
     public CompletableFuture<Account> account(Currency currency, UUID uuid) {
         OfflinePlayer target = Bukkit.getOfflinePlayer(uuid);
-        return CompletableFuture.supplyAsync(() -> this.delegate.hasAccount(target))
+        return CompletableFuture.supplyAsync(() -> this.delegate.hasAccount(target), this.executor())
                 .thenApply(ignore -> Account.builder()
                         .currency(this.currencies.primary())
                         .owner(uuid)
@@ -107,9 +109,15 @@ public final class VaultService implements EconomyService {
     @Override
     public CompletableFuture<Void> save(Account account) {
         OfflinePlayer player = Bukkit.getOfflinePlayer(account.owner());
-        double balance = this.delegate.getBalance(player);
-        double difference = account.balance().doubleValue() - balance;
-        return CompletableFuture.runAsync(() -> this.delegate.depositPlayer(player, difference));
+        return CompletableFuture.runAsync(() -> {
+            double difference = account.balance().doubleValue() - this.delegate.getBalance(player);
+            this.delegate.depositPlayer(player, difference);
+        }, this.executor());
+    }
+
+    private Executor executor() {
+        // Vault economies are commonly backed by a database, so calls into them may block
+        return ExecutorLanes.instance().blocking();
     }
 
     public static final class VaultReadyEvent implements ImpactorEvent {
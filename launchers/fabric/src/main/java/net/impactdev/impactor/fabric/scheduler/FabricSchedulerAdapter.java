@@ -27,6 +27,7 @@ package net.impactdev.impactor.fabric.scheduler;
 
 import net.impactdev.impactor.fabric.FabricImpactorBootstrap;
 import net.impactdev.impactor.api.scheduler.AbstractJavaScheduler;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 
 import java.util.concurrent.Executor;
 
@@ -39,6 +40,15 @@ public final class FabricSchedulerAdapter extends AbstractJavaScheduler {
         this.sync = r -> bootstrap.server().orElseThrow(() -> new IllegalStateException("Server not yet available")).submit(r).join();
     }
 
+    /**
+     * Tasks submitted through this adapter may be of any kind, including storage or network I/O, so they
+     * share the blocking lane with the rest of Impactor rather than a pool of their own.
+     */
+    @Override
+    public Executor async() {
+        return ExecutorLanes.instance().blocking();
+    }
+
     @Override
     public Executor sync() {
         return this.sync;
@@ -26,6 +26,7 @@
 package net.impactdev.impactor.forge.scheduler;
 
 import net.impactdev.impactor.api.scheduler.AbstractJavaScheduler;
+import net.impactdev.impactor.core.scheduler.executors.ExecutorLanes;
 import net.impactdev.impactor.forge.ForgeImpactorPlugin;
 import net.minecraftforge.server.ServerLifecycleHooks;
 
@@ -64,6 +65,15 @@ public class ForgeSchedulerAdapter extends AbstractJavaScheduler {
         this.sync = r -> ServerLifecycleHooks.getCurrentServer().executeBlocking(r);
     }
 
+    /**
+     * Tasks submitted through this adapter may be of any kind, including storage or network I/O, so they
+     * share the blocking lane with the rest of Impactor rather than a pool of their own.
+     */
+    @Override
+    public Executor async() {
+        return ExecutorLanes.instance().blocking();
+    }
+
     @Override
     public Executor sync() {
         return this.sync;
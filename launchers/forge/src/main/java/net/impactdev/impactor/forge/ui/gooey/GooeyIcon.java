@@ -39,10 +39,14 @@ import org.jetbrains.annotations.NotNull;
 public final class GooeyIcon extends GooeyButton {
 
     public GooeyIcon(@NotNull Icon icon) {
-        super(Impactor.instance().services().provide(ItemStackTranslator.class).translate(icon.display().get()), action -> {
+        this(icon, icon.display().get());
+    }
+
+    private GooeyIcon(@NotNull Icon icon, @NotNull ImpactorItemStack display) {
+        super(Impactor.instance().services().provide(ItemStackTranslator.class).translate(display), action -> {
             Context context = Context.empty();
             context.with(icon.context())
-                    .append(ImpactorItemStack.class, icon.display().get())
+                    .append(ImpactorItemStack.class, display)
                     .append(PlatformPlayer.class, PlatformPlayer.getOrCreate(action.getPlayer().getUUID()))
                     .append(ButtonClick.class, action.getClickType())
                     .append(Integer.class, action.getSlot());
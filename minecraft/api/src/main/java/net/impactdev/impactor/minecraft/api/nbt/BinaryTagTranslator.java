@@ -0,0 +1,149 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.minecraft.api.nbt;
+
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.ByteArrayBinaryTag;
+import net.kyori.adventure.nbt.ByteBinaryTag;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.DoubleBinaryTag;
+import net.kyori.adventure.nbt.FloatBinaryTag;
+import net.kyori.adventure.nbt.IntArrayBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.kyori.adventure.nbt.LongArrayBinaryTag;
+import net.kyori.adventure.nbt.LongBinaryTag;
+import net.kyori.adventure.nbt.ShortBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.ByteTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.DoubleTag;
+import net.minecraft.nbt.FloatTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.IntTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.LongTag;
+import net.minecraft.nbt.ShortTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Converts between Adventure's immutable binary tags and their native counterparts. Both directions
+ * visit each tag exactly once, with immutable compounds and lists being assembled through builders
+ * rather than copied on every entry.
+ */
+public class BinaryTagTranslator {
+
+    public static @NotNull CompoundTag toNative(@NotNull CompoundBinaryTag compound) {
+        return write(compound, new CompoundTag());
+    }
+
+    /**
+     * Writes each entry of the given compound into the target, replacing any entries the target
+     * already holds under the same keys.
+     *
+     * @param compound The compound to write
+     * @param target The native compound to write into
+     * @return The target compound
+     */
+    public static @NotNull CompoundTag write(@NotNull CompoundBinaryTag compound, @NotNull CompoundTag target) {
+        for(Map.Entry<String, ? extends BinaryTag> entry : compound) {
+            target.put(entry.getKey(), toNative(entry.getValue()));
+        }
+
+        return target;
+    }
+
+    public static @NotNull ListTag toNative(@NotNull ListBinaryTag list) {
+        ListTag result = new ListTag();
+        for(BinaryTag element : list) {
+            result.add(toNative(element));
+        }
+
+        return result;
+    }
+
+    public static @NotNull Tag toNative(@NotNull BinaryTag tag) {
+        return switch (tag.type().id()) {
+            case Tag.TAG_BYTE -> ByteTag.valueOf(((ByteBinaryTag) tag).value());
+            case Tag.TAG_SHORT -> ShortTag.valueOf(((ShortBinaryTag) tag).value());
+            case Tag.TAG_INT -> IntTag.valueOf(((IntBinaryTag) tag).value());
+            case Tag.TAG_LONG -> LongTag.valueOf(((LongBinaryTag) tag).value());
+            case Tag.TAG_FLOAT -> FloatTag.valueOf(((FloatBinaryTag) tag).value());
+            case Tag.TAG_DOUBLE -> DoubleTag.valueOf(((DoubleBinaryTag) tag).value());
+            case Tag.TAG_BYTE_ARRAY -> new ByteArrayTag(((ByteArrayBinaryTag) tag).value());
+            case Tag.TAG_STRING -> StringTag.valueOf(((StringBinaryTag) tag).value());
+            case Tag.TAG_LIST -> toNative((ListBinaryTag) tag);
+            case Tag.TAG_COMPOUND -> toNative((CompoundBinaryTag) tag);
+            case Tag.TAG_INT_ARRAY -> new IntArrayTag(((IntArrayBinaryTag) tag).value());
+            case Tag.TAG_LONG_ARRAY -> new LongArrayTag(((LongArrayBinaryTag) tag).value());
+            default -> throw new IllegalArgumentException("Unsupported tag type: " + tag.type());
+        };
+    }
+
+    public static @NotNull CompoundBinaryTag toAdventure(@NotNull CompoundTag compound) {
+        CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+        for(String key : compound.getAllKeys()) {
+            builder.put(key, toAdventure(Objects.requireNonNull(compound.get(key))));
+        }
+
+        return builder.build();
+    }
+
+    public static @NotNull ListBinaryTag toAdventure(@NotNull ListTag list) {
+        ListBinaryTag.Builder<BinaryTag> builder = ListBinaryTag.builder();
+        for(Tag element : list) {
+            builder.add(toAdventure(element));
+        }
+
+        return builder.build();
+    }
+
+    public static @NotNull BinaryTag toAdventure(@NotNull Tag tag) {
+        return switch (tag.getId()) {
+            case Tag.TAG_BYTE -> ByteBinaryTag.byteBinaryTag(((ByteTag) tag).getAsByte());
+            case Tag.TAG_SHORT -> ShortBinaryTag.shortBinaryTag(((ShortTag) tag).getAsShort());
+            case Tag.TAG_INT -> IntBinaryTag.intBinaryTag(((IntTag) tag).getAsInt());
+            case Tag.TAG_LONG -> LongBinaryTag.longBinaryTag(((LongTag) tag).getAsLong());
+            case Tag.TAG_FLOAT -> FloatBinaryTag.floatBinaryTag(((FloatTag) tag).getAsFloat());
+            case Tag.TAG_DOUBLE -> DoubleBinaryTag.doubleBinaryTag(((DoubleTag) tag).getAsDouble());
+            case Tag.TAG_BYTE_ARRAY -> ByteArrayBinaryTag.byteArrayBinaryTag(((ByteArrayTag) tag).getAsByteArray().clone());
+            case Tag.TAG_STRING -> StringBinaryTag.stringBinaryTag(tag.getAsString());
+            case Tag.TAG_LIST -> toAdventure((ListTag) tag);
+            case Tag.TAG_COMPOUND -> toAdventure((CompoundTag) tag);
+            case Tag.TAG_INT_ARRAY -> IntArrayBinaryTag.intArrayBinaryTag(((IntArrayTag) tag).getAsIntArray().clone());
+            case Tag.TAG_LONG_ARRAY -> LongArrayBinaryTag.longArrayBinaryTag(((LongArrayTag) tag).getAsLongArray().clone());
+            default -> throw new IllegalArgumentException("Unsupported tag type: " + tag.getType().getName());
+        };
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+package net.impactdev.impactor.minecraft.api.sounds;
+
+import net.impactdev.impactor.api.platform.players.PlatformPlayer;
+import net.impactdev.impactor.api.services.Service;
+import net.kyori.adventure.sound.Sound;
+
+/**
+ * Plays sounds to many players at once. Rather than playing a sound to each player in turn, the packet
+ * describing the sound is built once and shared by every player, with each hearing the same variation
+ * of the sound.
+ */
+public interface SoundBroadcaster extends Service {
+
+    /**
+     * Plays a sound at the given location to each of the given players.
+     *
+     * @param players The players to play the sound to
+     * @param sound The sound to play
+     * @param x The x coordinate of the sound
+     * @param y The y coordinate of the sound
+     * @param z The z coordinate of the sound
+     */
+    void playSound(Iterable<? extends PlatformPlayer> players, Sound sound, double x, double y, double z);
+
+    /**
+     * Plays a sound following the given emitter to each of the given players.
+     *
+     * @param players The players to play the sound to
+     * @param sound The sound to play
+     * @param emitter The entity emitting the sound
+     */
+    void playSound(Iterable<? extends PlatformPlayer> players, Sound sound, Sound.Emitter emitter);
+
+}
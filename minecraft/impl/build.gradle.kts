@@ -50,4 +50,8 @@ tasks.withType(Test::class) {
     // Allow JUnit to find our TestInitializer and invoke its
     // before all callback for all tests
     jvmArgs("-Djunit.jupiter.extensions.autodetection.enabled=true")
+
+    // Benchmarks are skipped unless requested, such as via ./gradlew test -Dimpactor.benchmarks=true,
+    // which must be forwarded to the forked test JVM to take effect
+    System.getProperty("impactor.benchmarks")?.let { systemProperty("impactor.benchmarks", it) }
 }
\ No newline at end of file
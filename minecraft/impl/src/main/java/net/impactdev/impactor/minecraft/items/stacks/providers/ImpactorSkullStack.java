@@ -34,6 +34,7 @@ import net.kyori.adventure.nbt.CompoundBinaryTag;
 import net.kyori.adventure.nbt.ListBinaryTag;
 import net.minecraft.nbt.NbtUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -87,7 +88,9 @@ public final class ImpactorSkullStack extends AbstractedItemStack implements Sku
             } else {
                 if (this.metadata.texture().isPresent()) {
                     CompoundBinaryTag owner = CompoundBinaryTag.empty();
-                    owner = owner.putIntArray("Id", NbtUtils.createUUID(UUID.randomUUID()).getAsIntArray());
+                    // The profile is derived from the texture, such that identical skulls share identical NBT
+                    UUID id = UUID.nameUUIDFromBytes(this.metadata.texture().get().getBytes(StandardCharsets.UTF_8));
+                    owner = owner.putIntArray("Id", NbtUtils.createUUID(id).getAsIntArray());
                     owner = this.properties(owner);
 
                     nbt = nbt.put("SkullOwner", owner);
@@ -38,8 +38,10 @@ import net.impactdev.impactor.core.platform.sources.ImpactorPlatformSource;
 import net.impactdev.impactor.minecraft.api.items.ItemStackTranslator;
 import net.impactdev.impactor.minecraft.items.transactions.ImpactorItemTransaction;
 import net.impactdev.impactor.minecraft.platform.GamePlatform;
+import net.impactdev.impactor.minecraft.api.sounds.SoundBroadcaster;
 import net.impactdev.impactor.minecraft.api.text.AdventureTranslator;
 import net.impactdev.impactor.minecraft.utility.RandomProvider;
+import net.impactdev.impactor.minecraft.utility.SoundIndex;
 import net.impactdev.impactor.minecraft.api.key.ResourceKeyTranslator;
 import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.identity.Identity;
@@ -55,7 +57,6 @@ import net.kyori.adventure.title.TitlePart;
 import net.kyori.adventure.translation.GlobalTranslator;
 import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
-import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.protocol.game.ClientboundContainerSetSlotPacket;
 import net.minecraft.network.protocol.game.ClientboundOpenBookPacket;
 import net.minecraft.network.protocol.game.ClientboundSetActionBarTextPacket;
@@ -236,55 +237,109 @@ public abstract class ImpactorPlatformPlayer extends ImpactorPlatformSource impl
 
     @Override
     public void playSound(@NotNull Sound sound, double x, double y, double z) {
-        this.asMinecraftPlayer().ifPresent(target -> {
-            final Optional<Holder.Reference<SoundEvent>> reference = BuiltInRegistries.SOUND_EVENT.holders()
-                    .filter(event -> event.is(ResourceKeyTranslator.asResourceLocation(sound.name())))
-                    .findFirst();
-
-            reference.ifPresent(soundEventReference -> target.connection.send(new ClientboundSoundPacket(
-                    soundEventReference,
-                    AdventureTranslator.asVanilla(sound.source()),
-                    x,
-                    y,
-                    z,
-                    sound.volume(),
-                    sound.pitch(),
-                    RandomProvider.nextLong()
-            )));
-        });
+        this.asMinecraftPlayer().ifPresent(target -> SoundIndex.lookup(sound.name())
+                .ifPresent(reference -> target.connection.send(positioned(reference, sound, x, y, z)))
+        );
     }
 
     @Override
     public void playSound(@NotNull Sound sound, Sound.@NotNull Emitter emitter) {
         this.asMinecraftPlayer().ifPresent(target -> {
-            final Optional<Holder.Reference<SoundEvent>> reference = BuiltInRegistries.SOUND_EVENT.holders()
-                    .filter(event -> event.is(ResourceKeyTranslator.asResourceLocation(sound.name())))
-                    .findFirst();
-
+            final Optional<Holder.Reference<SoundEvent>> reference = SoundIndex.lookup(sound.name());
             if(reference.isPresent()) {
                 final Entity tracked;
                 if(emitter == Sound.Emitter.self()) {
                     tracked = target;
                 } else {
-                    if(emitter instanceof Entity) {
-                        tracked = (Entity) emitter;
-                    } else {
-                        throw new IllegalArgumentException("Specified emitter was not valid: '" + emitter.getClass() + "'");
-                    }
+                    tracked = emitter(emitter);
                 }
 
-                target.connection.send(new ClientboundSoundEntityPacket(
-                        reference.get(),
-                        AdventureTranslator.asVanilla(sound.source()),
-                        tracked,
-                        sound.volume(),
-                        sound.pitch(),
-                        RandomProvider.nextLong()
-                ));
+                target.connection.send(tracked(reference.get(), sound, tracked));
+            }
+        });
+    }
+
+    /**
+     * Plays a sound at the given location to each of the given players. A single packet is built and
+     * shared amongst every player, with each hearing the same variation of the sound. This is exposed
+     * to API consumers through the {@link SoundBroadcaster} service.
+     *
+     * @param players The players to play the sound to
+     * @param sound The sound to play
+     * @param x The x coordinate of the sound
+     * @param y The y coordinate of the sound
+     * @param z The z coordinate of the sound
+     */
+    public static void playSound(@NotNull Iterable<? extends PlatformPlayer> players, @NotNull Sound sound, double x, double y, double z) {
+        SoundIndex.lookup(sound.name()).ifPresent(reference -> {
+            final ClientboundSoundPacket packet = positioned(reference, sound, x, y, z);
+            for(PlatformPlayer player : players) {
+                if(player instanceof ImpactorPlatformPlayer) {
+                    ((ImpactorPlatformPlayer) player).asMinecraftPlayer().ifPresent(target -> target.connection.send(packet));
+                }
             }
         });
     }
 
+    /**
+     * Plays a sound following the given emitter to each of the given players. Unless the emitter is
+     * each player themselves, a single packet is built and shared amongst every player.
+     *
+     * @param players The players to play the sound to
+     * @param sound The sound to play
+     * @param emitter The entity emitting the sound
+     */
+    public static void playSound(@NotNull Iterable<? extends PlatformPlayer> players, @NotNull Sound sound, Sound.@NotNull Emitter emitter) {
+        if(emitter == Sound.Emitter.self()) {
+            for(PlatformPlayer player : players) {
+                player.playSound(sound, emitter);
+            }
+            return;
+        }
+
+        final Entity tracked = emitter(emitter);
+        SoundIndex.lookup(sound.name()).ifPresent(reference -> {
+            final ClientboundSoundEntityPacket packet = tracked(reference, sound, tracked);
+            for(PlatformPlayer player : players) {
+                if(player instanceof ImpactorPlatformPlayer) {
+                    ((ImpactorPlatformPlayer) player).asMinecraftPlayer().ifPresent(target -> target.connection.send(packet));
+                }
+            }
+        });
+    }
+
+    private static ClientboundSoundPacket positioned(Holder<SoundEvent> reference, Sound sound, double x, double y, double z) {
+        return new ClientboundSoundPacket(
+                reference,
+                AdventureTranslator.asVanilla(sound.source()),
+                x,
+                y,
+                z,
+                sound.volume(),
+                sound.pitch(),
+                RandomProvider.nextLong()
+        );
+    }
+
+    private static ClientboundSoundEntityPacket tracked(Holder<SoundEvent> reference, Sound sound, Entity tracked) {
+        return new ClientboundSoundEntityPacket(
+                reference,
+                AdventureTranslator.asVanilla(sound.source()),
+                tracked,
+                sound.volume(),
+                sound.pitch(),
+                RandomProvider.nextLong()
+        );
+    }
+
+    private static Entity emitter(Sound.Emitter emitter) {
+        if(emitter instanceof Entity) {
+            return (Entity) emitter;
+        }
+
+        throw new IllegalArgumentException("Specified emitter was not valid: '" + emitter.getClass() + "'");
+    }
+
     @Override
     public void stopSound(@NotNull SoundStop stop) {
         this.asMinecraftPlayer().ifPresent(target -> {
@@ -36,12 +36,14 @@ import net.impactdev.impactor.api.scheduler.v2.Scheduler;
 import net.impactdev.impactor.api.scheduler.v2.Schedulers;
 import net.impactdev.impactor.core.commands.parsers.PlatformSourceParser;
 import net.impactdev.impactor.core.modules.ModuleInitializer;
+import net.impactdev.impactor.core.platform.performance.Diagnostics;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.impactdev.impactor.core.plugin.ImpactorBootstrapper;
 import net.impactdev.impactor.minecraft.items.ItemsModule;
 import net.impactdev.impactor.minecraft.platform.GamePlatform;
 import net.impactdev.impactor.minecraft.scheduler.SyncScheduler;
 import net.impactdev.impactor.minecraft.scoreboard.ScoreboardModule;
+import net.impactdev.impactor.minecraft.sounds.SoundsModule;
 import net.impactdev.impactor.minecraft.ui.UIModule;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.arguments.EntityArgument;
@@ -68,6 +70,7 @@ public abstract class GameImpactorPlugin extends BaseImpactorPlugin {
         return super.registerModules()
                 .with(ItemsModule.class)
                 .with(ScoreboardModule.class)
+                .with(SoundsModule.class)
                 .with(UIModule.class);
     }
 
@@ -98,7 +101,9 @@ public abstract class GameImpactorPlugin extends BaseImpactorPlugin {
     protected void setupSchedulers() {
         super.setupSchedulers();
 
-        Schedulers.register(Scheduler.SYNCHRONOUS, new SyncScheduler(this.platform()));
+        SyncScheduler scheduler = new SyncScheduler(this.platform());
+        Schedulers.register(Scheduler.SYNCHRONOUS, scheduler);
+        Diagnostics.register("Synchronous Scheduler", scheduler::meta);
     }
 
     private GamePlatform platform() {
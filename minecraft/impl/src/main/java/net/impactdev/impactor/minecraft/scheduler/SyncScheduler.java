@@ -25,25 +25,31 @@
 
 package net.impactdev.impactor.minecraft.scheduler;
 
-import com.google.common.collect.Maps;
 import net.impactdev.impactor.api.scheduler.v2.Scheduler;
 import net.impactdev.impactor.api.scheduler.SchedulerTask;
 import net.impactdev.impactor.api.scheduler.Ticks;
+import net.impactdev.impactor.api.utility.ExceptionPrinter;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
+import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.impactdev.impactor.minecraft.platform.GamePlatform;
 import net.kyori.adventure.key.Key;
 import net.minecraft.server.MinecraftServer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Map;
-import java.util.UUID;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 public class SyncScheduler implements Scheduler {
 
-    private final Map<UUID, SynchronousTask> tasks = Maps.newConcurrentMap();
+    private final Queue<SynchronousTask> pending = new ConcurrentLinkedQueue<>();
+    private final TimingWheel wheel = new TimingWheel();
     private final Executor sync;
 
+    private volatile TickStatistics statistics = new TickStatistics(0, 0, 0, 0);
+
     public SyncScheduler(GamePlatform platform) {
         this.sync = r -> platform.server().executeBlocking(r);
     }
@@ -52,6 +58,22 @@ public class SyncScheduler implements Scheduler {
         server.addTickable(this::tick);
     }
 
+    /**
+     * Provides the time spent running tasks during the last server tick, along with the number of
+     * tasks run and still scheduled.
+     *
+     * @return Statistics of the last tick of this scheduler
+     */
+    public TickStatistics statistics() {
+        return this.statistics;
+    }
+
+    public void meta(PrettyPrinter printer) {
+        TickStatistics statistics = this.statistics;
+        printer.add("  Last Tick: #%d, %.3fms", statistics.tick(), statistics.nanos() / 1_000_000.0);
+        printer.add("  Tasks: %d executed, %d scheduled", statistics.executed(), statistics.scheduled());
+    }
+
     @Override
     public Key key() {
         return Scheduler.SYNCHRONOUS;
@@ -69,9 +91,7 @@ public class SyncScheduler implements Scheduler {
 
     @Override
     public SchedulerTask delayed(@NotNull Runnable action, @NotNull Ticks ticks) {
-        SynchronousTask task = new SynchronousTask(action, ticks, Ticks.zero());
-        this.tasks.put(task.uuid(), task);
-        return task::cancel;
+        return this.schedule(new SynchronousTask(action, ticks, Ticks.zero()));
     }
 
     @Override
@@ -81,9 +101,7 @@ public class SyncScheduler implements Scheduler {
 
     @Override
     public SchedulerTask repeating(@NotNull Runnable action, @NotNull Ticks ticks) {
-        SynchronousTask task = new SynchronousTask(action, Ticks.zero(), ticks);
-        this.tasks.put(task.uuid(), task);
-        return task::cancel;
+        return this.schedule(new SynchronousTask(action, Ticks.zero(), ticks));
     }
 
     @Override
@@ -93,9 +111,7 @@ public class SyncScheduler implements Scheduler {
 
     @Override
     public SchedulerTask delayedAndRepeating(@NotNull Runnable action, @NotNull Ticks delay, @NotNull Ticks interval) {
-        SynchronousTask task = new SynchronousTask(action, delay, interval);
-        this.tasks.put(task.uuid(), task);
-        return task::cancel;
+        return this.schedule(new SynchronousTask(action, delay, interval));
     }
 
     @Override
@@ -109,16 +125,51 @@ public class SyncScheduler implements Scheduler {
 
     @Override
     public void shutdown() {
-        this.tasks.forEach((key, task) -> task.cancel());
+        this.pending.forEach(SynchronousTask::cancel);
+        this.pending.clear();
+        this.wheel.clear();
+    }
+
+    private SchedulerTask schedule(SynchronousTask task) {
+        // Tasks may be scheduled from any thread, so they only join the wheel on the server thread
+        this.pending.add(task);
+        return task::cancel;
     }
 
     private void tick() {
-        this.tasks.forEach((key, task) -> {
-            task.tick();
-            if(task.cancelled()) {
-                this.tasks.remove(key);
+        final long start = System.nanoTime();
+
+        SynchronousTask task;
+        while((task = this.pending.poll()) != null) {
+            if(!task.cancelled()) {
+                this.wheel.schedule(task, task.delay());
+            }
+        }
+
+        final List<SynchronousTask> due = this.wheel.advance();
+        for(SynchronousTask next : due) {
+            try {
+                next.run();
+            } catch (Throwable e) {
+                ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), e);
             }
-        });
+
+            if(next.repeating() && !next.cancelled()) {
+                this.wheel.schedule(next, next.interval());
+            }
+        }
+
+        this.statistics = new TickStatistics(System.nanoTime() - start, due.size(), this.wheel.size(), this.wheel.tick());
     }
 
+    /**
+     * Statistics describing a single tick of the synchronous scheduler.
+     *
+     * @param nanos The time spent placing and running tasks during the tick, in nanoseconds
+     * @param executed The number of tasks run during the tick
+     * @param scheduled The number of tasks left scheduled after the tick
+     * @param tick The tick of the scheduler these statistics belong to
+     */
+    public record TickStatistics(long nanos, int executed, int scheduled, long tick) {}
+
 }
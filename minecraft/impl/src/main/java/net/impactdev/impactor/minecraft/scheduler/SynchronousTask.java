@@ -29,51 +29,51 @@ import net.impactdev.impactor.api.scheduler.Ticks;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.UUID;
-
 public final class SynchronousTask {
 
-    private final UUID uuid = UUID.randomUUID();
     private final Runnable action;
 
-    private final Ticks delay;
-    private final Ticks interval;
+    private final long delay;
+    private final long interval;
 
-    private boolean delayed;
-    private long tick;
+    /** The tick this task is next due to run on, as assigned by the {@link TimingWheel} holding it */
+    long due;
 
-    private boolean cancelled;
+    private volatile boolean cancelled;
 
     public SynchronousTask(@NotNull Runnable action, @Nullable Ticks delay, @Nullable Ticks interval) {
         this.action = action;
-        this.delay = delay;
-        this.interval = interval;
+        this.delay = delay != null ? delay.ticks() : 0;
+        this.interval = interval != null ? interval.ticks() : 0;
+    }
 
-        this.delayed = this.delay != null && this.delay.ticks() > 0;
+    public void run() {
+        this.action.run();
     }
 
-    public void tick() {
-        this.tick++;
+    /**
+     * Specifies the number of ticks before this task first runs. A task without a delay first runs
+     * after its interval, or on the next tick should it not repeat.
+     *
+     * @return The number of ticks before this task first runs
+     */
+    public long delay() {
+        if(this.delay > 0) {
+            return this.delay;
+        }
 
-        if(this.delayed) {
-            if(this.tick >= this.delay.ticks()) {
-                this.delayed = false;
+        return Math.max(1, this.interval);
+    }
 
-                this.tick = 0;
-                this.action.run();
-            }
-        } else {
-            if(this.interval != null && this.interval.ticks() > 0) {
-                if(this.tick >= this.interval.ticks()) {
-                    this.tick = 0;
-                    this.action.run();
-                }
-            }
-        }
+    /**
+     * @return The number of ticks between runs of this task, or 0 if this task only runs once
+     */
+    public long interval() {
+        return this.interval;
     }
 
-    public UUID uuid() {
-        return this.uuid;
+    public boolean repeating() {
+        return this.interval > 0;
     }
 
     public boolean cancelled() {
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.minecraft.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel holding {@link SynchronousTask tasks} by the tick they are due on.
+ *
+ * <p>The wheel is made of {@link #LEVELS} levels of {@link #SLOTS} slots. Each slot of the first
+ * level holds the tasks due on a single tick, while each slot of a higher level spans every tick of
+ * the level below it. As the wheel advances past the last slot of a level, the next slot of the level
+ * above is cascaded down into it. Advancing a tick therefore only touches the tasks due on that tick,
+ * along with those cascading, rather than every task held by the wheel.
+ *
+ * <p>Tasks due beyond the span of the highest level are held in its furthest slot, and placed again
+ * once that slot cascades.
+ *
+ * <p>This class is not thread safe, and is expected to be used by the server thread alone.
+ */
+public final class TimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<SynchronousTask>[][] slots = new ArrayDeque[LEVELS][SLOTS];
+
+    private long tick;
+    private int size;
+
+    public TimingWheel() {
+        for(int level = 0; level < LEVELS; level++) {
+            for(int slot = 0; slot < SLOTS; slot++) {
+                this.slots[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    /**
+     * @return The last tick the wheel advanced to
+     */
+    public long tick() {
+        return this.tick;
+    }
+
+    /**
+     * @return The number of tasks held by the wheel, including cancelled tasks not yet reached
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Schedules the task to be due the given number of ticks after the current tick. Delays
+     * lower than a single tick are treated as a single tick.
+     *
+     * @param task The task to schedule
+     * @param delay The number of ticks from the current tick the task is due
+     */
+    public void schedule(SynchronousTask task, long delay) {
+        task.due = this.tick + Math.max(1, delay);
+        this.place(task);
+        this.size++;
+    }
+
+    /**
+     * Advances the wheel by a single tick, removing and returning every task due on it. Cancelled
+     * tasks are dropped rather than returned.
+     *
+     * @return The tasks due on the new tick
+     */
+    public List<SynchronousTask> advance() {
+        this.tick++;
+        for(int level = 1; level < LEVELS; level++) {
+            // A level only cascades once every slot of the level below it has been passed
+            if((this.tick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                break;
+            }
+
+            this.cascade(level);
+        }
+
+        ArrayDeque<SynchronousTask> slot = this.slots[0][index(this.tick, 0)];
+        List<SynchronousTask> due = new ArrayList<>(slot.size());
+        SynchronousTask task;
+        while((task = slot.poll()) != null) {
+            this.size--;
+            if(!task.cancelled()) {
+                due.add(task);
+            }
+        }
+
+        return due;
+    }
+
+    /**
+     * Cancels and removes every task held by the wheel.
+     */
+    public void clear() {
+        for(ArrayDeque<SynchronousTask>[] level : this.slots) {
+            for(ArrayDeque<SynchronousTask> slot : level) {
+                slot.forEach(SynchronousTask::cancel);
+                slot.clear();
+            }
+        }
+
+        this.size = 0;
+    }
+
+    private void cascade(int level) {
+        ArrayDeque<SynchronousTask> slot = this.slots[level][index(this.tick, level)];
+        if(slot.isEmpty()) {
+            return;
+        }
+
+        List<SynchronousTask> cascading = new ArrayList<>(slot);
+        slot.clear();
+        for(SynchronousTask task : cascading) {
+            if(task.cancelled()) {
+                this.size--;
+                continue;
+            }
+
+            this.place(task);
+        }
+    }
+
+    private void place(SynchronousTask task) {
+        final long delta = task.due - this.tick;
+        for(int level = 0; level < LEVELS; level++) {
+            if(delta < 1L << (SLOT_BITS * (level + 1))) {
+                this.slots[level][index(task.due, level)].add(task);
+                return;
+            }
+        }
+
+        // Beyond the span of the wheel, so hold the task in the slot of the highest level cascading last
+        this.slots[LEVELS - 1][(index(this.tick, LEVELS - 1) - 1) & (SLOTS - 1)].add(task);
+    }
+
+    private static int index(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+}
@@ -25,6 +25,8 @@
 
 package net.impactdev.impactor.minecraft.scoreboard;
 
+import net.impactdev.impactor.api.Impactor;
+import net.impactdev.impactor.api.logging.PluginLogger;
 import net.impactdev.impactor.api.providers.BuilderProvider;
 import net.impactdev.impactor.api.providers.FactoryProvider;
 import net.impactdev.impactor.api.scoreboards.AssignedScoreboard;
@@ -37,6 +39,7 @@ import net.impactdev.impactor.api.scoreboards.objectives.Objective;
 import net.impactdev.impactor.api.scoreboards.score.Score;
 import net.impactdev.impactor.api.scoreboards.updaters.scheduled.ScheduledConfiguration;
 import net.impactdev.impactor.core.modules.ImpactorModule;
+import net.impactdev.impactor.core.platform.performance.Diagnostics;
 import net.impactdev.impactor.api.scoreboards.ScoreboardRenderer;
 import net.impactdev.impactor.minecraft.scoreboard.assigned.AssignedScoreboardImpl;
 import net.impactdev.impactor.minecraft.scoreboard.display.formatters.ColorCycleFormatter;
@@ -75,6 +78,11 @@ public final class ScoreboardModule implements ImpactorModule {
         provider.register(ColorCycle.Config.class, ColorCycleFormatter.FormatterConfig::new);
     }
 
+    @Override
+    public void init(Impactor impactor, PluginLogger logger) {
+        Diagnostics.register("Scoreboards", PacketBasedRenderer::meta);
+    }
+
     private static final class ImplementationFactory implements ScoreboardRenderer.Factory {
 
         @Override
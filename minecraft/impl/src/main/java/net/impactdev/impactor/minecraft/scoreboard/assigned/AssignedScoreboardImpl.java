@@ -25,6 +25,7 @@
 
 package net.impactdev.impactor.minecraft.scoreboard.assigned;
 
+import com.google.common.collect.MapMaker;
 import net.impactdev.impactor.api.platform.players.PlatformPlayer;
 import net.impactdev.impactor.api.scoreboards.AssignedScoreboard;
 import net.impactdev.impactor.api.scoreboards.Scoreboard;
@@ -34,20 +35,27 @@ import net.impactdev.impactor.api.scoreboards.objectives.Objective;
 import net.impactdev.impactor.core.utility.pointers.AbstractPointerCapable;
 import net.impactdev.impactor.minecraft.scoreboard.display.lines.ImpactorScoreboardLine;
 import net.impactdev.impactor.minecraft.scoreboard.display.objectives.ImpactorObjective;
+import net.impactdev.impactor.minecraft.scoreboard.renderers.PacketStatistics;
 import net.minecraft.ChatFormatting;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public final class AssignedScoreboardImpl extends AbstractPointerCapable implements AssignedScoreboard {
 
+    /** Scoreboards currently shown to their viewer, held weakly should a viewer leave without them being hidden */
+    private static final Set<AssignedScoreboardImpl> SHOWN = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
     private final Scoreboard config;
     private final PlatformPlayer viewer;
 
     private final ScoreboardRenderer renderer;
     private final Objective.Displayed objective;
     private final List<ScoreboardLine.Displayed> lines;
+    private final PacketStatistics statistics = new PacketStatistics();
 
     public AssignedScoreboardImpl(Scoreboard config, PlatformPlayer viewer) {
         this.config = config;
@@ -81,9 +89,26 @@ public final class AssignedScoreboardImpl extends AbstractPointerCapable impleme
         return this.lines;
     }
 
+    /**
+     * Provides the packets sent and skipped while rendering this scoreboard to its viewer.
+     *
+     * @return The packet statistics of this scoreboard
+     */
+    public PacketStatistics statistics() {
+        return this.statistics;
+    }
+
+    /**
+     * @return The scoreboards currently shown to their viewers
+     */
+    public static List<AssignedScoreboardImpl> shown() {
+        return List.copyOf(SHOWN);
+    }
+
     @Override
     public void open() {
         this.renderer.show(this);
+        SHOWN.add(this);
 
         Optional.ofNullable(this.objective.updater()).ifPresent(updater -> updater.start(this.objective));
         this.lines().forEach(line -> Optional.ofNullable(line.updater()).ifPresent(updater -> updater.start(line)));
@@ -95,6 +120,7 @@ public final class AssignedScoreboardImpl extends AbstractPointerCapable impleme
         this.lines().forEach(line -> Optional.ofNullable(line.updater()).ifPresent(updater -> updater.stop(line)));
 
         this.renderer.hide(this);
+        SHOWN.remove(this);
     }
 
     @Override
@@ -63,12 +63,32 @@ public abstract class AbstractDisplay extends AbstractPointerCapable implements
         return this.updater;
     }
 
+    public AssignedScoreboard scoreboard() {
+        return this.scoreboard;
+    }
+
     protected abstract void render(AssignedScoreboard scoreboard, ScoreboardRenderer renderer);
     protected void onTick(AssignedScoreboard scoreboard) {}
 
     @Override
     public void tick() {
+        this.resolve();
+        this.render();
+    }
+
+    /**
+     * Resolves the component of this display for its viewer, without rendering the result.
+     * This may be called off the thread the display is rendered on.
+     */
+    public void resolve() {
         this.text.set(this.component.resolve(this.scoreboard.viewer()));
+    }
+
+    /**
+     * Applies the tick callbacks of this display, then renders its last resolved state to its viewer.
+     * Callbacks are user code, so this must be called on the thread the display was scheduled on.
+     */
+    public void render() {
         this.onTick(this.scoreboard);
         this.render(this.scoreboard, this.scoreboard.configuration().renderer());
     }
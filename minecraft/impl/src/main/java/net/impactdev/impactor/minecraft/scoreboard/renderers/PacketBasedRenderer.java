@@ -26,18 +26,22 @@
 package net.impactdev.impactor.minecraft.scoreboard.renderers;
 
 import net.impactdev.impactor.api.Impactor;
-import net.impactdev.impactor.api.platform.players.PlatformPlayer;
 import net.impactdev.impactor.api.scoreboards.AssignedScoreboard;
 import net.impactdev.impactor.api.scoreboards.ScoreboardRenderer;
 import net.impactdev.impactor.api.scoreboards.lines.ScoreboardLine;
 import net.impactdev.impactor.api.scoreboards.objectives.Objective;
+import net.impactdev.impactor.api.utility.printing.PrettyPrinter;
 import net.impactdev.impactor.minecraft.api.text.AdventureTranslator;
 import net.impactdev.impactor.minecraft.platform.sources.ImpactorPlatformPlayer;
 import net.impactdev.impactor.minecraft.mixins.MixinBridge;
+import net.impactdev.impactor.minecraft.scoreboard.assigned.AssignedScoreboardImpl;
 import net.impactdev.impactor.minecraft.scoreboard.assigned.ScoreboardComponents;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.pointer.Pointer;
+import net.kyori.adventure.text.Component;
 import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.network.protocol.game.ClientboundSetDisplayObjectivePacket;
 import net.minecraft.network.protocol.game.ClientboundSetObjectivePacket;
 import net.minecraft.network.protocol.game.ClientboundSetPlayerTeamPacket;
@@ -46,19 +50,79 @@ import net.minecraft.server.ServerScoreboard;
 import net.minecraft.world.scores.PlayerTeam;
 import net.minecraft.world.scores.Scoreboard;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class PacketBasedRenderer implements ScoreboardRenderer {
 
     private static final Pointer<Integer> TEAM_INDEX = Pointer.pointer(Integer.class, Key.key("impactor", "team-index"));
+    private static final Pointer<Sent> SENT = Pointer.pointer(Sent.class, Key.key("impactor", "sent"));
+
+    /** The packets sent and skipped across every renderer */
+    private static final PacketStatistics TOTAL = new PacketStatistics();
+
+    private final PacketStatistics statistics = new PacketStatistics();
+    private final ThreadLocal<List<Packet<?>>> batch = new ThreadLocal<>();
+
+    /**
+     * Provides the packets sent and skipped by this renderer, across every viewer of the scoreboard
+     * it renders.
+     *
+     * @return The packet statistics of this renderer
+     */
+    public PacketStatistics statistics() {
+        return this.statistics;
+    }
+
+    public static void meta(PrettyPrinter printer) {
+        long sent = TOTAL.sent();
+        long skipped = TOTAL.skipped();
+        printer.add("  Packets: %d sent, %d skipped (%.2f%% skipped)", sent, skipped, sent + skipped == 0 ? 0.0 : skipped * 100.0 / (sent + skipped));
+
+        List<AssignedScoreboardImpl> shown = AssignedScoreboardImpl.shown();
+        printer.add("  Shown Scoreboards: %d", (Object) shown.size());
+        for(AssignedScoreboardImpl scoreboard : shown) {
+            PacketStatistics statistics = scoreboard.statistics();
+            printer.add("    %s: %d sent, %d skipped", scoreboard.viewer().uuid(), statistics.sent(), statistics.skipped());
+        }
+    }
+
+    /**
+     * Runs the given renders, collecting every packet they would publish to the viewer of the
+     * scoreboard and sending them as a single bundle once all renders complete.
+     *
+     * @param scoreboard The scoreboard being rendered
+     * @param renders The renders to batch
+     */
+    public void batch(AssignedScoreboard scoreboard, Runnable renders) {
+        final List<Packet<?>> packets = new ArrayList<>();
+        this.batch.set(packets);
+        try {
+            renders.run();
+        } finally {
+            this.batch.remove();
+        }
+
+        if(!packets.isEmpty()) {
+            this.send(scoreboard, packets);
+        }
+    }
 
     @Override
     public void objective(AssignedScoreboard scoreboard, Objective.Displayed objective) {
+        Optional<Sent> sent = objective.get(SENT);
+        if(sent.isPresent() && !sent.get().text(objective.text())) {
+            this.skipped(scoreboard, 1);
+            return;
+        }
+
         ClientboundSetObjectivePacket update = new ClientboundSetObjectivePacket(ScoreboardComponents.OBJECTIVE, 2);
         Impactor.instance().factories().provide(MixinBridge.class).setObjectiveTitle(update, objective.text());
 
-        this.publish(scoreboard.viewer(), update);
+        this.publish(scoreboard, update);
     }
 
     @Override
@@ -67,18 +131,35 @@ public class PacketBasedRenderer implements ScoreboardRenderer {
         applyLineTextToPacket(scoreboard, line, team, false);
     }
 
+    /**
+     * Sends the text and score of a line, skipping either should it match what was last sent for
+     * the line. When creating the line's team, both are always sent.
+     */
     private void applyLineTextToPacket(AssignedScoreboard scoreboard, ScoreboardLine.Displayed line, PlayerTeam team, boolean create) {
-        final ClientboundSetPlayerTeamPacket update = ClientboundSetPlayerTeamPacket.createAddOrModifyPacket(team, create);
-        Impactor.instance().factories().provide(MixinBridge.class).setPlayerTeamPrefix(update, line.text());
+        final Sent sent = line.require(SENT);
+        final Component text = line.text();
+        final int value = line.score().value();
 
-        final ClientboundSetScorePacket score = new ClientboundSetScorePacket(
-                ServerScoreboard.Method.CHANGE,
-                ScoreboardComponents.OBJECTIVE_NAME,
-                ScoreboardComponents.fakeName(line.require(TEAM_INDEX)),
-                line.score().value()
-        );
+        final List<Packet<?>> packets = new ArrayList<>(2);
+        if(sent.text(text) || create) {
+            final ClientboundSetPlayerTeamPacket update = ClientboundSetPlayerTeamPacket.createAddOrModifyPacket(team, create);
+            Impactor.instance().factories().provide(MixinBridge.class).setPlayerTeamPrefix(update, text);
+            packets.add(update);
+        }
 
-        this.publish(scoreboard.viewer(), update, score);
+        if(sent.score(value) || create) {
+            packets.add(new ClientboundSetScorePacket(
+                    ServerScoreboard.Method.CHANGE,
+                    ScoreboardComponents.OBJECTIVE_NAME,
+                    ScoreboardComponents.fakeName(line.require(TEAM_INDEX)),
+                    value
+            ));
+        }
+
+        this.skipped(scoreboard, 2 - packets.size());
+        if(!packets.isEmpty()) {
+            this.publish(scoreboard, packets.toArray(Packet<?>[]::new));
+        }
     }
 
     @Override
@@ -86,7 +167,8 @@ public class PacketBasedRenderer implements ScoreboardRenderer {
         ClientboundSetObjectivePacket create = new ClientboundSetObjectivePacket(ScoreboardComponents.OBJECTIVE, 0);
         ClientboundSetDisplayObjectivePacket display = new ClientboundSetDisplayObjectivePacket(Scoreboard.DISPLAY_SLOT_SIDEBAR, ScoreboardComponents.OBJECTIVE);
 
-        this.publish(scoreboard.viewer(), create, display);
+        this.publish(scoreboard, create, display);
+        scoreboard.objective().with(SENT, new Sent());
 
         AtomicInteger index = new AtomicInteger();
         scoreboard.lines().forEach(line -> {
@@ -97,16 +179,14 @@ public class PacketBasedRenderer implements ScoreboardRenderer {
 
     @Override
     public void hide(AssignedScoreboard scoreboard) {
-        ((ImpactorPlatformPlayer) scoreboard.viewer()).asMinecraftPlayer().ifPresent(player -> {
-            ClientboundSetObjectivePacket remove = new ClientboundSetObjectivePacket(ScoreboardComponents.OBJECTIVE, 1);
-
-            player.connection.send(remove);
-        });
+        ClientboundSetObjectivePacket remove = new ClientboundSetObjectivePacket(ScoreboardComponents.OBJECTIVE, 1);
+        this.publish(scoreboard, remove);
     }
 
     @Override
     public void createTeam(AssignedScoreboard scoreboard, ScoreboardLine.Displayed line) {
         PlayerTeam team = ScoreboardComponents.team(line.require(TEAM_INDEX));
+        line.with(SENT, new Sent());
         applyLineTextToPacket(scoreboard, line, team, true);
     }
 
@@ -115,13 +195,90 @@ public class PacketBasedRenderer implements ScoreboardRenderer {
         PlayerTeam team = ScoreboardComponents.team(line.require(TEAM_INDEX));
         ClientboundSetPlayerTeamPacket packet = ClientboundSetPlayerTeamPacket.createRemovePacket(team);
 
-        this.publish(scoreboard.viewer(), packet);
+        this.publish(scoreboard, packet);
     }
 
-    private void publish(PlatformPlayer player, Packet<?>... packets) {
-        ((ImpactorPlatformPlayer) player).asMinecraftPlayer()
+    private void publish(AssignedScoreboard scoreboard, Packet<?>... packets) {
+        final List<Packet<?>> pending = this.batch.get();
+        if(pending != null) {
+            pending.addAll(Arrays.asList(packets));
+            return;
+        }
+
+        this.send(scoreboard, Arrays.asList(packets));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void send(AssignedScoreboard scoreboard, List<Packet<?>> packets) {
+        ((ImpactorPlatformPlayer) scoreboard.viewer()).asMinecraftPlayer()
                 .map(p -> p.connection)
-                .ifPresent(connection -> Arrays.stream(packets).forEach(connection::send));
+                .ifPresent(connection -> {
+                    if(packets.size() == 1) {
+                        connection.send(packets.get(0));
+                    } else {
+                        // Every scoreboard packet is a game packet, so the bundle can safely hold them
+                        connection.send(new ClientboundBundlePacket(packets.stream()
+                                .map(packet -> (Packet<ClientGamePacketListener>) packet)
+                                .toList()
+                        ));
+                    }
+
+                    this.statistics.sent(packets.size());
+                    TOTAL.sent(packets.size());
+                    if(scoreboard instanceof AssignedScoreboardImpl) {
+                        ((AssignedScoreboardImpl) scoreboard).statistics().sent(packets.size());
+                    }
+                });
+    }
+
+    private void skipped(AssignedScoreboard scoreboard, int packets) {
+        if(packets > 0) {
+            this.statistics.skipped(packets);
+            TOTAL.skipped(packets);
+            if(scoreboard instanceof AssignedScoreboardImpl) {
+                ((AssignedScoreboardImpl) scoreboard).statistics().skipped(packets);
+            }
+        }
+    }
+
+    /**
+     * The text and score last sent to the viewer for a display.
+     */
+    private static final class Sent {
+
+        private Component text;
+        private int score;
+        private boolean scored;
+
+        /**
+         * Records the text about to be displayed.
+         *
+         * @return true if the text differs from the last text sent
+         */
+        synchronized boolean text(Component text) {
+            if(text.equals(this.text)) {
+                return false;
+            }
+
+            this.text = text;
+            return true;
+        }
+
+        /**
+         * Records the score about to be displayed.
+         *
+         * @return true if the score differs from the last score sent
+         */
+        synchronized boolean score(int score) {
+            if(this.scored && this.score == score) {
+                return false;
+            }
+
+            this.score = score;
+            this.scored = true;
+            return true;
+        }
+
     }
 
     private <I, T extends I> T translate(I input, Class<T> target) {
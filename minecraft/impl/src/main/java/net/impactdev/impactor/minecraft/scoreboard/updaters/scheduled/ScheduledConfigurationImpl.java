@@ -29,10 +29,15 @@ import net.impactdev.impactor.api.scheduler.Ticks;
 import net.impactdev.impactor.api.scheduler.v2.Scheduler;
 import net.impactdev.impactor.api.scoreboards.updaters.scheduled.ScheduledConfiguration;
 import net.impactdev.impactor.api.scoreboards.updaters.scheduled.ScheduledUpdater;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.concurrent.TimeUnit;
 
-public record ScheduledConfigurationImpl(Scheduler scheduler, ScheduledTaskProvider provider) implements ScheduledConfiguration {
+public record ScheduledConfigurationImpl(
+        Scheduler scheduler,
+        ScheduledTaskProvider provider,
+        @Nullable ScoreboardPipeline.Cadence cadence
+) implements ScheduledConfiguration {
     @Override
     public ScheduledUpdater generate() {
         return new ScheduledUpdaterImpl(this);
@@ -50,22 +55,30 @@ public record ScheduledConfigurationImpl(Scheduler scheduler, ScheduledTaskProvi
 
         @Override
         public ScheduledConfiguration repeating(long delay, long interval, TimeUnit unit) {
-            return new ScheduledConfigurationImpl(this.scheduler, (scheduler, action) -> scheduler.delayedAndRepeating(action, delay, interval, unit));
+            return new ScheduledConfigurationImpl(
+                    this.scheduler,
+                    (scheduler, action) -> scheduler.delayedAndRepeating(action, delay, interval, unit),
+                    new ScoreboardPipeline.Cadence(this.scheduler, delay, interval, unit)
+            );
         }
 
         @Override
         public ScheduledConfiguration repeating(Ticks delay, Ticks interval) {
-            return new ScheduledConfigurationImpl(this.scheduler, (scheduler, action) -> scheduler.delayedAndRepeating(action, delay, interval));
+            return new ScheduledConfigurationImpl(
+                    this.scheduler,
+                    (scheduler, action) -> scheduler.delayedAndRepeating(action, delay, interval),
+                    ScoreboardPipeline.Cadence.of(this.scheduler, delay, interval)
+            );
         }
 
         @Override
         public ScheduledConfiguration delayed(long delay, TimeUnit unit) {
-            return new ScheduledConfigurationImpl(this.scheduler, (scheduler, action) -> scheduler.delayed(action, delay, unit));
+            return new ScheduledConfigurationImpl(this.scheduler, (scheduler, action) -> scheduler.delayed(action, delay, unit), null);
         }
 
         @Override
         public ScheduledConfiguration delayed(Ticks delay) {
-            return new ScheduledConfigurationImpl(this.scheduler, (scheduler, action) -> scheduler.delayed(action, delay));
+            return new ScheduledConfigurationImpl(this.scheduler, (scheduler, action) -> scheduler.delayed(action, delay), null);
         }
     }
 }
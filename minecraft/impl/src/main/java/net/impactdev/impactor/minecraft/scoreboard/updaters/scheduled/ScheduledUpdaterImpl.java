@@ -28,6 +28,7 @@ package net.impactdev.impactor.minecraft.scoreboard.updaters.scheduled;
 import net.impactdev.impactor.api.scheduler.SchedulerTask;
 import net.impactdev.impactor.api.scoreboards.display.Display;
 import net.impactdev.impactor.api.scoreboards.updaters.scheduled.ScheduledUpdater;
+import net.impactdev.impactor.minecraft.scoreboard.display.AbstractDisplay;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 
 public final class ScheduledUpdaterImpl implements ScheduledUpdater {
@@ -43,6 +44,11 @@ public final class ScheduledUpdaterImpl implements ScheduledUpdater {
 
     @Override
     public void start(Display display) {
+        if(this.config.cadence() != null && display instanceof AbstractDisplay) {
+            this.task = ScoreboardPipeline.instance().register(this.config.cadence(), (AbstractDisplay) display);
+            return;
+        }
+
         this.task = this.config.provider().provide(this.config.scheduler(), display::tick);
     }
 
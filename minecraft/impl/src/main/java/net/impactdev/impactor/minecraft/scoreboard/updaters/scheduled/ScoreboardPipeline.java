@@ -0,0 +1,216 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.minecraft.scoreboard.updaters.scheduled;
+
+import net.impactdev.impactor.api.scheduler.SchedulerTask;
+import net.impactdev.impactor.api.scheduler.Ticks;
+import net.impactdev.impactor.api.scheduler.v2.Scheduler;
+import net.impactdev.impactor.api.scheduler.v2.Schedulers;
+import net.impactdev.impactor.api.scoreboards.AssignedScoreboard;
+import net.impactdev.impactor.api.scoreboards.ScoreboardRenderer;
+import net.impactdev.impactor.api.utility.ExceptionPrinter;
+import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
+import net.impactdev.impactor.minecraft.scoreboard.display.AbstractDisplay;
+import net.impactdev.impactor.minecraft.scoreboard.renderers.PacketBasedRenderer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drives every repeating scoreboard display through one scheduled task per distinct cadence,
+ * rather than one task per display per viewer.
+ *
+ * <p>On each tick of a cadence, the components of every display sharing it are resolved in
+ * parallel on the asynchronous scheduler. Once all have resolved, the displays are rendered on
+ * the cadence's own scheduler, grouped by their viewer, such that a renderer capable of batching
+ * may send each viewer a single bundle of packets for the tick. Tick callbacks of the displays
+ * run alongside rendering, so they never leave the scheduler the display was configured with.
+ */
+public final class ScoreboardPipeline {
+
+    private static final ScoreboardPipeline INSTANCE = new ScoreboardPipeline();
+
+    private final Map<Cadence, Group> groups = new HashMap<>();
+
+    public static ScoreboardPipeline instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the display with the group updating at the given cadence, scheduling the
+     * group should it be the first display of its cadence.
+     *
+     * @param cadence The cadence the display should be updated at
+     * @param display The display to update
+     * @return A task which, when cancelled, removes the display from its group
+     */
+    public SchedulerTask register(Cadence cadence, AbstractDisplay display) {
+        synchronized (this.groups) {
+            this.groups.computeIfAbsent(cadence, Group::new).add(display);
+        }
+
+        return () -> this.unregister(cadence, display);
+    }
+
+    /**
+     * Specifies the number of tasks currently scheduled by the pipeline, which is the number
+     * of distinct cadences with at least one registered display.
+     *
+     * @return The number of scheduled groups
+     */
+    public int groups() {
+        synchronized (this.groups) {
+            return this.groups.size();
+        }
+    }
+
+    private void unregister(Cadence cadence, AbstractDisplay display) {
+        synchronized (this.groups) {
+            Group group = this.groups.get(cadence);
+            if(group != null && group.remove(display)) {
+                this.groups.remove(cadence);
+            }
+        }
+    }
+
+    /**
+     * Describes when a repeating display is updated. Displays are grouped by equal cadences.
+     *
+     * @param scheduler The scheduler which renders the displays
+     * @param delay The delay before the first update
+     * @param interval The interval between updates
+     * @param unit The unit of the delay and interval, or null if both are in ticks
+     */
+    public record Cadence(Scheduler scheduler, long delay, long interval, @Nullable TimeUnit unit) {
+
+        public static Cadence of(Scheduler scheduler, Ticks delay, Ticks interval) {
+            return new Cadence(scheduler, delay.ticks(), interval.ticks(), null);
+        }
+
+        SchedulerTask schedule(Runnable action) {
+            if(this.unit == null) {
+                return this.scheduler.delayedAndRepeating(action, Ticks.of(this.delay), Ticks.of(this.interval));
+            }
+
+            return this.scheduler.delayedAndRepeating(action, this.delay, this.interval, this.unit);
+        }
+
+    }
+
+    private static final class Group {
+
+        private final Cadence cadence;
+        private final Set<AbstractDisplay> displays = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private SchedulerTask task;
+
+        Group(Cadence cadence) {
+            this.cadence = cadence;
+        }
+
+        void add(AbstractDisplay display) {
+            this.displays.add(display);
+            if(this.task == null) {
+                this.task = this.cadence.schedule(this::tick);
+            }
+        }
+
+        /**
+         * Removes the display from the group, cancelling the group's task should it now be empty.
+         *
+         * @return true if the group no longer holds any displays
+         */
+        boolean remove(AbstractDisplay display) {
+            this.displays.remove(display);
+            if(this.displays.isEmpty()) {
+                this.task.cancel();
+                return true;
+            }
+
+            return false;
+        }
+
+        private void tick() {
+            // A tick still resolving or rendering is left to finish rather than piling up behind it
+            if(this.displays.isEmpty() || !this.running.compareAndSet(false, true)) {
+                return;
+            }
+
+            final List<AbstractDisplay> due = List.copyOf(this.displays);
+            final Scheduler async = Schedulers.require(Scheduler.ASYNCHRONOUS);
+
+            CompletableFuture.allOf(due.stream()
+                    .map(display -> CompletableFuture.runAsync(display::resolve, async.executor()))
+                    .toArray(CompletableFuture[]::new)
+            ).whenComplete((ignored, error) -> {
+                if(error != null) {
+                    ExceptionPrinter.print(BaseImpactorPlugin.instance().logger(), error);
+                }
+
+                this.cadence.scheduler().publish(() -> {
+                    try {
+                        this.flush(due);
+                    } finally {
+                        this.running.set(false);
+                    }
+                });
+            });
+        }
+
+        private void flush(List<AbstractDisplay> due) {
+            Map<AssignedScoreboard, List<AbstractDisplay>> viewers = new LinkedHashMap<>();
+            for(AbstractDisplay display : due) {
+                // Skip displays stopped while their components were resolving
+                if(!this.displays.contains(display)) {
+                    continue;
+                }
+
+                viewers.computeIfAbsent(display.scoreboard(), ignored -> new ArrayList<>()).add(display);
+            }
+
+            viewers.forEach((scoreboard, displays) -> {
+                ScoreboardRenderer renderer = scoreboard.configuration().renderer();
+                if(renderer instanceof PacketBasedRenderer) {
+                    ((PacketBasedRenderer) renderer).batch(scoreboard, () -> displays.forEach(AbstractDisplay::render));
+                } else {
+                    displays.forEach(AbstractDisplay::render);
+                }
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+package net.impactdev.impactor.minecraft.sounds;
+
+import net.impactdev.impactor.api.platform.players.PlatformPlayer;
+import net.impactdev.impactor.minecraft.api.sounds.SoundBroadcaster;
+import net.impactdev.impactor.minecraft.platform.sources.ImpactorPlatformPlayer;
+import net.kyori.adventure.sound.Sound;
+import org.jetbrains.annotations.NotNull;
+
+public final class ImpactorSoundBroadcaster implements SoundBroadcaster {
+
+    @Override
+    public String name() {
+        return "Sound Broadcaster";
+    }
+
+    @Override
+    public void playSound(@NotNull Iterable<? extends PlatformPlayer> players, @NotNull Sound sound, double x, double y, double z) {
+        ImpactorPlatformPlayer.playSound(players, sound, x, y, z);
+    }
+
+    @Override
+    public void playSound(@NotNull Iterable<? extends PlatformPlayer> players, @NotNull Sound sound, Sound.@NotNull Emitter emitter) {
+        ImpactorPlatformPlayer.playSound(players, sound, emitter);
+    }
+
+}
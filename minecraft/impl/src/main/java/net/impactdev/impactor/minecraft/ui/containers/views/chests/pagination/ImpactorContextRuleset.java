@@ -28,9 +28,13 @@ package net.impactdev.impactor.minecraft.ui.containers.views.chests.pagination;
 import net.impactdev.impactor.api.ui.containers.Icon;
 import net.impactdev.impactor.api.ui.containers.views.pagination.rules.ContextRuleset;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class ImpactorContextRuleset implements ContextRuleset {
@@ -39,6 +43,11 @@ public class ImpactorContextRuleset implements ContextRuleset {
     private Predicate<Icon> filter = null;
     private Comparator<Icon> sorter = null;
 
+    // The results of the last evaluation, each invalidated only by the rules it depends on
+    private List<Icon> source;
+    private List<Icon> ordered;
+    private List<Icon> focus;
+
     public ImpactorContextRuleset with(PaginatedView parent) {
         this.parent = parent;
         return this;
@@ -47,16 +56,31 @@ public class ImpactorContextRuleset implements ContextRuleset {
     @Override
     public void filter(Predicate<Icon> filter) {
         this.filter = filter;
+        this.focus = null;
         if(this.parent != null) {
-            this.parent.update();
+            this.parent.repaginate();
         }
     }
 
     @Override
     public void sorter(Comparator<Icon> sorter) {
         this.sorter = sorter;
+        this.ordered = null;
+        this.focus = null;
         if(this.parent != null) {
-            this.parent.update();
+            this.parent.repaginate();
+        }
+    }
+
+    /**
+     * Discards the results of the last evaluation, such that the next application of this ruleset
+     * evaluates its rules again. Rules may depend on state beyond the icons themselves, such as a
+     * search query, so this is required whenever the view is updated.
+     */
+    public void invalidate() {
+        this.focus = null;
+        if(this.sorter != null) {
+            this.ordered = null;
         }
     }
 
@@ -66,6 +90,45 @@ public class ImpactorContextRuleset implements ContextRuleset {
         return Optional.ofNullable(this.sorter).map(stream::sorted).orElse(stream);
     }
 
+    /**
+     * Applies this ruleset to the given contents, reusing as much of the previous evaluation as the rules
+     * changed since allow. The contents are kept in sorted order, such that changing only the filter requires
+     * a single pass over the already sorted contents rather than sorting them again.
+     *
+     * <p>The contents are expected to be immutable, as they are only re-evaluated once a different list
+     * is supplied, or once this ruleset is {@link #invalidate() invalidated}.
+     *
+     * @param contents The contents to apply this ruleset to
+     * @return An unmodifiable view of the contents matching the filter, in sorted order
+     */
+    public List<Icon> apply(List<Icon> contents) {
+        if(contents != this.source) {
+            this.source = contents;
+            this.ordered = null;
+            this.focus = null;
+        }
+
+        if(this.focus == null) {
+            if(this.ordered == null) {
+                if(this.sorter == null) {
+                    this.ordered = contents;
+                } else {
+                    List<Icon> ordered = new ArrayList<>(contents);
+                    ordered.sort(this.sorter);
+                    this.ordered = Collections.unmodifiableList(ordered);
+                }
+            }
+
+            if(this.filter == null) {
+                this.focus = this.ordered;
+            } else {
+                this.focus = Collections.unmodifiableList(this.ordered.stream().filter(this.filter).collect(Collectors.toList()));
+            }
+        }
+
+        return this.focus;
+    }
+
     public static class ContextRulesetFactory implements Factory {
 
         @Override
@@ -47,6 +47,13 @@ public interface PaginatedView {
 
     void update();
 
+    /**
+     * Lays out the pages of this view again, without discarding the results its ruleset has already
+     * evaluated. This is used by the ruleset itself once one of its rules changes, having already
+     * discarded the results which depended on that rule.
+     */
+    void repaginate();
+
     void page(int target);
 
 }
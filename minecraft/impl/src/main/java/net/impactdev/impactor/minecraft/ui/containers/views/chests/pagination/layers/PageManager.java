@@ -27,15 +27,21 @@ package net.impactdev.impactor.minecraft.ui.containers.views.chests.pagination.l
 
 import net.impactdev.impactor.api.ui.containers.Icon;
 import net.impactdev.impactor.api.ui.containers.views.pagination.Page;
+import net.impactdev.impactor.api.ui.containers.views.pagination.rules.ContextRuleset;
 import net.impactdev.impactor.api.utility.collections.lists.CircularLinkedList;
+import net.impactdev.impactor.minecraft.ui.containers.views.chests.pagination.ImpactorContextRuleset;
 import net.impactdev.impactor.minecraft.ui.containers.views.chests.pagination.PaginatedView;
 
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class PageManager {
 
+    /** The number of recently visited pages kept materialized */
+    private static final int RECENT_PAGES = 4;
+
     private final PaginatedView parent;
     private CircularLinkedList<Page> pages;
     private int page = 1;
@@ -59,43 +65,106 @@ public class PageManager {
     }
 
     public void update() {
+        if(this.parent.ruleset() instanceof ImpactorContextRuleset) {
+            ((ImpactorContextRuleset) this.parent.ruleset()).invalidate();
+        }
+
+        this.repaginate();
+    }
+
+    public void repaginate() {
         this.pages = this.generatePages();
         this.parent.page(Math.min(this.page, this.pages.size()));
     }
 
+    /**
+     * Generates the pages for the current contents of the view. Pages are only placeholders for their
+     * index, with the icons of a page being laid out once the page is first viewed.
+     *
+     * @return The pages of the view
+     */
     public CircularLinkedList<Page> generatePages() {
-        int zone = this.parent.zone().x() * this.parent.zone().y();
-        int pages = this.parent.contents().size() / zone + (this.parent.contents().size() % zone == 0 ? 0 : 1);
+        Layout layout = new Layout(this.focus());
 
-        List<Icon> focus = this.parent.ruleset().apply(this.parent.contents().stream()).collect(Collectors.toList());
         CircularLinkedList<Page> results = CircularLinkedList.of();
-        for(int i = 0; i < pages; i++) {
-            ImpactorPage page = ImpactorPage.builder()
-                    .parent(this.parent)
-                    .contents(focus.subList(i * zone, Math.min(focus.size(), (i + 1) * zone)))
-                    .index(i + 1)
-                    .updaters(this.parent.updaters())
-                    .pages(pages)
-                    .zone(this.parent.zone())
-                    .offsets(this.parent.offsets())
-                    .build();
-            results.append(page);
+        for(int i = 0; i < Math.max(1, layout.pages); i++) {
+            results.append(new LazyPage(layout, i + 1));
         }
 
-        if(results.empty()) {
-            ImpactorPage page = ImpactorPage.builder()
-                    .parent(this.parent)
-                    .contents(Collections.emptyList())
-                    .index(1)
-                    .updaters(this.parent.updaters())
-                    .pages(pages)
-                    .zone(this.parent.zone())
-                    .offsets(this.parent.offsets())
-                    .build();
-            results.append(page);
+        return results;
+    }
+
+    private List<Icon> focus() {
+        ContextRuleset ruleset = this.parent.ruleset();
+        if(ruleset instanceof ImpactorContextRuleset) {
+            return ((ImpactorContextRuleset) ruleset).apply(this.parent.contents());
+        }
+
+        return ruleset.apply(this.parent.contents().stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * The contents of the view at the time its pages were generated, along with the pages most
+     * recently laid out from them.
+     */
+    private final class Layout {
+
+        private final List<Icon> focus;
+        private final int zone;
+        private final int pages;
+        private final Map<Integer, ImpactorPage> recent = new LinkedHashMap<>(RECENT_PAGES + 1, 1, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ImpactorPage> eldest) {
+                return this.size() > RECENT_PAGES;
+            }
+        };
+
+        private Layout(List<Icon> focus) {
+            this.focus = focus;
+            this.zone = PageManager.this.parent.zone().x() * PageManager.this.parent.zone().y();
+            this.pages = focus.size() / this.zone + (focus.size() % this.zone == 0 ? 0 : 1);
+        }
+
+        private ImpactorPage page(int index) {
+            ImpactorPage page = this.recent.get(index);
+            if(page == null) {
+                page = ImpactorPage.builder()
+                        .parent(PageManager.this.parent)
+                        .contents(this.focus.subList(Math.min(this.focus.size(), (index - 1) * this.zone), Math.min(this.focus.size(), index * this.zone)))
+                        .index(index)
+                        .updaters(PageManager.this.parent.updaters())
+                        .pages(this.pages)
+                        .zone(PageManager.this.parent.zone())
+                        .offsets(PageManager.this.parent.offsets())
+                        .build();
+                this.recent.put(index, page);
+            }
+
+            return page;
+        }
+
+    }
+
+    private static final class LazyPage implements Page {
+
+        private final Layout layout;
+        private final int index;
+
+        private LazyPage(Layout layout, int index) {
+            this.layout = layout;
+            this.index = index;
+        }
+
+        @Override
+        public int index() {
+            return this.index;
+        }
+
+        @Override
+        public Map<Integer, Icon> icons() {
+            return this.layout.page(this.index).icons();
         }
 
-        return results;
     }
 
 }
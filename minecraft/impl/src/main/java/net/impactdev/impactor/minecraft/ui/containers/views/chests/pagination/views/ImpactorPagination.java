@@ -141,6 +141,11 @@ public abstract class ImpactorPagination extends ImpactorView implements Paginat
         this.manager.update();
     }
 
+    @Override
+    public void repaginate() {
+        this.manager.repaginate();
+    }
+
     @Override
     public void page(int target) {
         this.manager.page(target);
@@ -107,6 +107,11 @@ public class ImpactorSection implements Section, PaginatedView {
         this.manager.update();
     }
 
+    @Override
+    public void repaginate() {
+        this.manager.repaginate();
+    }
+
     @Override
     public void page(int target) {
         this.manager.page(target);
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.minecraft.utility;
+
+import net.impactdev.impactor.minecraft.api.key.ResourceKeyTranslator;
+import net.kyori.adventure.key.Key;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.sounds.SoundEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Indexes the sound event registry by the Adventure key of each sound, such that playing a sound
+ * does not require a search of the registry. The index is rebuilt should the registry change size,
+ * such as when further sounds are registered, or when explicitly refreshed.
+ */
+public final class SoundIndex {
+
+    private static volatile Snapshot snapshot;
+
+    public static Optional<Holder.Reference<SoundEvent>> lookup(Key key) {
+        Registry<SoundEvent> registry = BuiltInRegistries.SOUND_EVENT;
+
+        Snapshot current = snapshot;
+        if(current == null || current.size() != registry.size()) {
+            snapshot = current = Snapshot.of(registry);
+        }
+
+        return Optional.ofNullable(current.sounds().get(key));
+    }
+
+    /**
+     * Discards the current index, to be rebuilt on the next lookup.
+     */
+    public static void refresh() {
+        snapshot = null;
+    }
+
+    private record Snapshot(int size, Map<Key, Holder.Reference<SoundEvent>> sounds) {
+
+        private static Snapshot of(Registry<SoundEvent> registry) {
+            Map<Key, Holder.Reference<SoundEvent>> sounds = new HashMap<>();
+            registry.holders().forEach(holder -> sounds.put(ResourceKeyTranslator.toAdventure(holder.key().location()), holder));
+
+            return new Snapshot(registry.size(), Map.copyOf(sounds));
+        }
+
+    }
+
+}
@@ -28,10 +28,12 @@ package net.impactdev.impactor.minecraft.test;
 import net.impactdev.impactor.core.modules.ModuleInitializer;
 import net.impactdev.impactor.core.plugin.BaseImpactorPlugin;
 import net.impactdev.impactor.core.plugin.ImpactorBootstrapper;
+import net.impactdev.impactor.minecraft.items.ItemsModule;
 import net.impactdev.impactor.minecraft.scoreboard.ScoreboardModule;
 import net.impactdev.impactor.minecraft.test.dummies.TestCommandsModule;
 import net.impactdev.impactor.minecraft.test.dummies.TestPlatform;
 import net.impactdev.impactor.minecraft.test.dummies.TestScheduler;
+import net.impactdev.impactor.minecraft.ui.UIModule;
 
 public class TestPlugin extends BaseImpactorPlugin {
 
@@ -45,7 +47,9 @@ public class TestPlugin extends BaseImpactorPlugin {
                 .with(TestPlatform.TestPlatformModule.class)
                 .with(TestScheduler.TestSchedulerModule.class)
                 .with(TestCommandsModule.class)
-                .with(ScoreboardModule.class);
+                .with(ScoreboardModule.class)
+                .with(ItemsModule.class)
+                .with(UIModule.class);
     }
 
 }
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+package net.impactdev.impactor.minecraft.test.items;
+
+import net.impactdev.impactor.api.items.ImpactorItemStack;
+import net.impactdev.impactor.api.items.types.ItemTypes;
+import net.impactdev.impactor.minecraft.items.stacks.ImpactorItemStackTranslator;
+import net.kyori.adventure.text.Component;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.ItemStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ItemStackTranslatorTest {
+
+    private static final String TEXTURE = "eyJ0ZXh0dXJlcyI6eyJTS0lOIjp7InVybCI6Imh0dHA6Ly90ZXh0dXJlcy5taW5lY3JhZnQubmV0L3RleHR1cmUvZTQifX19";
+
+    @BeforeAll
+    public static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void translationsAreHandedOutAsCopies() {
+        ImpactorItemStackTranslator translator = new ImpactorItemStackTranslator();
+        ImpactorItemStack stack = ImpactorItemStack.basic()
+                .type(ItemTypes.STONE)
+                .title(Component.text("Filler"))
+                .build();
+
+        ItemStack first = translator.translate(stack);
+        ItemStack second = translator.translate(stack);
+        assertNotSame(first, second);
+        assertTrue(ItemStack.matches(first, second));
+
+        // Changes made by one caller must never reach the next
+        first.setCount(32);
+        first.getOrCreateTag().putBoolean("Modified", true);
+        ItemStack third = translator.translate(stack);
+        assertEquals(1, third.getCount());
+        assertTrue(ItemStack.matches(second, third));
+    }
+
+    @Test
+    public void identicalStacksShareTranslations() {
+        ImpactorItemStackTranslator translator = new ImpactorItemStackTranslator();
+        ItemStack first = translator.translate(ImpactorItemStack.basic().type(ItemTypes.STONE).title(Component.text("Filler")).build());
+        ItemStack second = translator.translate(ImpactorItemStack.basic().type(ItemTypes.STONE).title(Component.text("Filler")).build());
+
+        assertNotSame(first, second);
+        assertTrue(ItemStack.matches(first, second));
+    }
+
+    @Test
+    public void texturedSkullsShareTranslations() {
+        ImpactorItemStack skull = ImpactorItemStack.skull().player(TEXTURE, true).build();
+        assertEquals(skull.nbt(), ImpactorItemStack.skull().player(TEXTURE, true).build().nbt());
+
+        ImpactorItemStackTranslator translator = new ImpactorItemStackTranslator();
+        ItemStack first = translator.translate(skull);
+        ItemStack second = translator.translate(ImpactorItemStack.skull().player(TEXTURE, true).build());
+        assertTrue(ItemStack.matches(first, second));
+        assertEquals(TEXTURE, first.getOrCreateTag()
+                .getCompound("SkullOwner")
+                .getCompound("Properties")
+                .getList("textures", 10)
+                .getCompound(0)
+                .getString("Value")
+        );
+    }
+
+}
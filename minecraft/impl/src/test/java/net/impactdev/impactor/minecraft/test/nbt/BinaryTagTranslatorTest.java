@@ -0,0 +1,249 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.minecraft.test.nbt;
+
+import net.impactdev.impactor.minecraft.api.nbt.BinaryTagTranslator;
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.ByteArrayBinaryTag;
+import net.kyori.adventure.nbt.ByteBinaryTag;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.kyori.adventure.nbt.DoubleBinaryTag;
+import net.kyori.adventure.nbt.FloatBinaryTag;
+import net.kyori.adventure.nbt.IntArrayBinaryTag;
+import net.kyori.adventure.nbt.IntBinaryTag;
+import net.kyori.adventure.nbt.ListBinaryTag;
+import net.kyori.adventure.nbt.LongArrayBinaryTag;
+import net.kyori.adventure.nbt.LongBinaryTag;
+import net.kyori.adventure.nbt.ShortBinaryTag;
+import net.kyori.adventure.nbt.StringBinaryTag;
+import net.minecraft.nbt.CompoundTag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class BinaryTagTranslatorTest {
+
+    private static final String ALPHABET = "abcXYZ019 _-:{}\"'\\§é\u00a0\u4e16\ud83d\ude00";
+
+    @Test
+    public void adventureRoundTrip() {
+        Random random = new Random(0x1B1D);
+        for(int i = 0; i < 500; i++) {
+            CompoundBinaryTag compound = compound(random, 4);
+            assertEquals(compound, BinaryTagTranslator.toAdventure(BinaryTagTranslator.toNative(compound)));
+        }
+    }
+
+    @Test
+    public void nativeRoundTrip() {
+        Random random = new Random(0xA11);
+        for(int i = 0; i < 500; i++) {
+            CompoundTag compound = BinaryTagTranslator.toNative(compound(random, 4));
+            assertEquals(compound, BinaryTagTranslator.toNative(BinaryTagTranslator.toAdventure(compound)));
+        }
+    }
+
+    @Test
+    public void writeReplacesExistingEntries() {
+        CompoundTag target = new CompoundTag();
+        target.putString("kept", "value");
+        target.putInt("replaced", 1);
+
+        BinaryTagTranslator.write(CompoundBinaryTag.builder().putString("replaced", "two").build(), target);
+        assertEquals("value", target.getString("kept"));
+        assertEquals("two", target.getString("replaced"));
+    }
+
+    @Test
+    public void deepAndLargeTags() {
+        // Nested to the depth the vanilla reader accepts
+        CompoundBinaryTag deep = CompoundBinaryTag.builder().putInt("depth", 0).build();
+        for(int depth = 1; depth < 512; depth++) {
+            deep = CompoundBinaryTag.builder()
+                    .putInt("depth", depth)
+                    .put("child", deep)
+                    .put("path", ListBinaryTag.builder().add(IntBinaryTag.intBinaryTag(depth)).build())
+                    .build();
+        }
+        assertEquals(deep, BinaryTagTranslator.toAdventure(BinaryTagTranslator.toNative(deep)));
+
+        CompoundBinaryTag.Builder wide = CompoundBinaryTag.builder();
+        ListBinaryTag.Builder<BinaryTag> entries = ListBinaryTag.builder();
+        for(int i = 0; i < 100_000; i++) {
+            wide.putInt("key" + i, i);
+            entries.add(StringBinaryTag.stringBinaryTag("entry" + i));
+        }
+        CompoundBinaryTag large = wide.put("list", entries.build()).build();
+        assertEquals(large, BinaryTagTranslator.toAdventure(BinaryTagTranslator.toNative(large)));
+    }
+
+    /**
+     * Measures translating a shulker box full of enchanted and described items, alongside a block of
+     * custom data, in both directions. This is only run when requested, via -Dimpactor.benchmarks=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "impactor.benchmarks", matches = "true")
+    public void itemBenchmark() {
+        final int warmup = 20_000;
+        final int iterations = 100_000;
+
+        CompoundBinaryTag adventure = shulker();
+        CompoundTag vanilla = BinaryTagTranslator.toNative(adventure);
+        for(int i = 0; i < warmup; i++) {
+            BinaryTagTranslator.toNative(adventure);
+            BinaryTagTranslator.toAdventure(vanilla);
+        }
+
+        long start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            BinaryTagTranslator.toNative(adventure);
+        }
+        long toNative = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for(int i = 0; i < iterations; i++) {
+            BinaryTagTranslator.toAdventure(vanilla);
+        }
+        long toAdventure = System.nanoTime() - start;
+
+        System.out.printf("To native: %.2fus/op, To adventure: %.2fus/op%n", toNative / 1_000.0 / iterations, toAdventure / 1_000.0 / iterations);
+    }
+
+    private static CompoundBinaryTag shulker() {
+        ListBinaryTag.Builder<BinaryTag> items = ListBinaryTag.builder();
+        for(int slot = 0; slot < 27; slot++) {
+            ListBinaryTag.Builder<BinaryTag> lore = ListBinaryTag.builder();
+            for(int line = 0; line < 5; line++) {
+                lore.add(StringBinaryTag.stringBinaryTag("{\"text\":\"Lore line " + line + "\",\"color\":\"gray\",\"italic\":false}"));
+            }
+
+            ListBinaryTag.Builder<BinaryTag> enchantments = ListBinaryTag.builder();
+            for(String enchantment : new String[]{ "minecraft:sharpness", "minecraft:unbreaking", "minecraft:looting" }) {
+                enchantments.add(CompoundBinaryTag.builder().putString("id", enchantment).putShort("lvl", (short) 3).build());
+            }
+
+            CompoundBinaryTag.Builder data = CompoundBinaryTag.builder();
+            for(int stat = 0; stat < 40; stat++) {
+                data.putInt("Stat" + stat, stat * 7);
+            }
+
+            items.add(CompoundBinaryTag.builder()
+                    .putByte("Slot", (byte) slot)
+                    .putString("id", "minecraft:diamond_sword")
+                    .putByte("Count", (byte) 1)
+                    .put("tag", CompoundBinaryTag.builder()
+                            .putInt("Damage", slot)
+                            .put("display", CompoundBinaryTag.builder()
+                                    .putString("Name", "{\"text\":\"Sword #" + slot + "\",\"color\":\"aqua\"}")
+                                    .put("Lore", lore.build())
+                                    .build())
+                            .put("Enchantments", enchantments.build())
+                            .put("CustomData", data.build())
+                            .putIntArray("UUID", new int[]{ slot, slot * 31, slot * 17, slot * 13 })
+                            .build())
+                    .build());
+        }
+
+        return CompoundBinaryTag.builder()
+                .put("BlockEntityTag", CompoundBinaryTag.builder()
+                        .putString("id", "minecraft:shulker_box")
+                        .put("Items", items.build())
+                        .build())
+                .build();
+    }
+
+    private static BinaryTag tag(Random random, int depth) {
+        int kind = random.nextInt(depth > 0 ? 12 : 10);
+        if(kind == 10) {
+            return compound(random, depth - 1);
+        } else if(kind == 11) {
+            return list(random, depth - 1);
+        }
+
+        return leaf(random, kind);
+    }
+
+    private static CompoundBinaryTag compound(Random random, int depth) {
+        CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+        int entries = random.nextInt(8);
+        for(int i = 0; i < entries; i++) {
+            builder.put(string(random), tag(random, depth));
+        }
+
+        return builder.build();
+    }
+
+    private static ListBinaryTag list(Random random, int depth) {
+        // Lists are homogeneous, so each is made of a single kind of tag
+        int kind = random.nextInt(depth > 0 ? 12 : 10);
+        ListBinaryTag.Builder<BinaryTag> builder = ListBinaryTag.builder();
+        int size = random.nextInt(6);
+        for(int i = 0; i < size; i++) {
+            if(kind == 10) {
+                builder.add(compound(random, depth - 1));
+            } else if(kind == 11) {
+                builder.add(list(random, depth - 1));
+            } else {
+                builder.add(leaf(random, kind));
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static BinaryTag leaf(Random random, int kind) {
+        return switch (kind) {
+            case 0 -> ByteBinaryTag.byteBinaryTag((byte) random.nextInt());
+            case 1 -> ShortBinaryTag.shortBinaryTag((short) random.nextInt());
+            case 2 -> IntBinaryTag.intBinaryTag(random.nextInt());
+            case 3 -> LongBinaryTag.longBinaryTag(random.nextLong());
+            case 4 -> FloatBinaryTag.floatBinaryTag(random.nextFloat());
+            case 5 -> DoubleBinaryTag.doubleBinaryTag(random.nextDouble());
+            case 6 -> {
+                byte[] bytes = new byte[random.nextInt(16)];
+                random.nextBytes(bytes);
+                yield ByteArrayBinaryTag.byteArrayBinaryTag(bytes);
+            }
+            case 7 -> StringBinaryTag.stringBinaryTag(string(random));
+            case 8 -> IntArrayBinaryTag.intArrayBinaryTag(random.ints(random.nextInt(16)).toArray());
+            default -> LongArrayBinaryTag.longArrayBinaryTag(random.longs(random.nextInt(16)).toArray());
+        };
+    }
+
+    private static String string(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int length = random.nextInt(12);
+        for(int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+
+package net.impactdev.impactor.minecraft.test.scheduler;
+
+import net.impactdev.impactor.minecraft.scheduler.SynchronousTask;
+import net.impactdev.impactor.minecraft.scheduler.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class TimingWheelTest {
+
+    @Test
+    public void tasksRunOnTheirDueTick() {
+        TimingWheel wheel = new TimingWheel();
+        Random random = new Random(22);
+
+        List<long[]> expectations = new ArrayList<>();
+        List<Long> ran = new ArrayList<>();
+        for(int i = 0; i < 2_000; i++) {
+            // Spread delays across every level of the wheel, including its boundaries
+            long delay = switch (i % 5) {
+                case 0 -> 1 + random.nextInt(63);
+                case 1 -> 64L << random.nextInt(12);
+                case 2 -> 1 + random.nextInt(4096);
+                case 3 -> 1 + random.nextInt(300_000);
+                default -> (1L << 18) - random.nextInt(2);
+            };
+
+            int index = i;
+            expectations.add(new long[] { index, delay });
+            ran.add(-1L);
+            wheel.schedule(new SynchronousTask(() -> ran.set(index, wheel.tick()), null, null), delay);
+        }
+
+        long horizon = expectations.stream().mapToLong(e -> e[1]).max().orElseThrow();
+        for(long tick = 0; tick < horizon; tick++) {
+            wheel.advance().forEach(SynchronousTask::run);
+        }
+
+        for(long[] expectation : expectations) {
+            assertEquals(expectation[1], (long) ran.get((int) expectation[0]));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void tasksBeyondTheWheelSpan() {
+        TimingWheel wheel = new TimingWheel();
+        long delay = (1L << 24) + 1_234;
+
+        long[] ran = { -1 };
+        wheel.schedule(new SynchronousTask(() -> ran[0] = wheel.tick(), null, null), delay);
+        while(ran[0] < 0 && wheel.tick() <= delay) {
+            wheel.advance().forEach(SynchronousTask::run);
+        }
+
+        assertEquals(delay, ran[0]);
+    }
+
+    @Test
+    public void cancelledTasksAreDropped() {
+        TimingWheel wheel = new TimingWheel();
+        SynchronousTask near = new SynchronousTask(() -> {}, null, null);
+        SynchronousTask far = new SynchronousTask(() -> {}, null, null);
+        wheel.schedule(near, 5);
+        wheel.schedule(far, 10_000);
+        assertEquals(2, wheel.size());
+
+        near.cancel();
+        far.cancel();
+        for(int tick = 0; tick < 10_000; tick++) {
+            assertTrue(wheel.advance().isEmpty());
+        }
+
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void advancingOnlyVisitsDueTasks() {
+        TimingWheel wheel = new TimingWheel();
+        for(int i = 0; i < 10_000; i++) {
+            wheel.schedule(new SynchronousTask(() -> {}, null, null), 1_000_000);
+        }
+
+        SynchronousTask soon = new SynchronousTask(() -> {}, null, null);
+        wheel.schedule(soon, 3);
+
+        assertTrue(wheel.advance().isEmpty());
+        assertTrue(wheel.advance().isEmpty());
+        assertEquals(List.of(soon), wheel.advance());
+        assertEquals(10_000, wheel.size());
+    }
+
+}
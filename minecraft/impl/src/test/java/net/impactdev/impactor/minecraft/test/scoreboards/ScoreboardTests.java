@@ -36,12 +36,19 @@ import net.impactdev.impactor.api.scoreboards.display.text.ComponentElement;
 import net.impactdev.impactor.api.scoreboards.display.text.ScoreboardComponent;
 import net.impactdev.impactor.api.scoreboards.objectives.Objective;
 import net.impactdev.impactor.api.scoreboards.AssignedScoreboard;
+import net.impactdev.impactor.api.scoreboards.lines.ScoreboardLine;
+import net.impactdev.impactor.api.scoreboards.score.Score;
 import net.impactdev.impactor.api.scoreboards.score.formatters.BlankFormatter;
 import net.impactdev.impactor.api.scoreboards.updaters.scheduled.ScheduledUpdater;
 import net.impactdev.impactor.api.text.TextProcessor;
+import net.impactdev.impactor.minecraft.scoreboard.updaters.scheduled.ScoreboardPipeline;
 import net.kyori.adventure.text.Component;
 import org.junit.jupiter.api.Test;
 
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public final class ScoreboardTests {
 
     @Test
@@ -74,4 +81,45 @@ public final class ScoreboardTests {
         viewed.hide();
     }
 
+    @Test
+    public void displaysShareCadence() {
+        ScoreboardPipeline pipeline = ScoreboardPipeline.instance();
+        int baseline = pipeline.groups();
+
+        Scoreboard scoreboard = Scoreboard.builder()
+                .renderer(new TestRenderer())
+                .objective(Objective.builder()
+                        .text(ScoreboardComponent.create(Component.text("Objective")))
+                        .updater(ScheduledUpdater.scheduler(Scheduler.ASYNCHRONOUS).repeating(Ticks.single()))
+                        .build()
+                )
+                .line(ScoreboardLine.builder()
+                        .text(ScoreboardComponent.create(Component.text("Same")))
+                        .score(Score.of(2))
+                        .updater(ScheduledUpdater.scheduler(Scheduler.ASYNCHRONOUS).repeating(Ticks.single()))
+                        .build()
+                )
+                .line(ScoreboardLine.builder()
+                        .text(ScoreboardComponent.create(Component.text("Slower")))
+                        .score(Score.of(1))
+                        .updater(ScheduledUpdater.scheduler(Scheduler.ASYNCHRONOUS).repeating(Ticks.of(20)))
+                        .build()
+                )
+                .build();
+
+        AssignedScoreboard first = scoreboard.assignTo(PlatformPlayer.getOrCreate(PlatformSource.SERVER_UUID));
+        AssignedScoreboard second = scoreboard.assignTo(PlatformPlayer.getOrCreate(UUID.randomUUID()));
+        first.open();
+        second.open();
+
+        // Six displays across two viewers, but only two distinct cadences
+        assertEquals(baseline + 2, pipeline.groups());
+
+        first.hide();
+        assertEquals(baseline + 2, pipeline.groups());
+
+        second.hide();
+        assertEquals(baseline, pipeline.groups());
+    }
+
 }
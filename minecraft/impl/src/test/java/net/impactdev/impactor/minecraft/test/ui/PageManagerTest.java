@@ -0,0 +1,199 @@
+/*
+ * This file is part of Impactor, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2018-2022 NickImpact
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ */
+package net.impactdev.impactor.minecraft.test.ui;
+
+import net.impactdev.impactor.api.items.ImpactorItemStack;
+import net.impactdev.impactor.api.ui.containers.Icon;
+import net.impactdev.impactor.api.ui.containers.views.pagination.updaters.PageUpdater;
+import net.impactdev.impactor.minecraft.ui.containers.views.chests.pagination.ImpactorContextRuleset;
+import net.impactdev.impactor.minecraft.ui.containers.views.chests.pagination.PaginatedView;
+import net.impactdev.impactor.minecraft.ui.containers.views.chests.pagination.layers.PageManager;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.math.vector.Vector2i;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class PageManagerTest {
+
+    @Test
+    public void filterChangesKeepSortedOrder() {
+        TestView view = new TestView(15);
+        ImpactorContextRuleset ruleset = view.ruleset().with(view);
+
+        AtomicInteger comparisons = new AtomicInteger();
+        ruleset.sorter(Comparator.<Icon>comparingInt(icon -> {
+            comparisons.incrementAndGet();
+            return -view.order.get(icon);
+        }));
+
+        List<Icon> sorted = new ArrayList<>(view.contents());
+        Collections.reverse(sorted);
+        assertEquals(sorted, ruleset.apply(view.contents()));
+
+        int sorting = comparisons.get();
+        ruleset.filter(icon -> view.order.get(icon) % 2 == 0);
+        assertEquals(sorted.stream().filter(icon -> view.order.get(icon) % 2 == 0).toList(), ruleset.apply(view.contents()));
+        assertEquals(sorting, comparisons.get());
+
+        // An update of the view may change what the sorter depends on, so it must sort again
+        view.update();
+        assertEquals(2 * sorting, comparisons.get());
+    }
+
+    @Test
+    public void pagesAreLaidOutLazily() {
+        TestView view = new TestView(15);
+        PageManager manager = view.manager;
+        assertEquals(5, manager.pages().size());
+        assertEquals(0, view.layouts.get());
+
+        manager.page(2);
+        Map<Integer, Icon> icons = manager.pages().current().icons();
+        assertEquals(1, view.layouts.get());
+        assertSame(view.contents().get(3), icons.get(0));
+
+        // Viewing the same page again reuses its layout
+        assertSame(icons, manager.pages().current().icons());
+        assertEquals(1, view.layouts.get());
+    }
+
+    @Test
+    public void onlyRecentPagesAreRetained() {
+        TestView view = new TestView(15);
+        PageManager manager = view.manager;
+
+        manager.page(1);
+        Map<Integer, Icon> first = manager.pages().current().icons();
+        for(int page = 2; page <= 4; page++) {
+            manager.page(page);
+            manager.pages().current().icons();
+        }
+
+        // Four pages fit within the retained pages, so the first is still laid out
+        manager.page(1);
+        assertSame(first, manager.pages().current().icons());
+        assertEquals(4, view.layouts.get());
+
+        // Visiting a fifth page evicts the least recently visited, which is now the second
+        manager.page(5);
+        manager.pages().current().icons();
+        manager.page(1);
+        assertSame(first, manager.pages().current().icons());
+        manager.page(2);
+        manager.pages().current().icons();
+        assertEquals(6, view.layouts.get());
+    }
+
+    @Test
+    public void updatesDiscardLaidOutPages() {
+        TestView view = new TestView(15);
+        PageManager manager = view.manager;
+
+        manager.page(3);
+        Map<Integer, Icon> before = manager.pages().current().icons();
+        view.update();
+
+        assertEquals(3, manager.page());
+        assertNotSame(before, manager.pages().current().icons());
+    }
+
+    private static final class TestView implements PaginatedView {
+
+        private final List<Icon> contents;
+        private final Map<Icon, Integer> order = new IdentityHashMap<>();
+        private final ImpactorContextRuleset ruleset = new ImpactorContextRuleset();
+        private final AtomicInteger layouts = new AtomicInteger();
+        private final PageManager manager;
+
+        private TestView(int icons) {
+            List<Icon> contents = new ArrayList<>();
+            for(int i = 0; i < icons; i++) {
+                Icon icon = Icon.builder().display(ImpactorItemStack::empty).build();
+                contents.add(icon);
+                this.order.put(icon, i);
+            }
+
+            // Views hand out the same contents until they change, which the ruleset relies upon
+            this.contents = Collections.unmodifiableList(contents);
+
+            this.manager = new PageManager(this);
+        }
+
+        @Override
+        public List<Icon> contents() {
+            return this.contents;
+        }
+
+        @Override
+        public Vector2i zone() {
+            return Vector2i.from(3, 1);
+        }
+
+        @Override
+        public Vector2i offsets() {
+            return Vector2i.ZERO;
+        }
+
+        @Override
+        public ImpactorContextRuleset ruleset() {
+            return this.ruleset;
+        }
+
+        @Override
+        public Set<PageUpdater> updaters() {
+            // Requested once for each page laid out
+            this.layouts.incrementAndGet();
+            return Set.of();
+        }
+
+        @Override
+        public void update() {
+            this.manager.update();
+        }
+
+        @Override
+        public void repaginate() {
+            this.manager.repaginate();
+        }
+
+        @Override
+        public void page(int target) {
+            this.manager.page(target);
+        }
+
+    }
+
+}